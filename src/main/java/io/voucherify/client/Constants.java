@@ -19,5 +19,10 @@ public final class Constants {
   public static final String ENDPOINT_VOUCHERIFY = "api.voucherify.io/v1/";
   public static final String ENDPOINT_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssXXX";
   public static final String ENDPOINT_SECONDARY_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
+  public static final String IO_THREAD_NAME_PREFIX = "Voucherify-IO-";
+
+  public static final String BULK_THREAD_NAME_PREFIX = "Voucherify-Bulk-";
+
+  public static final String CATALOG_THREAD_NAME_PREFIX = "Voucherify-Catalog-";
 
 }
@@ -7,13 +7,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.cache.CacheConfig;
+import io.voucherify.client.cache.CacheStats;
+import io.voucherify.client.cache.LocalCache;
+import io.voucherify.client.cache.NegativeCache;
+import io.voucherify.client.cache.NegativeCacheConfig;
+import io.voucherify.client.cache.ProductCatalog;
+import io.voucherify.client.cache.ValidationRulesCache;
 import io.voucherify.client.error.VoucherifyErrorHandler;
+import io.voucherify.client.http.CompressingClient;
+import io.voucherify.client.http.CompressionConfig;
+import io.voucherify.client.http.CompressionStats;
+import io.voucherify.client.http.ConditionalRequests;
+import io.voucherify.client.http.TransportConfig;
 import io.voucherify.client.json.converter.JsonConverter;
 import io.voucherify.client.json.deserializer.CampaignsResponseDeserializer;
 import io.voucherify.client.json.deserializer.DateDeserializer;
 import io.voucherify.client.json.deserializer.VouchersResponseDeserializer;
 import io.voucherify.client.json.serializer.DateSerializer;
+import io.voucherify.client.model.campaign.CampaignImportVouchers;
+import io.voucherify.client.model.campaign.StreamedCampaignImportVouchers;
 import io.voucherify.client.model.campaign.response.CampaignsResponse;
+import io.voucherify.client.model.voucher.ImportVouchers;
+import io.voucherify.client.model.voucher.StreamedImportVouchers;
+import io.voucherify.client.model.voucher.response.VoucherResponse;
 import io.voucherify.client.model.voucher.response.VouchersResponse;
 import io.voucherify.client.module.CampaignsModule;
 import io.voucherify.client.module.CustomersModule;
@@ -24,13 +41,22 @@ import io.voucherify.client.module.SegmentsModule;
 import io.voucherify.client.module.ValidationRulesModule;
 import io.voucherify.client.module.ValidationsModule;
 import io.voucherify.client.module.VoucherModule;
+import io.voucherify.client.utils.BoundedExecutor;
+import io.voucherify.client.utils.NamedThreadFactory;
+import io.voucherify.client.utils.OverflowPolicy;
 import io.voucherify.client.utils.Platform;
+import io.voucherify.client.utils.SingleFlight;
 import retrofit.RequestInterceptor;
 import retrofit.RestAdapter;
 import retrofit.client.Client;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
 import java.util.Date;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class VoucherifyClient {
 
@@ -58,6 +84,18 @@ public class VoucherifyClient {
 
   private Executor executor;
 
+  private Scheduler scheduler;
+
+  private Scheduler bulkScheduler;
+
+  private TransportConfig transportConfig;
+
+  private SingleFlight singleFlight;
+
+  private ConditionalRequests conditionalRequests;
+
+  private CompressingClient compressingClient;
+
   private VoucherifyClient(Builder builder) {
     if (builder.clientSecretKey == null) {
       throw new IllegalArgumentException("App token must be defined.");
@@ -68,19 +106,43 @@ public class VoucherifyClient {
     }
 
     this.httpScheme = createHttpScheme(builder);
+    this.transportConfig = builder.transportConfig != null ? builder.transportConfig : TransportConfig.defaults();
     this.executor = createCallbackExecutor();
-
-    this.voucherifyApi = createRetrofitService(builder);
-
-    this.voucherModule = new VoucherModule(voucherifyApi, executor);
-    this.validationsModule = new ValidationsModule(voucherifyApi, executor);
-    this.customersModule = new CustomersModule(voucherifyApi, executor);
-    this.campaignsModule = new CampaignsModule(voucherifyApi, executor);
-    this.redemptionsModule = new RedemptionsModule(voucherifyApi, executor);
-    this.distributionsModule = new DistributionsModule(voucherifyApi, executor);
-    this.productsModule = new ProductsModule(voucherifyApi, executor);
-    this.segmentsModule = new SegmentsModule(voucherifyApi, executor);
-    this.validationRulesModule = new ValidationRulesModule(voucherifyApi, executor);
+    this.scheduler = createScheduler(builder, Constants.IO_THREAD_NAME_PREFIX);
+    this.bulkScheduler = createScheduler(builder, Constants.BULK_THREAD_NAME_PREFIX);
+
+    JsonConverter converter = createConverter(builder);
+    this.voucherifyApi = createRetrofitService(builder, converter);
+
+    LocalCache<String, VoucherResponse> voucherCache = builder.voucherCacheConfig != null
+            ? builder.voucherCacheConfig.<String, VoucherResponse>createCache()
+            : null;
+
+    this.singleFlight = builder.coalesceReads ? new SingleFlight() : null;
+
+    this.conditionalRequests = builder.conditionalRequestsConfig != null
+            ? new ConditionalRequests(converter, builder.conditionalRequestsConfig)
+            : null;
+
+    NegativeCache negativeCache = builder.negativeCacheConfig != null
+            ? new NegativeCache(builder.negativeCacheConfig)
+            : null;
+
+    this.voucherModule = new VoucherModule(voucherifyApi, executor, scheduler, bulkScheduler, voucherCache, singleFlight, negativeCache,
+            converter);
+    this.validationsModule = new ValidationsModule(voucherifyApi, executor, scheduler, bulkScheduler, negativeCache, converter);
+    this.customersModule = new CustomersModule(voucherifyApi, executor, scheduler);
+    this.campaignsModule = new CampaignsModule(voucherifyApi, executor, scheduler, bulkScheduler, singleFlight, conditionalRequests,
+            negativeCache, converter);
+    this.redemptionsModule = new RedemptionsModule(voucherifyApi, executor, scheduler, bulkScheduler, voucherCache);
+    this.distributionsModule = new DistributionsModule(voucherifyApi, executor, scheduler);
+    this.productsModule = new ProductsModule(voucherifyApi, executor, scheduler, singleFlight,
+            builder.productCatalogConfig != null ? new ProductCatalog(builder.productCatalogConfig) : null,
+            conditionalRequests);
+    this.segmentsModule = new SegmentsModule(voucherifyApi, executor, scheduler, conditionalRequests);
+    this.validationRulesModule = new ValidationRulesModule(voucherifyApi, executor, scheduler,
+            builder.validationRulesCacheConfig != null ? new ValidationRulesCache(builder.validationRulesCacheConfig) : null,
+            conditionalRequests, campaignsModule);
   }
 
   public VoucherModule vouchers() {
@@ -119,10 +181,78 @@ public class VoucherifyClient {
     return validationRulesModule;
   }
 
+  /**
+   * @return number of reads served by an identical read already in flight, 0 unless
+   * {@link Builder#coalesceConcurrentReads()} is enabled
+   */
+  public long getCollapsedRequestCount() {
+    return singleFlight != null ? singleFlight.getCollapsedCount() : 0;
+  }
+
+  /**
+   * @return number of reads answered with 304 Not Modified, 0 unless
+   * {@link Builder#setConditionalRequestCache(CacheConfig)} is enabled
+   */
+  public long getNotModifiedResponseCount() {
+    return conditionalRequests != null ? conditionalRequests.getNotModifiedCount() : 0;
+  }
+
+  /**
+   * @return statistics of the resources kept for conditional requests, or null unless
+   * {@link Builder#setConditionalRequestCache(CacheConfig)} is enabled
+   */
+  public CacheStats getConditionalRequestStats() {
+    return conditionalRequests != null ? conditionalRequests.getStats() : null;
+  }
+
+  /**
+   * @return byte counts of compressed request and response bodies, or null unless
+   * {@link Builder#setCompression(CompressionConfig)} is enabled
+   */
+  public CompressionStats getCompressionStats() {
+    return compressingClient != null ? compressingClient.getStats() : null;
+  }
+
   private Executor createCallbackExecutor() {
     return Platform.get().callbackExecutor();
   }
 
+  /**
+   * Creates one of two schedulers set up alike: the one running async, rx and futures calls, and the one running
+   * requests of scans, batches, chunked imports and page iterators. Callers of the latter block until their requests
+   * complete, possibly on a worker of the former, so the two never share a bounded pool or in-flight limit unless
+   * a custom executor is set.
+   */
+  private Scheduler createScheduler(Builder builder, String threadNamePrefix) {
+    Executor requestExecutor = builder.requestExecutor;
+
+    if (requestExecutor == null && builder.virtualThreads) {
+      requestExecutor = Platform.get().virtualThreadExecutor();
+    }
+
+    if (requestExecutor == null) {
+      requestExecutor = createIoExecutor(threadNamePrefix);
+    }
+
+    if (builder.maxRequestsInFlight != null) {
+      requestExecutor = new BoundedExecutor(requestExecutor, builder.maxRequestsInFlight, builder.overflowPolicy);
+    }
+
+    return Schedulers.from(requestExecutor);
+  }
+
+  /**
+   * A fixed pool sized to the number of concurrent requests the transport allows per host, so a burst of calls
+   * is queued instead of parking one thread per request.
+   */
+  private Executor createIoExecutor(String threadNamePrefix) {
+    int threads = transportConfig.getMaxRequestsPerHost();
+    ThreadPoolExecutor ioExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory(threadNamePrefix));
+    ioExecutor.allowCoreThreadTimeOut(true);
+    return ioExecutor;
+  }
+
   private JsonConverter createConverter(Builder builder) {
     ObjectMapper mapper = new ObjectMapper();
     mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -135,7 +265,8 @@ public class VoucherifyClient {
     jsonParsingModule.addDeserializer(CampaignsResponse.class, new CampaignsResponseDeserializer(builder.apiVersion));
     jsonParsingModule.addDeserializer(VouchersResponse.class, new VouchersResponseDeserializer(builder.apiVersion));
     mapper.registerModule(jsonParsingModule);
-    return new JsonConverter(mapper);
+    return new JsonConverter(mapper, ImportVouchers.class, CampaignImportVouchers.class,
+            StreamedImportVouchers.class, StreamedCampaignImportVouchers.class);
   }
 
   private String createHttpScheme(Builder builder) {
@@ -146,9 +277,11 @@ public class VoucherifyClient {
     }
   }
 
-  private VoucherifyApi createRetrofitService(Builder builder) {
+  private VoucherifyApi createRetrofitService(Builder builder, JsonConverter converter) {
+    converter.warmUp(VoucherifyApi.class);
+
     RestAdapter.Builder restBuilder = new RestAdapter.Builder()
-            .setConverter(createConverter(builder))
+            .setConverter(converter)
             .setRequestInterceptor(createInterceptor(builder));
 
     setEndPoint(builder, restBuilder);
@@ -181,8 +314,23 @@ public class VoucherifyClient {
   }
 
   private void setClientProvider(Builder builder, RestAdapter.Builder restBuilder) {
-    if (builder.clientProvider != null) {
-      restBuilder.setClient(builder.clientProvider);
+    Client.Provider clientProvider = builder.clientProvider;
+
+    if (clientProvider == null) {
+      final Client client = transportConfig.createClient();
+      clientProvider = new Client.Provider() {
+        @Override
+        public Client get() {
+          return client;
+        }
+      };
+    }
+
+    if (builder.compressionConfig != null) {
+      this.compressingClient = new CompressingClient(clientProvider, builder.compressionConfig);
+      restBuilder.setClient(compressingClient);
+    } else {
+      restBuilder.setClient(clientProvider);
     }
   }
 
@@ -216,10 +364,35 @@ public class VoucherifyClient {
 
     Client.Provider clientProvider;
 
+    TransportConfig transportConfig;
+
+    Executor requestExecutor;
+
+    Integer maxRequestsInFlight;
+
+    OverflowPolicy overflowPolicy;
+
+    boolean virtualThreads;
+
+    CacheConfig voucherCacheConfig;
+
+    boolean coalesceReads;
+
+    CacheConfig productCatalogConfig;
+
+    CacheConfig validationRulesCacheConfig;
+
+    NegativeCacheConfig negativeCacheConfig;
+
+    CacheConfig conditionalRequestsConfig;
+
+    CompressionConfig compressionConfig;
+
     ApiVersion apiVersion;
 
     public Builder() {
       this.secure = true;
+      this.overflowPolicy = OverflowPolicy.QUEUE;
     }
 
     public Builder setClientSecretKey(String clientSecretKey) {
@@ -272,6 +445,158 @@ public class VoucherifyClient {
       return this;
     }
 
+    /**
+     * Configures the default pooled transport and the size of the async/rx worker pool. Connection settings
+     * are ignored when a custom client is set with {@link #setClient(Client)} or {@link #setClientProvider(Client.Provider)}.
+     */
+    public Builder setTransportConfig(TransportConfig transportConfig) {
+      if (transportConfig == null) {
+        throw new IllegalArgumentException("Cannot call setTransportConfig() with null.");
+      }
+
+      this.transportConfig = transportConfig;
+      return this;
+    }
+
+    /**
+     * Executor on which async, rx and futures calls perform their blocking HTTP requests, also used for requests
+     * of scans, batches and chunked imports. Defaults to two fixed pools, one for each, sized by
+     * {@link TransportConfig#getMaxRequestsPerHost()}. A bounded executor may deadlock when scans or batches are
+     * started from async callbacks.
+     */
+    public Builder setRequestExecutor(Executor requestExecutor) {
+      if (requestExecutor == null) {
+        throw new IllegalArgumentException("Cannot call setRequestExecutor() with null.");
+      }
+
+      this.requestExecutor = requestExecutor;
+      return this;
+    }
+
+    /**
+     * Limits how many async, rx and futures calls may run at once. Calls over the limit are handled
+     * according to the {@link OverflowPolicy}, {@link OverflowPolicy#QUEUE} by default. Requests of scans, batches
+     * and chunked imports are limited the same way, separately from single calls.
+     */
+    public Builder setMaxRequestsInFlight(int maxRequestsInFlight) {
+      if (maxRequestsInFlight < 1) {
+        throw new IllegalArgumentException("Cannot call setMaxRequestsInFlight() with value lower than 1.");
+      }
+
+      this.maxRequestsInFlight = maxRequestsInFlight;
+      return this;
+    }
+
+    public Builder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+      if (overflowPolicy == null) {
+        throw new IllegalArgumentException("Cannot call setOverflowPolicy() with null.");
+      }
+
+      this.overflowPolicy = overflowPolicy;
+      return this;
+    }
+
+    /**
+     * Runs async, rx and futures calls on virtual threads when the runtime supports them (JDK 21+).
+     * On older runtimes the default worker pool is used. Ignored when {@link #setRequestExecutor(Executor)} is set.
+     */
+    public Builder useVirtualThreads() {
+      this.virtualThreads = true;
+      return this;
+    }
+
+    /**
+     * Enables the cache of vouchers returned by {@code vouchers().get(code)}. A cached voucher is dropped when
+     * it is updated, enabled, disabled, topped up, deleted or redeemed through this client.
+     */
+    public Builder setVoucherCache(CacheConfig voucherCacheConfig) {
+      if (voucherCacheConfig == null) {
+        throw new IllegalArgumentException("Cannot call setVoucherCache() with null.");
+      }
+
+      this.voucherCacheConfig = voucherCacheConfig;
+      return this;
+    }
+
+    /**
+     * Makes concurrent calls of {@code vouchers().get(code)}, {@code campaigns().get(name)} and
+     * {@code products().get(id)} for the same resource share one request and receive the same result or error.
+     */
+    public Builder coalesceConcurrentReads() {
+      this.coalesceReads = true;
+      return this;
+    }
+
+    /**
+     * Enables the local copy of products and SKUs used by {@code products().get}, {@code getSKU} and {@code listSKU}.
+     * It can be loaded up front with {@code products().warmUpCatalog()} and reloaded periodically with
+     * {@code products().scheduleCatalogRefresh()}; use a time-to-live longer than the refresh period.
+     */
+    public Builder setProductCatalogCache(CacheConfig productCatalogConfig) {
+      if (productCatalogConfig == null) {
+        throw new IllegalArgumentException("Cannot call setProductCatalogCache() with null.");
+      }
+
+      this.productCatalogConfig = productCatalogConfig;
+      return this;
+    }
+
+    /**
+     * Enables the cache of compiled rules used by {@code validationRules().getCompiled(id)}. Cached rules are
+     * dropped when they are updated or deleted through this client.
+     */
+    public Builder setValidationRulesCache(CacheConfig validationRulesCacheConfig) {
+      if (validationRulesCacheConfig == null) {
+        throw new IllegalArgumentException("Cannot call setValidationRulesCache() with null.");
+      }
+
+      this.validationRulesCacheConfig = validationRulesCacheConfig;
+      return this;
+    }
+
+    /**
+     * Enables the shared cache of codes which {@code vouchers().get(code)} did not find, or which
+     * {@code validations().validate(code, ...)} rejected for a reason not depending on the order. Such codes are
+     * answered locally until the time-to-live passes; a code is forgotten when a voucher with it is created or
+     * vouchers are imported through this client.
+     */
+    public Builder setNegativeCache(NegativeCacheConfig negativeCacheConfig) {
+      if (negativeCacheConfig == null) {
+        throw new IllegalArgumentException("Cannot call setNegativeCache() with null.");
+      }
+
+      this.negativeCacheConfig = negativeCacheConfig;
+      return this;
+    }
+
+    /**
+     * Makes {@code campaigns().get}, {@code products().get}, {@code segments().get} and {@code validationRules().get}
+     * keep the resources they read with their ETag, Last-Modified or {@code updated_at}, and revalidate them with
+     * conditional requests. On 304 Not Modified the kept resource is returned without parsing a response body.
+     */
+    public Builder setConditionalRequestCache(CacheConfig conditionalRequestsConfig) {
+      if (conditionalRequestsConfig == null) {
+        throw new IllegalArgumentException("Cannot call setConditionalRequestCache() with null.");
+      }
+
+      this.conditionalRequestsConfig = conditionalRequestsConfig;
+      return this;
+    }
+
+    /**
+     * Asks for gzipped responses and decodes them while they are parsed; with
+     * {@link CompressionConfig.Builder#compressRequests(long)} also gzips large request bodies, e.g. imports.
+     * Works with custom clients as well, which then receive requests with the encoding headers already set.
+     */
+    public Builder setCompression(CompressionConfig compressionConfig) {
+      if (compressionConfig == null) {
+        throw new IllegalArgumentException("Cannot call setCompression() with null.");
+      }
+
+      this.compressionConfig = compressionConfig;
+      return this;
+    }
+
     public Builder setLogLevel(RestAdapter.LogLevel logLevel) {
       if (logLevel == null) {
         throw new IllegalArgumentException("Cannot call setLogLevel() with null.");
@@ -3,6 +3,7 @@ package io.voucherify.client.api;
 import io.voucherify.client.model.campaign.AddVoucherToCampaign;
 import io.voucherify.client.model.campaign.CampaignImportVouchers;
 import io.voucherify.client.model.campaign.CreateCampaign;
+import io.voucherify.client.model.campaign.StreamedCampaignImportVouchers;
 import io.voucherify.client.model.campaign.response.AddVoucherToCampaignResponse;
 import io.voucherify.client.model.campaign.response.CampaignResponse;
 import io.voucherify.client.model.campaign.response.CampaignsResponse;
@@ -34,18 +35,22 @@ import io.voucherify.client.model.validationRules.response.ValidationRulesRespon
 import io.voucherify.client.model.voucher.AddBalance;
 import io.voucherify.client.model.voucher.CreateVoucher;
 import io.voucherify.client.model.voucher.ImportVouchers;
+import io.voucherify.client.model.voucher.StreamedImportVouchers;
 import io.voucherify.client.model.voucher.VoucherUpdate;
 import io.voucherify.client.model.voucher.response.AddBalanceResponse;
 import io.voucherify.client.model.voucher.response.VoucherResponse;
 import io.voucherify.client.model.voucher.response.VouchersResponse;
+import retrofit.client.Response;
 import retrofit.http.Body;
 import retrofit.http.DELETE;
 import retrofit.http.GET;
+import retrofit.http.Header;
 import retrofit.http.POST;
 import retrofit.http.PUT;
 import retrofit.http.Path;
 import retrofit.http.Query;
 import retrofit.http.QueryMap;
+import retrofit.mime.TypedOutput;
 
 import java.util.Map;
 
@@ -62,6 +67,10 @@ public interface VoucherifyApi {
   @GET("/campaigns/{name}")
   CampaignResponse getCampaign(@Path("name") String campaignName);
 
+  @GET("/campaigns/{name}")
+  Response getCampaign(@Path("name") String campaignName, @Header("If-None-Match") String ifNoneMatch,
+                       @Header("If-Modified-Since") String ifModifiedSince);
+
   @GET("/campaigns")
   CampaignsResponse listCampaigns(@QueryMap Map<String, Object> filter);
 
@@ -74,6 +83,9 @@ public interface VoucherifyApi {
   @POST("/campaigns/{name}/import")
   Void importVouchersToCampaign(@Path("name") String campaignName, @Body CampaignImportVouchers importVouchers);
 
+  @POST("/campaigns/{name}/import")
+  Void importVouchersToCampaign(@Path("name") String campaignName, @Body StreamedCampaignImportVouchers importVouchers);
+
   // CUSTOMERS
 
   @POST("/customers")
@@ -151,11 +163,17 @@ public interface VoucherifyApi {
   @POST("/vouchers/import")
   Void importVouchers(@Body ImportVouchers vouchers);
 
+  @POST("/vouchers/import")
+  Void importVouchers(@Body StreamedImportVouchers vouchers);
+
   // VALIDATIONS
 
   @POST("/vouchers/{code}/validate")
   VoucherValidationResponse validateVoucher(@Path("code") String code, @Body VoucherValidation voucherValidation);
 
+  @POST("/vouchers/{code}/validate")
+  VoucherValidationResponse validateVoucher(@Path("code") String code, @Body TypedOutput voucherValidation);
+
   // PRODUCTS
 
   @POST("/products")
@@ -164,6 +182,10 @@ public interface VoucherifyApi {
   @GET("/products/{id}")
   ProductResponse getProduct(@Path("id") String id);
 
+  @GET("/products/{id}")
+  Response getProduct(@Path("id") String id, @Header("If-None-Match") String ifNoneMatch,
+                      @Header("If-Modified-Since") String ifModifiedSince);
+
   @PUT("/products/{id}")
   ProductResponse updateProduct(@Path("id") String id, @Body Product product);
 
@@ -198,6 +220,10 @@ public interface VoucherifyApi {
   @GET("/segments/{id}")
   SegmentResponse getSegment(@Path("id") String id);
 
+  @GET("/segments/{id}")
+  Response getSegment(@Path("id") String id, @Header("If-None-Match") String ifNoneMatch,
+                      @Header("If-Modified-Since") String ifModifiedSince);
+
   @DELETE("/segments/{id}")
   Void deleteSegment(@Path("id") String id);
 
@@ -209,6 +235,10 @@ public interface VoucherifyApi {
   @GET("/validation-rules/{id}")
   ValidationRulesResponse getValidationRules(@Path("id") String id);
 
+  @GET("/validation-rules/{id}")
+  Response getValidationRules(@Path("id") String id, @Header("If-None-Match") String ifNoneMatch,
+                              @Header("If-Modified-Since") String ifModifiedSince);
+
   @PUT("/validation-rules/{id}")
   ValidationRulesResponse updateValidationRules(@Path("id") String id, @Body ValidationRules validationRules);
 
@@ -0,0 +1,27 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.error.VoucherifyError;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of one item of a batch: its position in the batch, its ordering key and either a result or an error.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public final class BatchItemResult<R> {
+
+  private final int index;
+
+  private final String key;
+
+  private final R result;
+
+  private final VoucherifyError error;
+
+  public boolean isSuccessful() {
+    return error == null;
+  }
+}
@@ -0,0 +1,44 @@
+package io.voucherify.client.bulk;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch, in the order of the items.
+ */
+@Getter
+@ToString
+public final class BatchReport<R> {
+
+  private final List<BatchItemResult<R>> items;
+
+  public BatchReport(List<BatchItemResult<R>> items) {
+    this.items = Collections.unmodifiableList(items);
+  }
+
+  public boolean isSuccessful() {
+    return getFailedItems().isEmpty();
+  }
+
+  public int getSucceededCount() {
+    return items.size() - getFailedItems().size();
+  }
+
+  public int getFailedCount() {
+    return getFailedItems().size();
+  }
+
+  public List<BatchItemResult<R>> getFailedItems() {
+    List<BatchItemResult<R>> failed = new ArrayList<BatchItemResult<R>>();
+    for (BatchItemResult<R> item : items) {
+      if (!item.isSuccessful()) {
+        failed.add(item);
+      }
+    }
+    return failed;
+  }
+}
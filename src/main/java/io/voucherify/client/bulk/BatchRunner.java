@@ -0,0 +1,145 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.callback.BatchCallback;
+import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Runs a call for every item of a batch with at most {@code concurrency} calls in flight. Items with the same key
+ * run one after another in the order of the batch; items with different keys, or without a key, run concurrently.
+ * A failed item is reported and does not stop the batch. Items are not retried, as calls like redemptions are not
+ * idempotent. The batch runs on the calling thread, which blocks until all items are done.
+ */
+public abstract class BatchRunner<T, R> {
+
+  private final int concurrency;
+
+  protected BatchRunner(int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Cannot create runner with concurrency lower than 1.");
+    }
+
+    this.concurrency = concurrency;
+  }
+
+  protected abstract VoucherifyFuture<R> execute(T item);
+
+  /**
+   * @return key of items which must not run concurrently, null by default
+   */
+  protected String keyOf(T item) {
+    return null;
+  }
+
+  public BatchReport<R> runAll(Collection<? extends T> items) {
+    return runAll(items, null);
+  }
+
+  /**
+   * Same as {@link #runAll(Collection)} but also hands each result to the callback as soon as it completes.
+   */
+  public BatchReport<R> runAll(Collection<? extends T> items, BatchCallback<R> callback) {
+    List<T> batch = new ArrayList<T>(items);
+    List<String> keys = new ArrayList<String>(batch.size());
+    List<BatchItemResult<R>> results = new ArrayList<BatchItemResult<R>>(
+            Collections.<BatchItemResult<R>>nCopies(batch.size(), null));
+    Map<String, Queue<Integer>> waiting = new HashMap<String, Queue<Integer>>();
+    Queue<Integer> ready = new LinkedList<Integer>();
+
+    for (int i = 0; i < batch.size(); i++) {
+      String key = keyOf(batch.get(i));
+      keys.add(key);
+
+      if (key == null) {
+        ready.add(i);
+      } else if (waiting.containsKey(key)) {
+        waiting.get(key).add(i);
+      } else {
+        waiting.put(key, new LinkedList<Integer>());
+        ready.add(i);
+      }
+    }
+
+    BlockingQueue<BatchItemResult<R>> completed = new LinkedBlockingQueue<BatchItemResult<R>>();
+    Map<Integer, VoucherifyFuture<R>> inFlight = new HashMap<Integer, VoucherifyFuture<R>>();
+    int completedCount = 0;
+
+    try {
+      while (true) {
+        while (inFlight.size() < concurrency && !ready.isEmpty()) {
+          int index = ready.poll();
+          inFlight.put(index, submit(index, keys.get(index), batch.get(index), completed));
+        }
+
+        if (inFlight.isEmpty()) {
+          break;
+        }
+
+        BatchItemResult<R> result = take(completed);
+        inFlight.remove(result.getIndex());
+        results.set(result.getIndex(), result);
+        completedCount++;
+
+        if (callback != null) {
+          callback.onResult(result);
+          callback.onProgress(completedCount, batch.size());
+        }
+
+        if (result.getKey() != null) {
+          Integer next = waiting.get(result.getKey()).poll();
+          if (next != null) {
+            ready.add(next);
+          }
+        }
+      }
+    } finally {
+      for (VoucherifyFuture<R> future : inFlight.values()) {
+        future.cancel(true);
+      }
+    }
+    return new BatchReport<R>(results);
+  }
+
+  private VoucherifyFuture<R> submit(final int index, final String key, T item,
+                                     final BlockingQueue<BatchItemResult<R>> completed) {
+    VoucherifyFuture<R> future;
+    try {
+      future = execute(item);
+    } catch (RuntimeException e) {
+      future = VoucherifyFuture.failed(e);
+    }
+
+    return future.addCallback(new VoucherifyCallback<R>() {
+      @Override
+      public void onSuccess(R result) {
+        completed.add(new BatchItemResult<R>(index, key, result, null));
+      }
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        completed.add(new BatchItemResult<R>(index, key, null, error));
+      }
+    });
+  }
+
+  private static <T> T take(BlockingQueue<T> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw VoucherifyError.from(e);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package io.voucherify.client.bulk;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of a chunked import. A chunk is closed when it holds {@code chunkSize} items or when the next item would
+ * make its serialized size exceed {@code maxChunkBytes}; an item bigger than the limit is sent alone.
+ */
+@Getter
+@ToString
+public final class BulkImportConfig {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1000;
+  public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+  public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 500;
+  public static final long DEFAULT_MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final int chunkSize;
+
+  private final long maxChunkBytes;
+
+  private final int parallelism;
+
+  private final int maxAttempts;
+
+  private final long initialBackoffMillis;
+
+  private final long maxBackoffMillis;
+
+  private BulkImportConfig(Builder builder) {
+    this.chunkSize = builder.chunkSize;
+    this.maxChunkBytes = builder.maxChunkBytes;
+    this.parallelism = builder.parallelism;
+    this.maxAttempts = builder.maxAttempts;
+    this.initialBackoffMillis = builder.initialBackoffMillis;
+    this.maxBackoffMillis = builder.maxBackoffMillis;
+  }
+
+  public static BulkImportConfig defaults() {
+    return new Builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isByteBounded() {
+    return maxChunkBytes > 0;
+  }
+
+  public static class Builder {
+
+    int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    long maxChunkBytes;
+
+    int parallelism = DEFAULT_PARALLELISM;
+
+    int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    long initialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+    long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+
+    public Builder chunkSize(int chunkSize) {
+      if (chunkSize < 1) {
+        throw new IllegalArgumentException("Cannot call chunkSize() with value lower than 1.");
+      }
+
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    public Builder maxChunkBytes(long maxChunkBytes) {
+      if (maxChunkBytes < 1) {
+        throw new IllegalArgumentException("Cannot call maxChunkBytes() with value lower than 1.");
+      }
+
+      this.maxChunkBytes = maxChunkBytes;
+      return this;
+    }
+
+    /**
+     * Number of chunks uploaded at the same time. At most this many chunks, plus the one being filled, are held
+     * in memory.
+     */
+    public Builder parallelism(int parallelism) {
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("Cannot call parallelism() with value lower than 1.");
+      }
+
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Number of times a chunk is sent before it is reported as failed, including the first attempt. Only network
+     * errors, 429 Too Many Requests and 5xx errors are retried.
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("Cannot call maxAttempts() with value lower than 1.");
+      }
+
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Delay before the first retry of a chunk, doubled for every next retry up to {@code max}. The actual delay is
+     * picked at random between half and all of it, so chunks which failed together are not retried together.
+     * A zero initial delay retries at once.
+     */
+    public Builder retryBackoff(long initial, long max, TimeUnit unit) {
+      if (unit == null) {
+        throw new IllegalArgumentException("Cannot call retryBackoff() with null unit.");
+      }
+
+      if (initial < 0 || max < initial) {
+        throw new IllegalArgumentException("Cannot call retryBackoff() with negative initial or max lower than initial.");
+      }
+
+      this.initialBackoffMillis = unit.toMillis(initial);
+      this.maxBackoffMillis = unit.toMillis(max);
+      return this;
+    }
+
+    public BulkImportConfig build() {
+      return new BulkImportConfig(this);
+    }
+  }
+}
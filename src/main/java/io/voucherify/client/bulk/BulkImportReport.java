@@ -0,0 +1,54 @@
+package io.voucherify.client.bulk;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-chunk outcome of a chunked import, in chunk order.
+ */
+@Getter
+@ToString
+public final class BulkImportReport {
+
+  private final List<ChunkReport> chunks;
+
+  public BulkImportReport(List<ChunkReport> chunks) {
+    this.chunks = Collections.unmodifiableList(chunks);
+  }
+
+  public boolean isSuccessful() {
+    return getFailedChunks().isEmpty();
+  }
+
+  public long getImportedCount() {
+    long count = 0;
+    for (ChunkReport chunk : chunks) {
+      if (chunk.isSuccessful()) {
+        count += chunk.getSize();
+      }
+    }
+    return count;
+  }
+
+  public long getFailedCount() {
+    long count = 0;
+    for (ChunkReport chunk : getFailedChunks()) {
+      count += chunk.getSize();
+    }
+    return count;
+  }
+
+  public List<ChunkReport> getFailedChunks() {
+    List<ChunkReport> failed = new ArrayList<ChunkReport>();
+    for (ChunkReport chunk : chunks) {
+      if (!chunk.isSuccessful()) {
+        failed.add(chunk);
+      }
+    }
+    return failed;
+  }
+}
@@ -0,0 +1,54 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.model.campaign.CampaignImportVoucher;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+
+/**
+ * Vouchers for a campaign import read incrementally from a file, one row at a time, so files of any size can be
+ * imported with {@code campaigns().importVouchers(name, source, config)} in constant memory. The file is read through
+ * a {@link FileChannel} with a fixed-size buffer. Close the source when done; reading to the end closes it as well.
+ * <p>
+ * Parse errors are thrown from {@link #hasNext()} or {@link #next()} as {@link VoucherifyError}s with the row number.
+ */
+public abstract class CampaignImportSource implements Iterator<CampaignImportVoucher>, Closeable {
+
+  /**
+   * Reads a CSV file with a header row. Recognized columns are {@code code}, {@code category}, {@code active},
+   * {@code additional_info} and {@code redemption_quantity}; columns named {@code metadata.<key>} become metadata
+   * entries. Other columns and empty values are ignored. Fields may be quoted, with {@code ""} escaping a quote.
+   */
+  public static CampaignImportSource csv(File file) {
+    return new CsvCampaignImportSource(open(file));
+  }
+
+  /**
+   * Reads a file with one JSON object per line, in the format of the import request.
+   */
+  public static CampaignImportSource jsonLines(File file) {
+    return new JsonLinesCampaignImportSource(open(file));
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Cannot remove vouchers from an import source.");
+  }
+
+  private static FileChannel open(File file) {
+    if (file == null) {
+      throw new IllegalArgumentException("Cannot open import source with null file.");
+    }
+
+    try {
+      return new FileInputStream(file).getChannel();
+    } catch (IOException e) {
+      throw VoucherifyError.from(e);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.error.VoucherifyError;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of one chunk of an import. The items of the chunk are not kept; {@code offset} is the position of its
+ * first item in the imported sequence, so failed chunks can be sent again.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public final class ChunkReport {
+
+  private final int index;
+
+  private final long offset;
+
+  private final int size;
+
+  private final long bytes;
+
+  private final int attempts;
+
+  private final VoucherifyError error;
+
+  public boolean isSuccessful() {
+    return error == null;
+  }
+}
@@ -0,0 +1,255 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a sequence of items into chunks and uploads them with at most {@code parallelism} uploads in flight.
+ * Items are pulled from the iterator only when a chunk can be sent, so memory stays bounded by the chunks in flight.
+ * A chunk which failed with a network error, 429 or 5xx is sent again on its own, after an exponential backoff,
+ * until it succeeds or runs out of attempts; other chunks are not affected. Other errors, e.g. a 400 for an invalid
+ * voucher or a 409 for a duplicate code, cannot succeed on retry and are reported at once.
+ * The upload runs on the calling thread, which blocks until all chunks are done.
+ */
+public abstract class ChunkedUploader<T> {
+
+  private static final int TOO_MANY_REQUESTS = 429;
+
+  private final BulkImportConfig config;
+
+  private final Random random = new Random();
+
+  protected ChunkedUploader(BulkImportConfig config) {
+    if (config == null) {
+      throw new IllegalArgumentException("Cannot create uploader with null config.");
+    }
+
+    this.config = config;
+  }
+
+  protected abstract VoucherifyFuture<Void> upload(List<T> chunk);
+
+  /**
+   * @return serialized size of the item, used only when the config bounds chunks by bytes
+   */
+  protected long sizeOf(T item) {
+    return 0;
+  }
+
+  public BulkImportReport uploadAll(Iterator<? extends T> items) {
+    BlockingQueue<Chunk<T>> completed = new LinkedBlockingQueue<Chunk<T>>();
+    Map<Integer, Chunk<T>> inFlight = new HashMap<Integer, Chunk<T>>();
+    PriorityQueue<Chunk<T>> backingOff = new PriorityQueue<Chunk<T>>(11, new Comparator<Chunk<T>>() {
+      @Override
+      public int compare(Chunk<T> first, Chunk<T> second) {
+        return first.retryAt < second.retryAt ? -1 : (first.retryAt == second.retryAt ? 0 : 1);
+      }
+    });
+    List<ChunkReport> reports = new ArrayList<ChunkReport>();
+    Reader<T> reader = new Reader<T>(items);
+
+    try {
+      while (true) {
+        while (inFlight.size() < config.getParallelism() && reader.hasNext()) {
+          Chunk<T> chunk = nextChunk(reader, reports.size() + inFlight.size());
+          inFlight.put(chunk.index, chunk);
+          submit(chunk, completed);
+        }
+
+        while (!backingOff.isEmpty() && backingOff.peek().retryAt <= currentTimeMillis()) {
+          submit(backingOff.poll(), completed);
+        }
+
+        if (inFlight.isEmpty()) {
+          break;
+        }
+
+        Chunk<T> chunk = backingOff.isEmpty()
+                ? take(completed)
+                : poll(completed, backingOff.peek().retryAt - currentTimeMillis());
+        if (chunk == null) {
+          continue;
+        }
+
+        if (chunk.error != null && chunk.attempts < config.getMaxAttempts() && isRetryable(chunk.error)) {
+          chunk.retryAt = currentTimeMillis() + backoffMillis(chunk.attempts);
+          backingOff.add(chunk);
+          continue;
+        }
+
+        inFlight.remove(chunk.index);
+        reports.add(new ChunkReport(chunk.index, chunk.offset, chunk.items.size(), chunk.bytes, chunk.attempts, chunk.error));
+      }
+    } finally {
+      for (Chunk<T> chunk : inFlight.values()) {
+        chunk.future.cancel(true);
+      }
+    }
+
+    Collections.sort(reports, new Comparator<ChunkReport>() {
+      @Override
+      public int compare(ChunkReport first, ChunkReport second) {
+        return first.getIndex() < second.getIndex() ? -1 : (first.getIndex() == second.getIndex() ? 0 : 1);
+      }
+    });
+    return new BulkImportReport(reports);
+  }
+
+  private Chunk<T> nextChunk(Reader<T> reader, int index) {
+    Chunk<T> chunk = new Chunk<T>(index, reader.position);
+
+    while (chunk.items.size() < config.getChunkSize() && reader.hasNext()) {
+      T item = reader.peek();
+      long size = config.isByteBounded() ? sizeOf(item) : 0;
+
+      if (!chunk.items.isEmpty() && config.isByteBounded() && chunk.bytes + size > config.getMaxChunkBytes()) {
+        break;
+      }
+
+      chunk.items.add(reader.next());
+      chunk.bytes += size;
+    }
+    return chunk;
+  }
+
+  private void submit(final Chunk<T> chunk, final BlockingQueue<Chunk<T>> completed) {
+    chunk.attempts++;
+    chunk.error = null;
+    chunk.future = upload(chunk.items).addCallback(new VoucherifyCallback<Void>() {
+      @Override
+      public void onSuccess(Void result) {
+        completed.add(chunk);
+      }
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        chunk.error = error;
+        completed.add(chunk);
+      }
+    });
+  }
+
+  private static long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * @return true for errors which may pass on retry: network errors, 429 Too Many Requests and 5xx
+   */
+  static boolean isRetryable(VoucherifyError error) {
+    Integer status = error.getCode();
+
+    if (status == null && error.getCause() instanceof RetrofitError) {
+      Response response = ((RetrofitError) error.getCause()).getResponse();
+      status = response != null ? response.getStatus() : null;
+    }
+    return status == null || status == TOO_MANY_REQUESTS || status >= 500;
+  }
+
+  private long backoffMillis(int attempts) {
+    long backoff = config.getInitialBackoffMillis();
+    for (int i = 1; i < attempts && backoff < config.getMaxBackoffMillis(); i++) {
+      backoff *= 2;
+    }
+    backoff = Math.min(backoff, config.getMaxBackoffMillis());
+
+    long half = backoff / 2;
+    return half + (long) (random.nextDouble() * (backoff - half));
+  }
+
+  private static <T> Chunk<T> poll(BlockingQueue<Chunk<T>> queue, long timeoutMillis) {
+    try {
+      return queue.poll(Math.max(timeoutMillis, 0), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw VoucherifyError.from(e);
+    }
+  }
+
+  private static <T> Chunk<T> take(BlockingQueue<Chunk<T>> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw VoucherifyError.from(e);
+    }
+  }
+
+  private static final class Chunk<T> {
+
+    private final int index;
+
+    private final long offset;
+
+    private final List<T> items = new ArrayList<T>();
+
+    private long bytes;
+
+    private int attempts;
+
+    private volatile VoucherifyError error;
+
+    private VoucherifyFuture<Void> future;
+
+    private long retryAt;
+
+    private Chunk(int index, long offset) {
+      this.index = index;
+      this.offset = offset;
+    }
+  }
+
+  /**
+   * Iterator with one item of lookahead, so an item which does not fit into a chunk starts the next one.
+   */
+  private static final class Reader<T> {
+
+    private final Iterator<? extends T> items;
+
+    private T next;
+
+    private boolean hasNext;
+
+    private long position;
+
+    private Reader(Iterator<? extends T> items) {
+      this.items = items;
+    }
+
+    private boolean hasNext() {
+      return hasNext || items.hasNext();
+    }
+
+    private T peek() {
+      if (!hasNext) {
+        next = items.next();
+        hasNext = true;
+      }
+      return next;
+    }
+
+    private T next() {
+      T item = peek();
+      next = null;
+      hasNext = false;
+      position++;
+      return item;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.model.campaign.CampaignImportVoucher;
+import io.voucherify.client.model.voucher.VoucherRedemption;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+final class CsvCampaignImportSource extends CampaignImportSource {
+
+  private static final String CHARSET = "UTF-8";
+  private static final String METADATA_PREFIX = "metadata.";
+  private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+  private final Reader reader;
+
+  private final char[] buffer = new char[8192];
+
+  private int position;
+
+  private int limit;
+
+  private long row;
+
+  private List<String> columns;
+
+  private CampaignImportVoucher next;
+
+  private boolean closed;
+
+  CsvCampaignImportSource(FileChannel channel) {
+    this.reader = Channels.newReader(channel, CHARSET);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next != null) {
+      return true;
+    }
+
+    if (closed) {
+      return false;
+    }
+
+    try {
+      if (columns == null) {
+        columns = readRow();
+        if (columns == null) {
+          close();
+          return false;
+        }
+        stripByteOrderMark(columns);
+      }
+
+      List<String> values = readRow();
+      if (values == null) {
+        close();
+        return false;
+      }
+
+      next = toVoucher(values);
+      return true;
+    } catch (IOException e) {
+      closeQuietly();
+      throw VoucherifyError.from(e);
+    }
+  }
+
+  @Override
+  public CampaignImportVoucher next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    CampaignImportVoucher voucher = next;
+    next = null;
+    return voucher;
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    reader.close();
+  }
+
+  private CampaignImportVoucher toVoucher(List<String> values) {
+    CampaignImportVoucher.CampaignImportVoucherBuilder builder = CampaignImportVoucher.builder();
+
+    for (int i = 0; i < values.size() && i < columns.size(); i++) {
+      String column = columns.get(i);
+      String value = values.get(i);
+
+      if (value.isEmpty()) {
+        continue;
+      }
+
+      if ("code".equals(column)) {
+        builder.code(value);
+      } else if ("category".equals(column)) {
+        builder.category(value);
+      } else if ("active".equals(column)) {
+        builder.active(Boolean.valueOf(value));
+      } else if ("additional_info".equals(column)) {
+        builder.additionalInfo(value);
+      } else if ("redemption_quantity".equals(column)) {
+        builder.redemption(VoucherRedemption.builder().quantity(parseInt(value)).build());
+      } else if (column.startsWith(METADATA_PREFIX)) {
+        builder.metadataEntry(column.substring(METADATA_PREFIX.length()), value);
+      }
+    }
+    return builder.build();
+  }
+
+  private int parseInt(String value) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      closeQuietly();
+      throw VoucherifyError.from("Invalid number in CSV row " + row + ": " + value);
+    }
+  }
+
+  /**
+   * @return fields of the next non-empty row, or null at the end of the file
+   */
+  private List<String> readRow() throws IOException {
+    List<String> fields = new ArrayList<String>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    boolean wasQuoted = false;
+
+    while (true) {
+      int c = read();
+
+      if (c < 0) {
+        if (quoted) {
+          closeQuietly();
+          throw VoucherifyError.from("Unterminated quoted field in CSV row " + (row + 1));
+        }
+
+        if (fields.isEmpty() && field.length() == 0 && !wasQuoted) {
+          return null;
+        }
+        fields.add(field.toString());
+        row++;
+        return fields;
+      }
+
+      if (quoted) {
+        if (c == '"') {
+          if (peek() == '"') {
+            read();
+            field.append('"');
+          } else {
+            quoted = false;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+        wasQuoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+        wasQuoted = false;
+      } else if (c == '\r' || c == '\n') {
+        if (c == '\r' && peek() == '\n') {
+          read();
+        }
+
+        if (fields.isEmpty() && field.length() == 0 && !wasQuoted) {
+          continue;
+        }
+        fields.add(field.toString());
+        row++;
+        return fields;
+      } else {
+        field.append((char) c);
+      }
+    }
+  }
+
+  private int read() throws IOException {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position++];
+  }
+
+  private int peek() throws IOException {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position];
+  }
+
+  private boolean fill() throws IOException {
+    int read = reader.read(buffer, 0, buffer.length);
+    if (read <= 0) {
+      return false;
+    }
+
+    position = 0;
+    limit = read;
+    return true;
+  }
+
+  private static void stripByteOrderMark(List<String> columns) {
+    if (!columns.isEmpty() && !columns.get(0).isEmpty() && columns.get(0).charAt(0) == BYTE_ORDER_MARK) {
+      columns.set(0, columns.get(0).substring(1));
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      close();
+    } catch (IOException ignore) {
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package io.voucherify.client.bulk;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.model.campaign.CampaignImportVoucher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.NoSuchElementException;
+
+final class JsonLinesCampaignImportSource extends CampaignImportSource {
+
+  private static final ObjectReader READER = new ObjectMapper()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+          .reader(CampaignImportVoucher.class);
+
+  private final InputStream in;
+
+  private MappingIterator<CampaignImportVoucher> values;
+
+  private boolean closed;
+
+  JsonLinesCampaignImportSource(FileChannel channel) {
+    this.in = Channels.newInputStream(channel);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+
+    try {
+      if (values == null) {
+        values = READER.readValues(in);
+      }
+
+      if (!values.hasNextValue()) {
+        close();
+        return false;
+      }
+      return true;
+    } catch (IOException e) {
+      closeQuietly();
+      throw VoucherifyError.from(e);
+    }
+  }
+
+  @Override
+  public CampaignImportVoucher next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    try {
+      return values.nextValue();
+    } catch (IOException e) {
+      closeQuietly();
+      throw VoucherifyError.from(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    in.close();
+  }
+
+  private void closeQuietly() {
+    try {
+      close();
+    } catch (IOException ignore) {
+    }
+  }
+}
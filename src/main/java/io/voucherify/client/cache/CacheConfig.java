@@ -0,0 +1,79 @@
+package io.voucherify.client.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size and time-to-live of a client side cache.
+ */
+@Getter
+@ToString
+public final class CacheConfig {
+
+  public static final int DEFAULT_MAX_SIZE = 10000;
+  public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final int maxSize;
+
+  private final long ttlMillis;
+
+  private CacheConfig(Builder builder) {
+    this.maxSize = builder.maxSize;
+    this.ttlMillis = builder.ttlMillis;
+  }
+
+  public static CacheConfig defaults() {
+    return new Builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public <K, V> LocalCache<K, V> createCache() {
+    return new LocalCache<K, V>(maxSize, ttlMillis);
+  }
+
+  /**
+   * Creates a cache whose stamps are comparable with those of other caches sharing the counter.
+   */
+  <K, V> LocalCache<K, V> createCache(AtomicLong generations) {
+    return new LocalCache<K, V>(maxSize, ttlMillis, generations);
+  }
+
+  public static class Builder {
+
+    int maxSize = DEFAULT_MAX_SIZE;
+
+    long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    public Builder maxSize(int maxSize) {
+      if (maxSize < 1) {
+        throw new IllegalArgumentException("Cannot call maxSize() with value lower than 1.");
+      }
+
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    public Builder ttl(long ttl, TimeUnit unit) {
+      if (unit == null) {
+        throw new IllegalArgumentException("Cannot call ttl() with null unit.");
+      }
+
+      if (ttl < 1) {
+        throw new IllegalArgumentException("Cannot call ttl() with value lower than 1.");
+      }
+
+      this.ttlMillis = unit.toMillis(ttl);
+      return this;
+    }
+
+    public CacheConfig build() {
+      return new CacheConfig(this);
+    }
+  }
+}
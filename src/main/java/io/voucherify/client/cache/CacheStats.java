@@ -0,0 +1,34 @@
+package io.voucherify.client.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the counters of a {@link LocalCache}. Evictions count entries removed to make room for new ones,
+ * expirations count entries found to be older than the time-to-live.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public final class CacheStats {
+
+  private final long hitCount;
+
+  private final long missCount;
+
+  private final long evictionCount;
+
+  private final long expirationCount;
+
+  private final int size;
+
+  public long getRequestCount() {
+    return hitCount + missCount;
+  }
+
+  public double getHitRate() {
+    long requests = getRequestCount();
+    return requests == 0 ? 1.0 : (double) hitCount / requests;
+  }
+}
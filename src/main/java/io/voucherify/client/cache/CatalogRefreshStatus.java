@@ -0,0 +1,46 @@
+package io.voucherify.client.cache;
+
+import io.voucherify.client.error.VoucherifyError;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of the scheduled refreshes of a {@link ProductCatalog}. Times are in epoch milliseconds, 0 when there was
+ * no such refresh yet.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public final class CatalogRefreshStatus {
+
+  static final CatalogRefreshStatus NONE = new CatalogRefreshStatus(0, 0, 0, null, 0, 0);
+
+  private final long lastSuccessMillis;
+
+  private final int lastLoadedCount;
+
+  private final long lastFailureMillis;
+
+  private final VoucherifyError lastFailure;
+
+  private final long failureCount;
+
+  /**
+   * Failures since the last successful refresh, greater than 0 while the catalog is getting stale.
+   */
+  private final int consecutiveFailures;
+
+  public static CatalogRefreshStatus none() {
+    return NONE;
+  }
+
+  public CatalogRefreshStatus succeeded(long timeMillis, int loadedCount) {
+    return new CatalogRefreshStatus(timeMillis, loadedCount, lastFailureMillis, lastFailure, failureCount, 0);
+  }
+
+  public CatalogRefreshStatus failed(long timeMillis, VoucherifyError failure) {
+    return new CatalogRefreshStatus(lastSuccessMillis, lastLoadedCount, timeMillis, failure, failureCount + 1,
+            consecutiveFailures + 1);
+  }
+}
@@ -0,0 +1,185 @@
+package io.voucherify.client.cache;
+
+import rx.functions.Func1;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded, least recently used map whose entries expire after a fixed time-to-live.
+ * <p>
+ * Loading a value is not atomic with storing it, so a value fetched before an invalidation could overwrite it.
+ * Callers which load values take a {@link #stamp()} before the request and store the result with
+ * {@link #putIfNotInvalidatedSince(Object, Object, long)}, which drops it when its key, or the whole cache, was
+ * invalidated meanwhile. Invalidations of other keys do not affect the load. Invalidated keys are remembered as
+ * tombstones, at most {@code maxSize} of them; a load older than a forgotten tombstone is dropped. Caches which
+ * share a generation counter accept each other's stamps.
+ */
+public class LocalCache<K, V> {
+
+  private final int maxSize;
+
+  private final long ttlMillis;
+
+  private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+  private final LinkedHashMap<K, Long> tombstones;
+
+  private final AtomicLong generations;
+
+  private long clearedAt;
+
+  private long forgottenTombstonesUpTo;
+
+  private long hitCount;
+
+  private long missCount;
+
+  private long evictionCount;
+
+  private long expirationCount;
+
+  public LocalCache(int maxSize, long ttlMillis) {
+    this(maxSize, ttlMillis, new AtomicLong());
+  }
+
+  LocalCache(int maxSize, long ttlMillis, AtomicLong generations) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size must be greater than 0.");
+    }
+
+    if (ttlMillis < 1) {
+      throw new IllegalArgumentException("Cache time-to-live must be greater than 0.");
+    }
+
+    this.maxSize = maxSize;
+    this.ttlMillis = ttlMillis;
+    this.generations = generations;
+    this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+        if (size() > LocalCache.this.maxSize) {
+          evictionCount++;
+          return true;
+        }
+        return false;
+      }
+    };
+    this.tombstones = new LinkedHashMap<K, Long>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+        if (size() > LocalCache.this.maxSize) {
+          forgottenTombstonesUpTo = Math.max(forgottenTombstonesUpTo, eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * @return cached value or null when it is missing or expired
+   */
+  public synchronized V get(K key) {
+    CacheEntry<V> entry = entries.get(key);
+
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+
+    if (entry.expiresAt <= currentTimeMillis()) {
+      entries.remove(key);
+      expirationCount++;
+      missCount++;
+      return null;
+    }
+
+    hitCount++;
+    return entry.value;
+  }
+
+  public synchronized void put(K key, V value) {
+    if (value == null) {
+      return;
+    }
+    entries.put(key, new CacheEntry<V>(value, currentTimeMillis() + ttlMillis));
+  }
+
+  /**
+   * Stores the value only if neither the key nor the whole cache was invalidated since the stamp was taken.
+   */
+  public synchronized boolean putIfNotInvalidatedSince(K key, V value, long stamp) {
+    Long invalidatedAt = tombstones.get(key);
+
+    if (clearedAt > stamp || forgottenTombstonesUpTo > stamp || (invalidatedAt != null && invalidatedAt > stamp)) {
+      return false;
+    }
+
+    put(key, value);
+    return true;
+  }
+
+  public long stamp() {
+    return generations.get();
+  }
+
+  /**
+   * @return value which was cached for the key, expired or not, or null
+   */
+  public synchronized V invalidate(K key) {
+    tombstones.remove(key);
+    tombstones.put(key, generations.incrementAndGet());
+    CacheEntry<V> removed = entries.remove(key);
+    return removed != null ? removed.value : null;
+  }
+
+  public synchronized void invalidateIf(Func1<? super K, Boolean> predicate) {
+    clear();
+    Iterator<K> keys = entries.keySet().iterator();
+    while (keys.hasNext()) {
+      if (predicate.call(keys.next())) {
+        keys.remove();
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    clear();
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized CacheStats stats() {
+    return new CacheStats(hitCount, missCount, evictionCount, expirationCount, entries.size());
+  }
+
+  /**
+   * Rejects all loads in flight; their tombstones are no longer needed.
+   */
+  private void clear() {
+    clearedAt = generations.incrementAndGet();
+    tombstones.clear();
+  }
+
+  protected long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  private static final class CacheEntry<V> {
+
+    private final V value;
+
+    private final long expiresAt;
+
+    private CacheEntry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package io.voucherify.client.cache;
+
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.model.validation.VoucherValidationResponse;
+import io.voucherify.client.utils.BloomFilter;
+import retrofit.RetrofitError;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers voucher codes which were not found (HTTP 404) or failed validation for a reason which does not depend
+ * on the order, so repeated calls for them can be answered without a request.
+ */
+public final class NegativeCache {
+
+  private static final int NOT_FOUND = 404;
+
+  private final LocalCache<String, Object> entries;
+
+  private final Set<String> reasons;
+
+  private final NegativeCacheConfig config;
+
+  private final AtomicLong absorbedCount = new AtomicLong();
+
+  private BloomFilter currentFilter;
+
+  private BloomFilter previousFilter;
+
+  private Set<String> currentForgotten;
+
+  private Set<String> previousForgotten;
+
+  private long rotateFilterAt;
+
+  private VoucherifyError notFoundTemplate;
+
+  public NegativeCache(NegativeCacheConfig config) {
+    this.config = config;
+    this.entries = new LocalCache<String, Object>(config.getMaxSize(), config.getTtlMillis()) {
+      @Override
+      protected long currentTimeMillis() {
+        return NegativeCache.this.currentTimeMillis();
+      }
+    };
+    this.reasons = config.getReasons();
+
+    if (config.isBloomFilterEnabled()) {
+      this.currentFilter = createFilter();
+      this.previousFilter = createFilter();
+      this.currentForgotten = new HashSet<String>();
+      this.previousForgotten = new HashSet<String>();
+      this.rotateFilterAt = currentTimeMillis() + config.getTtlMillis();
+    }
+  }
+
+  /**
+   * @return error to throw for the code, or null when the code is not known to be missing
+   */
+  public VoucherifyError getError(String code) {
+    Object entry = find(code);
+
+    if (entry instanceof VoucherifyError) {
+      absorbedCount.incrementAndGet();
+      return copy((VoucherifyError) entry);
+    }
+    return null;
+  }
+
+  /**
+   * @return failed {@link VoucherValidationResponse} to return for the code, {@link VoucherifyError} to throw for it,
+   * or null when nothing is cached
+   */
+  public Object lookup(String code) {
+    Object entry = find(code);
+
+    if (entry == null) {
+      return null;
+    }
+
+    absorbedCount.incrementAndGet();
+    return entry instanceof VoucherifyError ? copy((VoucherifyError) entry) : entry;
+  }
+
+  /**
+   * @return stamp to take before a request whose outcome is recorded afterwards
+   */
+  public long stamp() {
+    return entries.stamp();
+  }
+
+  /**
+   * Remembers the code when the failure of a call for it is a "not found" API error, ignores other failures and
+   * codes forgotten since the stamp was taken.
+   */
+  public void recordFailure(String code, Throwable failure, long stamp) {
+    VoucherifyError error = notFoundError(failure);
+    if (code == null || error == null) {
+      return;
+    }
+
+    VoucherifyError template = copy(error);
+    synchronized (this) {
+      if (!entries.putIfNotInvalidatedSince(code, template, stamp) || !config.isBloomFilterEnabled()) {
+        return;
+      }
+
+      rotateFilters();
+      notFoundTemplate = template;
+      currentFilter.add(code);
+      currentForgotten.remove(code);
+      previousForgotten.remove(code);
+    }
+  }
+
+  public void recordValidation(String code, VoucherValidationResponse response, long stamp) {
+    if (code != null && response != null && !response.isValid() && reasons.contains(response.getReason())) {
+      entries.putIfNotInvalidatedSince(code, response, stamp);
+    }
+  }
+
+  /**
+   * Forgets the code, e.g. after a voucher with this code was created. Bloom filters cannot remove single codes,
+   * so the code is masked until it leaves them; they are cleared only when too many codes are masked.
+   */
+  public synchronized void forget(String code) {
+    entries.invalidate(code);
+
+    if (config.isBloomFilterEnabled()) {
+      rotateFilters();
+      currentForgotten.add(code);
+
+      if (currentForgotten.size() + previousForgotten.size() > config.getBloomFilterInsertions()) {
+        clearFilters();
+      }
+    }
+  }
+
+  public void clear() {
+    entries.invalidateAll();
+    clearFilters();
+  }
+
+  /**
+   * @return number of calls answered by the cache instead of the API
+   */
+  public long getAbsorbedCount() {
+    return absorbedCount.get();
+  }
+
+  public CacheStats getStats() {
+    return entries.stats();
+  }
+
+  long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  private Object find(String code) {
+    Object entry = entries.get(code);
+    return entry == null && filterContains(code) ? notFoundTemplate : entry;
+  }
+
+  private synchronized boolean filterContains(String code) {
+    if (!config.isBloomFilterEnabled() || notFoundTemplate == null) {
+      return false;
+    }
+
+    rotateFilters();
+    return (currentFilter.mightContain(code) || previousFilter.mightContain(code))
+            && !currentForgotten.contains(code) && !previousForgotten.contains(code);
+  }
+
+  private synchronized void clearFilters() {
+    if (config.isBloomFilterEnabled()) {
+      currentFilter = createFilter();
+      previousFilter = createFilter();
+      currentForgotten = new HashSet<String>();
+      previousForgotten = new HashSet<String>();
+    }
+  }
+
+  /**
+   * Codes stay in the filters for at least one and at most two time-to-live periods. Forgotten codes are masked
+   * for as long as the filters they were forgotten from.
+   */
+  private void rotateFilters() {
+    long now = currentTimeMillis();
+    if (now < rotateFilterAt) {
+      return;
+    }
+
+    boolean keepCurrent = now < rotateFilterAt + config.getTtlMillis();
+    previousFilter = keepCurrent ? currentFilter : createFilter();
+    previousForgotten = keepCurrent ? currentForgotten : new HashSet<String>();
+    currentFilter = createFilter();
+    currentForgotten = new HashSet<String>();
+    rotateFilterAt = now + config.getTtlMillis();
+  }
+
+  private BloomFilter createFilter() {
+    return new BloomFilter(config.getBloomFilterInsertions(), config.getBloomFilterFalsePositiveRate());
+  }
+
+  private static VoucherifyError notFoundError(Throwable failure) {
+    if (failure instanceof RetrofitError) {
+      RetrofitError retrofitError = (RetrofitError) failure;
+      if (retrofitError.getResponse() == null || retrofitError.getResponse().getStatus() != NOT_FOUND) {
+        return null;
+      }
+
+      VoucherifyError error = VoucherifyError.from(failure);
+      return error.getCode() != null ? error : VoucherifyError.from(NOT_FOUND, "Resource not found", null, "not_found");
+    }
+
+    if (failure instanceof VoucherifyError) {
+      VoucherifyError error = (VoucherifyError) failure;
+      return error.getCode() != null && error.getCode() == NOT_FOUND ? error : null;
+    }
+    return null;
+  }
+
+  private static VoucherifyError copy(VoucherifyError error) {
+    return VoucherifyError.from(error.getCode(), error.getMessage(), error.getDetails(), error.getKey());
+  }
+}
@@ -0,0 +1,123 @@
+package io.voucherify.client.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the cache of voucher codes which are not found or cannot be used regardless of the order.
+ */
+@Getter
+@ToString
+public final class NegativeCacheConfig {
+
+  public static final int DEFAULT_MAX_SIZE = 10000;
+  public static final long DEFAULT_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  public static final Set<String> DEFAULT_REASONS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+          "voucher not found", "voucher expired", "voucher is disabled")));
+
+  private final int maxSize;
+
+  private final long ttlMillis;
+
+  private final int bloomFilterInsertions;
+
+  private final double bloomFilterFalsePositiveRate;
+
+  private final Set<String> reasons;
+
+  private NegativeCacheConfig(Builder builder) {
+    this.maxSize = builder.maxSize;
+    this.ttlMillis = builder.ttlMillis;
+    this.bloomFilterInsertions = builder.bloomFilterInsertions;
+    this.bloomFilterFalsePositiveRate = builder.bloomFilterFalsePositiveRate;
+    this.reasons = builder.reasons;
+  }
+
+  public static NegativeCacheConfig defaults() {
+    return new Builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isBloomFilterEnabled() {
+    return bloomFilterInsertions > 0;
+  }
+
+  public static class Builder {
+
+    int maxSize = DEFAULT_MAX_SIZE;
+
+    long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    int bloomFilterInsertions;
+
+    double bloomFilterFalsePositiveRate;
+
+    Set<String> reasons = DEFAULT_REASONS;
+
+    public Builder maxSize(int maxSize) {
+      if (maxSize < 1) {
+        throw new IllegalArgumentException("Cannot call maxSize() with value lower than 1.");
+      }
+
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    public Builder ttl(long ttl, TimeUnit unit) {
+      if (unit == null) {
+        throw new IllegalArgumentException("Cannot call ttl() with null unit.");
+      }
+
+      if (ttl < 1) {
+        throw new IllegalArgumentException("Cannot call ttl() with value lower than 1.");
+      }
+
+      this.ttlMillis = unit.toMillis(ttl);
+      return this;
+    }
+
+    /**
+     * Remembers unknown codes which do not fit into the cache in a bloom filter sized for the expected number of codes.
+     * Codes found only in the filter are answered with a "not found" error, so a small fraction of existing codes,
+     * given by the false positive rate, may be rejected locally for up to two time-to-live periods.
+     */
+    public Builder bloomFilter(int expectedInsertions, double falsePositiveRate) {
+      if (expectedInsertions < 1) {
+        throw new IllegalArgumentException("Cannot call bloomFilter() with value lower than 1.");
+      }
+
+      if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+        throw new IllegalArgumentException("Cannot call bloomFilter() with false positive rate out of (0, 1).");
+      }
+
+      this.bloomFilterInsertions = expectedInsertions;
+      this.bloomFilterFalsePositiveRate = falsePositiveRate;
+      return this;
+    }
+
+    /**
+     * Reasons of failed validations which do not depend on the order or customer and can be cached by code.
+     */
+    public Builder reasons(Set<String> reasons) {
+      if (reasons == null) {
+        throw new IllegalArgumentException("Cannot call reasons() with null.");
+      }
+
+      this.reasons = Collections.unmodifiableSet(new HashSet<String>(reasons));
+      return this;
+    }
+
+    public NegativeCacheConfig build() {
+      return new NegativeCacheConfig(this);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package io.voucherify.client.cache;
+
+import io.voucherify.client.model.product.response.ProductResponse;
+import io.voucherify.client.model.product.response.SKUResponse;
+import io.voucherify.client.model.product.response.SKUsResponse;
+import rx.functions.Func1;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local copy of products and their SKUs. Products are kept by id, SKUs by product and SKU id, and the SKU lists
+ * of products by product id, each in a {@link LocalCache} created from the same {@link CacheConfig}.
+ * The caches share one generation counter, so a single stamp covers all three; a loaded value is dropped only
+ * when its own key was invalidated after the stamp was taken.
+ */
+public final class ProductCatalog {
+
+  private final LocalCache<String, ProductResponse> products;
+
+  private final LocalCache<String, SKUResponse> skus;
+
+  private final LocalCache<String, SKUsResponse> skuLists;
+
+  public ProductCatalog(CacheConfig config) {
+    AtomicLong generations = new AtomicLong();
+    this.products = config.createCache(generations);
+    this.skus = config.createCache(generations);
+    this.skuLists = config.createCache(generations);
+  }
+
+  public ProductResponse getProduct(String productId) {
+    return products.get(productId);
+  }
+
+  public SKUResponse getSKU(String productId, String skuId) {
+    return skus.get(skuKey(productId, skuId));
+  }
+
+  public SKUsResponse getSKUs(String productId) {
+    return skuLists.get(productId);
+  }
+
+  /**
+   * Returns a stamp to be passed to the {@code put} methods, which drop values invalidated since it was taken.
+   */
+  public long stamp() {
+    return products.stamp();
+  }
+
+  /**
+   * Stores the product and the SKUs embedded in it.
+   */
+  public synchronized void putProduct(ProductResponse product, long stamp) {
+    if (product == null || product.getId() == null) {
+      return;
+    }
+
+    if (!products.putIfNotInvalidatedSince(product.getId(), product, stamp)) {
+      return;
+    }
+
+    if (product.getSkus() != null && product.getSkus().getData() != null) {
+      putSKUs(product.getId(), product.getSkus().getData(), stamp);
+    }
+  }
+
+  public synchronized void putSKU(String productId, SKUResponse sku, long stamp) {
+    if (sku == null || sku.getId() == null) {
+      return;
+    }
+
+    skus.putIfNotInvalidatedSince(skuKey(productId, sku.getId()), sku, stamp);
+  }
+
+  public synchronized void putSKUs(String productId, SKUsResponse response, long stamp) {
+    if (response == null || !skuLists.putIfNotInvalidatedSince(productId, response, stamp)) {
+      return;
+    }
+
+    if (response.getSkus() != null) {
+      putSKUs(productId, response.getSkus(), stamp);
+    }
+  }
+
+  /**
+   * Drops the product and its SKU list, e.g. after the product was updated.
+   */
+  public synchronized void invalidateProduct(String productId) {
+    products.invalidate(productId);
+    skuLists.invalidate(productId);
+  }
+
+  /**
+   * Drops the product, its SKU list and all of its SKUs, e.g. after the product was deleted.
+   */
+  public synchronized void removeProduct(final String productId) {
+    invalidateProduct(productId);
+    skus.invalidateIf(new Func1<String, Boolean>() {
+      @Override
+      public Boolean call(String key) {
+        return key.startsWith(skuKey(productId, ""));
+      }
+    });
+  }
+
+  /**
+   * Drops the SKU together with the product and SKU list which embed it.
+   */
+  public synchronized void invalidateSKU(String productId, String skuId) {
+    if (skuId != null) {
+      skus.invalidate(skuKey(productId, skuId));
+    }
+    invalidateProduct(productId);
+  }
+
+  public synchronized void clear() {
+    products.invalidateAll();
+    skus.invalidateAll();
+    skuLists.invalidateAll();
+  }
+
+  public CacheStats getProductStats() {
+    return products.stats();
+  }
+
+  public CacheStats getSKUStats() {
+    return skus.stats();
+  }
+
+  private void putSKUs(String productId, List<SKUResponse> list, long stamp) {
+    for (SKUResponse sku : list) {
+      if (sku != null && sku.getId() != null) {
+        skus.putIfNotInvalidatedSince(skuKey(productId, sku.getId()), sku, stamp);
+      }
+    }
+  }
+
+  private static String skuKey(String productId, String skuId) {
+    return productId + "/" + skuId;
+  }
+}
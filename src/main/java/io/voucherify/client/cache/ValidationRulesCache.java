@@ -0,0 +1,124 @@
+package io.voucherify.client.cache;
+
+import io.voucherify.client.model.validationRules.response.ValidationRulesResponse;
+import io.voucherify.client.validation.CompiledValidationRules;
+import io.voucherify.client.validation.ValidationRulesCompiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled validation rules by rule id, with secondary lookups by the voucher code and campaign name the rules
+ * are assigned to. The secondary lookups only know rules which were loaded through this cache. The caches share one
+ * generation counter, so a single stamp covers all of them.
+ */
+public final class ValidationRulesCache {
+
+  private static final String NO_RULES = "";
+
+  private final LocalCache<String, CompiledValidationRules> byId;
+
+  private final LocalCache<String, String> idsByVoucherCode;
+
+  private final LocalCache<String, String> idsByCampaignName;
+
+  public ValidationRulesCache(CacheConfig config) {
+    AtomicLong generations = new AtomicLong();
+    this.byId = config.createCache(generations);
+    this.idsByVoucherCode = config.createCache(generations);
+    this.idsByCampaignName = config.createCache(generations);
+  }
+
+  public CompiledValidationRules get(String id) {
+    return byId.get(id);
+  }
+
+  public CompiledValidationRules getForVoucher(String code) {
+    String id = idsByVoucherCode.get(code);
+    return id != null ? byId.get(id) : null;
+  }
+
+  public CompiledValidationRules getForCampaign(String name) {
+    String id = idsByCampaignName.get(name);
+    return id != null ? byId.get(id) : null;
+  }
+
+  /**
+   * @return true when the campaign was stored with {@link #putForCampaign(String, ValidationRulesResponse, long)}
+   * as having no rules
+   */
+  public boolean isCampaignWithoutRules(String name) {
+    return NO_RULES.equals(idsByCampaignName.get(name));
+  }
+
+  public long stamp() {
+    return byId.stamp();
+  }
+
+  /**
+   * Compiles and stores the rules unless they were invalidated since the stamp was taken.
+   *
+   * @return compiled rules, also when they were not stored
+   */
+  public synchronized CompiledValidationRules put(ValidationRulesResponse rules, long stamp) {
+    CompiledValidationRules compiled = ValidationRulesCompiler.compile(rules);
+    store(compiled, stamp);
+    return compiled;
+  }
+
+  /**
+   * Same as {@link #put(ValidationRulesResponse, long)} for rules embedded in a campaign, which are also stored under
+   * the campaign name whether or not they carry it. Null rules are stored as the campaign having none.
+   *
+   * @return compiled rules, also when they were not stored, or null when there are no rules
+   */
+  public synchronized CompiledValidationRules putForCampaign(String name, ValidationRulesResponse rules, long stamp) {
+    if (rules == null) {
+      idsByCampaignName.putIfNotInvalidatedSince(name, NO_RULES, stamp);
+      return null;
+    }
+
+    CompiledValidationRules compiled = ValidationRulesCompiler.compile(rules);
+    if (store(compiled, stamp)) {
+      idsByCampaignName.putIfNotInvalidatedSince(name, compiled.getId(), stamp);
+    }
+    return compiled;
+  }
+
+  public synchronized void invalidate(String id) {
+    CompiledValidationRules previous = byId.invalidate(id);
+
+    if (previous != null && previous.getVoucherCode() != null) {
+      idsByVoucherCode.invalidate(previous.getVoucherCode());
+    }
+
+    if (previous != null && previous.getCampaignName() != null) {
+      idsByCampaignName.invalidate(previous.getCampaignName());
+    }
+  }
+
+  /**
+   * Forgets which rules are assigned to the campaign, e.g. after rules were created for it.
+   */
+  public synchronized void invalidateCampaign(String name) {
+    idsByCampaignName.invalidate(name);
+  }
+
+  public CacheStats getStats() {
+    return byId.stats();
+  }
+
+  private boolean store(CompiledValidationRules compiled, long stamp) {
+    if (compiled.getId() == null || !byId.putIfNotInvalidatedSince(compiled.getId(), compiled, stamp)) {
+      return false;
+    }
+
+    if (compiled.getVoucherCode() != null) {
+      idsByVoucherCode.putIfNotInvalidatedSince(compiled.getVoucherCode(), compiled.getId(), stamp);
+    }
+
+    if (compiled.getCampaignName() != null) {
+      idsByCampaignName.putIfNotInvalidatedSince(compiled.getCampaignName(), compiled.getId(), stamp);
+    }
+    return true;
+  }
+}
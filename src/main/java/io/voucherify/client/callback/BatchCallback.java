@@ -0,0 +1,15 @@
+package io.voucherify.client.callback;
+
+import io.voucherify.client.bulk.BatchItemResult;
+
+/**
+ * Receives results of a batch in the order they complete. All methods are called on the thread which started
+ * the batch.
+ */
+public abstract class BatchCallback<R> {
+
+  public abstract void onResult(BatchItemResult<R> result);
+
+  public void onProgress(int completedItems, int totalItems) {}
+
+}
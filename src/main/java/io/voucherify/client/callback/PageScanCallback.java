@@ -0,0 +1,14 @@
+package io.voucherify.client.callback;
+
+import java.util.List;
+
+/**
+ * Receives pages of a parallel list scan. All methods are called on the thread which started the scan.
+ */
+public abstract class PageScanCallback<T> {
+
+  public abstract void onPage(int page, List<T> items);
+
+  public void onProgress(int completedPages, int totalPages) {}
+
+}
@@ -0,0 +1,277 @@
+package io.voucherify.client.callback;
+
+import io.voucherify.client.error.VoucherifyError;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Result of an asynchronous call which can be composed with other calls without blocking a thread.
+ * Callbacks registered without an executor run on the thread which completed the call (usually an I/O thread),
+ * so they should be short and must not block. A callback which throws does not affect other callbacks.
+ */
+public final class VoucherifyFuture<T> implements Future<T> {
+
+  private final CountDownLatch latch = new CountDownLatch(1);
+
+  private final List<Runnable> listeners = new ArrayList<Runnable>();
+
+  private T result;
+
+  private VoucherifyError error;
+
+  private boolean completed;
+
+  private boolean cancelled;
+
+  public static <T> VoucherifyFuture<T> completed(T value) {
+    VoucherifyFuture<T> future = new VoucherifyFuture<T>();
+    future.set(value);
+    return future;
+  }
+
+  public static <T> VoucherifyFuture<T> failed(Throwable throwable) {
+    VoucherifyFuture<T> future = new VoucherifyFuture<T>();
+    future.setError(throwable);
+    return future;
+  }
+
+  /**
+   * Completes with the list of all results, in the order of given futures, or with the first error.
+   */
+  public static <T> VoucherifyFuture<List<T>> allOf(List<VoucherifyFuture<T>> futures) {
+    final VoucherifyFuture<List<T>> combined = new VoucherifyFuture<List<T>>();
+    final List<T> results = new ArrayList<T>(Collections.<T>nCopies(futures.size(), null));
+    final AtomicInteger remaining = new AtomicInteger(futures.size());
+
+    if (futures.isEmpty()) {
+      combined.set(results);
+      return combined;
+    }
+
+    for (int i = 0; i < futures.size(); i++) {
+      final int index = i;
+      futures.get(i).addCallback(new VoucherifyCallback<T>() {
+        @Override
+        public void onSuccess(T result) {
+          synchronized (results) {
+            results.set(index, result);
+          }
+
+          if (remaining.decrementAndGet() == 0) {
+            combined.set(results);
+          }
+        }
+
+        @Override
+        public void onFailure(VoucherifyError error) {
+          combined.setError(error);
+        }
+      });
+    }
+    return combined;
+  }
+
+  public boolean set(T value) {
+    return complete(value, null, false);
+  }
+
+  public boolean setError(Throwable throwable) {
+    return complete(null, toError(throwable), false);
+  }
+
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    return complete(null, VoucherifyError.from(new CancellationException("Call was cancelled")), true);
+  }
+
+  @Override
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  @Override
+  public synchronized boolean isDone() {
+    return completed;
+  }
+
+  @Override
+  public T get() throws InterruptedException, ExecutionException {
+    latch.await();
+    return getResult();
+  }
+
+  @Override
+  public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+    if (!latch.await(timeout, unit)) {
+      throw new TimeoutException();
+    }
+    return getResult();
+  }
+
+  /**
+   * Calls the callback on the thread which completes this future, or immediately if it is already done.
+   */
+  public VoucherifyFuture<T> addCallback(final VoucherifyCallback<T> callback) {
+    addListener(new Runnable() {
+      @Override
+      public void run() {
+        deliver(callback);
+      }
+    });
+    return this;
+  }
+
+  public VoucherifyFuture<T> addCallback(final VoucherifyCallback<T> callback, final Executor executor) {
+    addListener(new Runnable() {
+      @Override
+      public void run() {
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            deliver(callback);
+          }
+        });
+      }
+    });
+    return this;
+  }
+
+  public <R> VoucherifyFuture<R> map(final Func1<? super T, ? extends R> function) {
+    final VoucherifyFuture<R> mapped = new VoucherifyFuture<R>();
+    addCallback(new VoucherifyCallback<T>() {
+      @Override
+      public void onSuccess(T result) {
+        try {
+          mapped.set(function.call(result));
+        } catch (RuntimeException e) {
+          mapped.setError(e);
+        }
+      }
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        mapped.setError(error);
+      }
+    });
+    return mapped;
+  }
+
+  public <R> VoucherifyFuture<R> flatMap(final Func1<? super T, VoucherifyFuture<R>> function) {
+    final VoucherifyFuture<R> flattened = new VoucherifyFuture<R>();
+    addCallback(new VoucherifyCallback<T>() {
+      @Override
+      public void onSuccess(T result) {
+        VoucherifyFuture<R> next;
+        try {
+          next = function.call(result);
+        } catch (RuntimeException e) {
+          flattened.setError(e);
+          return;
+        }
+
+        next.addCallback(new VoucherifyCallback<R>() {
+          @Override
+          public void onSuccess(R result) {
+            flattened.set(result);
+          }
+
+          @Override
+          public void onFailure(VoucherifyError error) {
+            flattened.setError(error);
+          }
+        });
+      }
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        flattened.setError(error);
+      }
+    });
+    return flattened;
+  }
+
+  private boolean complete(T value, VoucherifyError failure, boolean cancel) {
+    List<Runnable> toNotify;
+    synchronized (this) {
+      if (completed) {
+        return false;
+      }
+      this.result = value;
+      this.error = failure;
+      this.cancelled = cancel;
+      this.completed = true;
+      toNotify = new ArrayList<Runnable>(listeners);
+      listeners.clear();
+    }
+
+    latch.countDown();
+    for (Runnable listener : toNotify) {
+      runListener(listener);
+    }
+    return true;
+  }
+
+  private void addListener(Runnable listener) {
+    synchronized (this) {
+      if (!completed) {
+        listeners.add(listener);
+        return;
+      }
+    }
+    runListener(listener);
+  }
+
+  /**
+   * Runs the listener, handing its failure to the uncaught exception handler of the current thread, so it does not
+   * keep other listeners and dependent futures from completing.
+   */
+  private static void runListener(Runnable listener) {
+    try {
+      listener.run();
+    } catch (RuntimeException e) {
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+  }
+
+  private void deliver(VoucherifyCallback<T> callback) {
+    if (callback.isCancelled()) {
+      return;
+    }
+
+    if (error == null) {
+      callback.onSuccess(result);
+    } else {
+      callback.onFailure(error);
+    }
+  }
+
+  private synchronized T getResult() throws ExecutionException {
+    if (cancelled) {
+      throw new CancellationException();
+    }
+
+    if (error != null) {
+      throw new ExecutionException(error);
+    }
+    return result;
+  }
+
+  private static VoucherifyError toError(Throwable throwable) {
+    if (throwable instanceof VoucherifyError) {
+      return (VoucherifyError) throwable;
+    }
+    return VoucherifyError.from(throwable);
+  }
+}
@@ -37,6 +37,10 @@ public class VoucherifyError extends RuntimeException {
   }
 
   public static VoucherifyError from(Throwable throwable) {
+    if (throwable instanceof VoucherifyError) {
+      return (VoucherifyError) throwable;
+    }
+
     if (throwable instanceof RetrofitError) {
       RetrofitError retrofitError = (RetrofitError) throwable;
       Kind kind = retrofitError.getKind();
@@ -56,4 +60,11 @@ public class VoucherifyError extends RuntimeException {
     return new VoucherifyError(message);
   }
 
+  /**
+   * Creates an error which the client answers itself, e.g. from a cache, with the same fields as an API error.
+   */
+  public static VoucherifyError from(Integer code, String message, String details, String key) {
+    return new VoucherifyError(new WrappedError(code, details, key, message), null);
+  }
+
 }
@@ -0,0 +1,219 @@
+package io.voucherify.client.http;
+
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Client which asks for gzipped responses and decodes them while they are read, so the converter parses the
+ * decompressed stream without buffering the body. Optionally gzips request bodies. Counts the bytes of encoded
+ * bodies before and after compression.
+ */
+public class CompressingClient implements Client {
+
+  static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+  static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+  static final String HEADER_CONTENT_LENGTH = "Content-Length";
+  static final String GZIP = "gzip";
+
+  private final Client.Provider delegate;
+
+  private final CompressionConfig config;
+
+  private final AtomicLong responseBytesReceived = new AtomicLong();
+
+  private final AtomicLong responseBytesDecoded = new AtomicLong();
+
+  private final AtomicLong requestBytesEncoded = new AtomicLong();
+
+  private final AtomicLong requestBytesSent = new AtomicLong();
+
+  public CompressingClient(Client.Provider delegate, CompressionConfig config) {
+    this.delegate = delegate;
+    this.config = config;
+  }
+
+  @Override
+  public Response execute(Request request) throws IOException {
+    return decode(delegate.get().execute(encode(request)));
+  }
+
+  public CompressionStats getStats() {
+    return new CompressionStats(responseBytesReceived.get(), responseBytesDecoded.get(),
+            requestBytesEncoded.get(), requestBytesSent.get());
+  }
+
+  private Request encode(Request request) {
+    List<Header> headers = new ArrayList<Header>(request.getHeaders());
+    headers.add(new Header(HEADER_ACCEPT_ENCODING, GZIP));
+
+    TypedOutput body = request.getBody();
+    if (body == null || !shouldCompress(body)) {
+      return new Request(request.getMethod(), request.getUrl(), headers, body);
+    }
+
+    headers.add(new Header(HEADER_CONTENT_ENCODING, GZIP));
+    return new Request(request.getMethod(), request.getUrl(), headers, new GzipTypedOutput(body));
+  }
+
+  private boolean shouldCompress(TypedOutput body) {
+    if (!config.isRequestCompressionEnabled()) {
+      return false;
+    }
+
+    long length = body.length();
+    return length < 0 || length >= config.getRequestCompressionThreshold();
+  }
+
+  private Response decode(Response response) {
+    if (response.getBody() == null || !GZIP.equalsIgnoreCase(header(response.getHeaders(), HEADER_CONTENT_ENCODING))) {
+      return response;
+    }
+
+    List<Header> headers = new ArrayList<Header>();
+    for (Header header : response.getHeaders()) {
+      if (!HEADER_CONTENT_ENCODING.equalsIgnoreCase(header.getName())
+              && !HEADER_CONTENT_LENGTH.equalsIgnoreCase(header.getName())) {
+        headers.add(header);
+      }
+    }
+    return new Response(response.getUrl(), response.getStatus(), response.getReason(), headers,
+            new GzipTypedInput(response.getBody()));
+  }
+
+  private static String header(List<Header> headers, String name) {
+    for (Header header : headers) {
+      if (name.equalsIgnoreCase(header.getName())) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  private class GzipTypedInput implements TypedInput {
+
+    private final TypedInput body;
+
+    private GzipTypedInput(TypedInput body) {
+      this.body = body;
+    }
+
+    @Override
+    public String mimeType() {
+      return body.mimeType();
+    }
+
+    @Override
+    public long length() {
+      return -1;
+    }
+
+    @Override
+    public InputStream in() throws IOException {
+      InputStream received = new CountingInputStream(body.in(), responseBytesReceived);
+      return new CountingInputStream(new GZIPInputStream(received), responseBytesDecoded);
+    }
+  }
+
+  private class GzipTypedOutput implements TypedOutput {
+
+    private final TypedOutput body;
+
+    private GzipTypedOutput(TypedOutput body) {
+      this.body = body;
+    }
+
+    @Override
+    public String fileName() {
+      return body.fileName();
+    }
+
+    @Override
+    public String mimeType() {
+      return body.mimeType();
+    }
+
+    @Override
+    public long length() {
+      return -1;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      GZIPOutputStream gzip = new GZIPOutputStream(new CountingOutputStream(out, requestBytesSent));
+      body.writeTo(new CountingOutputStream(gzip, requestBytesEncoded));
+      gzip.finish();
+    }
+  }
+
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private final AtomicLong count;
+
+    private CountingInputStream(InputStream in, AtomicLong count) {
+      super(in);
+      this.count = count;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int result = super.read();
+      if (result >= 0) {
+        count.incrementAndGet();
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int result = super.read(b, off, len);
+      if (result > 0) {
+        count.addAndGet(result);
+      }
+      return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long result = super.skip(n);
+      count.addAndGet(result);
+      return result;
+    }
+  }
+
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    private final AtomicLong count;
+
+    private CountingOutputStream(OutputStream out, AtomicLong count) {
+      super(out);
+      this.count = count;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count.incrementAndGet();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count.addAndGet(len);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package io.voucherify.client.http;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Compression settings of {@link CompressingClient}. Responses are always requested and decoded as gzip; request
+ * bodies are compressed only when enabled with {@link Builder#compressRequests(long)}.
+ */
+@Getter
+@ToString
+public final class CompressionConfig {
+
+  private final long requestCompressionThreshold;
+
+  private CompressionConfig(Builder builder) {
+    this.requestCompressionThreshold = builder.requestCompressionThreshold;
+  }
+
+  public static CompressionConfig defaults() {
+    return new Builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isRequestCompressionEnabled() {
+    return requestCompressionThreshold >= 0;
+  }
+
+  public static class Builder {
+
+    long requestCompressionThreshold = -1;
+
+    /**
+     * Sends request bodies of at least the given size gzipped, with {@code Content-Encoding: gzip}. Bodies of
+     * unknown size, e.g. streamed imports, are always compressed.
+     */
+    public Builder compressRequests(long minBytes) {
+      if (minBytes < 0) {
+        throw new IllegalArgumentException("Cannot call compressRequests() with negative value.");
+      }
+
+      this.requestCompressionThreshold = minBytes;
+      return this;
+    }
+
+    public CompressionConfig build() {
+      return new CompressionConfig(this);
+    }
+  }
+}
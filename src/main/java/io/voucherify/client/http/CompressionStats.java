@@ -0,0 +1,30 @@
+package io.voucherify.client.http;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Byte counts of compressed bodies: as transferred and as produced or consumed by the client.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public final class CompressionStats {
+
+  private final long responseBytesReceived;
+
+  private final long responseBytesDecoded;
+
+  private final long requestBytesEncoded;
+
+  private final long requestBytesSent;
+
+  public long getResponseBytesSaved() {
+    return responseBytesDecoded - responseBytesReceived;
+  }
+
+  public long getRequestBytesSaved() {
+    return requestBytesEncoded - requestBytesSent;
+  }
+}
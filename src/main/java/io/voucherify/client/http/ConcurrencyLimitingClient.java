@@ -0,0 +1,92 @@
+package io.voucherify.client.http;
+
+import retrofit.client.Client;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Client which lets at most {@code maxRequests} requests, and at most {@code maxRequestsPerHost} requests to one host,
+ * run at once. Calling threads over a limit wait for a permit. A request holds its permits until the delegate returns
+ * the response, that is until its headers are read; reading the body is not counted.
+ */
+public class ConcurrencyLimitingClient implements Client {
+
+  private final Client delegate;
+
+  private final Semaphore requests;
+
+  private final int maxRequestsPerHost;
+
+  private final ConcurrentMap<String, Semaphore> requestsPerHost = new ConcurrentHashMap<String, Semaphore>();
+
+  public ConcurrencyLimitingClient(Client delegate, int maxRequests, int maxRequestsPerHost) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Delegate client must be defined.");
+    }
+
+    if (maxRequests < 1 || maxRequestsPerHost < 1) {
+      throw new IllegalArgumentException("Request limits must be greater than 0.");
+    }
+
+    this.delegate = delegate;
+    this.requests = new Semaphore(maxRequests, true);
+    this.maxRequestsPerHost = maxRequestsPerHost;
+  }
+
+  @Override
+  public Response execute(Request request) throws IOException {
+    Semaphore hostRequests = hostRequests(request.getUrl());
+
+    acquire(hostRequests);
+    try {
+      acquire(requests);
+      try {
+        return delegate.execute(request);
+      } finally {
+        requests.release();
+      }
+    } finally {
+      hostRequests.release();
+    }
+  }
+
+  private Semaphore hostRequests(String url) {
+    String host = host(url);
+    Semaphore semaphore = requestsPerHost.get(host);
+
+    if (semaphore == null) {
+      Semaphore created = new Semaphore(maxRequestsPerHost, true);
+      semaphore = requestsPerHost.putIfAbsent(host, created);
+
+      if (semaphore == null) {
+        semaphore = created;
+      }
+    }
+    return semaphore;
+  }
+
+  /**
+   * @return scheme, host and port of the url
+   */
+  static String host(String url) {
+    int start = url.indexOf("://");
+    start = start < 0 ? 0 : start + 3;
+    int end = url.indexOf('/', start);
+    return end < 0 ? url : url.substring(0, end);
+  }
+
+  private static void acquire(Semaphore semaphore) throws InterruptedIOException {
+    try {
+      semaphore.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a request permit.");
+    }
+  }
+}
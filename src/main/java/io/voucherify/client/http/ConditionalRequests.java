@@ -0,0 +1,167 @@
+package io.voucherify.client.http;
+
+import io.voucherify.client.cache.CacheConfig;
+import io.voucherify.client.cache.CacheStats;
+import io.voucherify.client.cache.LocalCache;
+import io.voucherify.client.error.VoucherifyError;
+import retrofit.RetrofitError;
+import retrofit.client.Header;
+import retrofit.client.Response;
+import retrofit.converter.ConversionException;
+import retrofit.converter.Converter;
+
+import java.lang.reflect.Type;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revalidates previously read resources with conditional GETs. The parsed resource is kept together with its
+ * validators: the ETag and Last-Modified response headers or, when the API sends neither, the {@code updated_at}
+ * of the resource. When the API answers 304 Not Modified the kept resource is returned without reading any body.
+ */
+public final class ConditionalRequests {
+
+  static final String HEADER_ETAG = "ETag";
+  static final String HEADER_LAST_MODIFIED = "Last-Modified";
+  private static final int NOT_MODIFIED = 304;
+  private static final String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+  private final Converter converter;
+
+  private final LocalCache<String, Revision> revisions;
+
+  private final AtomicLong notModifiedCount = new AtomicLong();
+
+  public ConditionalRequests(Converter converter, CacheConfig config) {
+    this.converter = converter;
+    this.revisions = config.createCache();
+  }
+
+  /**
+   * @param key identifies the resource, e.g. its path, and must always map to resources of the same type
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key, Type type, Request<T> request) {
+    Revision revision = revisions.get(key);
+    long stamp = revisions.stamp();
+    Response response;
+
+    try {
+      response = revision != null ? request.execute(revision.etag, revision.lastModified) : request.execute(null, null);
+    } catch (RuntimeException e) {
+      if (revision != null && isNotModified(e)) {
+        notModifiedCount.incrementAndGet();
+        return (T) revision.value;
+      }
+      throw e;
+    }
+
+    T value = parse(response, type);
+    String etag = header(response, HEADER_ETAG);
+    String lastModified = header(response, HEADER_LAST_MODIFIED);
+
+    if (lastModified == null && etag == null) {
+      Date updatedAt = request.updatedAt(value);
+      lastModified = updatedAt != null ? formatHttpDate(updatedAt) : null;
+    }
+
+    if (etag != null || lastModified != null) {
+      revisions.putIfNotInvalidatedSince(key, new Revision(value, etag, lastModified), stamp);
+    } else {
+      revisions.invalidate(key);
+    }
+    return value;
+  }
+
+  /**
+   * Drops the kept resource, so the next read fetches it in full. Called when the resource is changed or deleted.
+   */
+  public void invalidate(String key) {
+    revisions.invalidate(key);
+  }
+
+  /**
+   * @return number of reads answered with 304 Not Modified
+   */
+  public long getNotModifiedCount() {
+    return notModifiedCount.get();
+  }
+
+  /**
+   * @return statistics of the kept resources, where a hit is a read which could be revalidated
+   */
+  public CacheStats getStats() {
+    return revisions.stats();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T parse(Response response, Type type) {
+    if (response.getBody() == null) {
+      return null;
+    }
+
+    try {
+      return (T) converter.fromBody(response.getBody(), type);
+    } catch (ConversionException e) {
+      throw VoucherifyError.from(e);
+    }
+  }
+
+  private static boolean isNotModified(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof RetrofitError) {
+        Response response = ((RetrofitError) cause).getResponse();
+        return response != null && response.getStatus() == NOT_MODIFIED;
+      }
+    }
+    return false;
+  }
+
+  private static String header(Response response, String name) {
+    for (Header header : response.getHeaders()) {
+      if (name.equalsIgnoreCase(header.getName())) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static String formatHttpDate(Date date) {
+    SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US);
+    format.setTimeZone(TimeZone.getTimeZone("GMT"));
+    return format.format(date);
+  }
+
+  /**
+   * Performs the GET, sending the validators as If-None-Match and If-Modified-Since headers when they are not null.
+   */
+  public abstract static class Request<T> {
+
+    public abstract Response execute(String ifNoneMatch, String ifModifiedSince);
+
+    /**
+     * @return modification time of the resource used when the API sends no validators, null by default
+     */
+    protected Date updatedAt(T value) {
+      return null;
+    }
+  }
+
+  private static final class Revision {
+
+    private final Object value;
+
+    private final String etag;
+
+    private final String lastModified;
+
+    private Revision(Object value, String etag, String lastModified) {
+      this.value = value;
+      this.etag = etag;
+      this.lastModified = lastModified;
+    }
+  }
+}
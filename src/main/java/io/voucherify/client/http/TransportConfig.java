@@ -0,0 +1,183 @@
+package io.voucherify.client.http;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+import lombok.Getter;
+import lombok.ToString;
+import retrofit.client.Client;
+import retrofit.client.OkClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection settings of the HTTP transport used by {@link io.voucherify.client.VoucherifyClient}.
+ * All requests made by a single client share one connection pool, so keep-alive connections
+ * (and their TLS sessions) are reused between calls instead of being opened per request.
+ * <p>
+ * Retrofit makes synchronous calls, which OkHttp's dispatcher does not limit, so {@code maxRequests} and
+ * {@code maxRequestsPerHost} are enforced by the {@link ConcurrencyLimitingClient} returned by {@link #createClient()}.
+ */
+@Getter
+@ToString
+public final class TransportConfig {
+
+  public static final int DEFAULT_MAX_REQUESTS = 64;
+  public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 16;
+  public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 16;
+  public static final long DEFAULT_KEEP_ALIVE_DURATION_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  public static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+  public static final long DEFAULT_READ_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  public static final long DEFAULT_WRITE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final int maxRequests;
+
+  private final int maxRequestsPerHost;
+
+  private final int maxIdleConnections;
+
+  private final long keepAliveDurationMillis;
+
+  private final long connectTimeoutMillis;
+
+  private final long readTimeoutMillis;
+
+  private final long writeTimeoutMillis;
+
+  private final ConnectionPool connectionPool;
+
+  private TransportConfig(Builder builder) {
+    this.maxRequests = builder.maxRequests;
+    this.maxRequestsPerHost = builder.maxRequestsPerHost;
+    this.maxIdleConnections = builder.maxIdleConnections;
+    this.keepAliveDurationMillis = builder.keepAliveDurationMillis;
+    this.connectTimeoutMillis = builder.connectTimeoutMillis;
+    this.readTimeoutMillis = builder.readTimeoutMillis;
+    this.writeTimeoutMillis = builder.writeTimeoutMillis;
+    this.connectionPool = builder.connectionPool != null
+            ? builder.connectionPool
+            : new ConnectionPool(builder.maxIdleConnections, builder.keepAliveDurationMillis);
+  }
+
+  public static TransportConfig defaults() {
+    return new Builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return client which sends requests through {@link #createHttpClient()} within the configured request limits
+   */
+  public Client createClient() {
+    return new ConcurrencyLimitingClient(new OkClient(createHttpClient()), maxRequests, maxRequestsPerHost);
+  }
+
+  public OkHttpClient createHttpClient() {
+    OkHttpClient client = new OkHttpClient();
+    client.setConnectionPool(connectionPool);
+    client.setConnectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS);
+    client.setReadTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS);
+    client.setWriteTimeout(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+    return client;
+  }
+
+  public static class Builder {
+
+    int maxRequests = DEFAULT_MAX_REQUESTS;
+
+    int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    long keepAliveDurationMillis = DEFAULT_KEEP_ALIVE_DURATION_MILLIS;
+
+    long connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+
+    long readTimeoutMillis = DEFAULT_READ_TIMEOUT_MILLIS;
+
+    long writeTimeoutMillis = DEFAULT_WRITE_TIMEOUT_MILLIS;
+
+    ConnectionPool connectionPool;
+
+    public Builder maxRequests(int maxRequests) {
+      if (maxRequests < 1) {
+        throw new IllegalArgumentException("Cannot call maxRequests() with value lower than 1.");
+      }
+
+      this.maxRequests = maxRequests;
+      return this;
+    }
+
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      if (maxRequestsPerHost < 1) {
+        throw new IllegalArgumentException("Cannot call maxRequestsPerHost() with value lower than 1.");
+      }
+
+      this.maxRequestsPerHost = maxRequestsPerHost;
+      return this;
+    }
+
+    public Builder maxIdleConnections(int maxIdleConnections) {
+      if (maxIdleConnections < 0) {
+        throw new IllegalArgumentException("Cannot call maxIdleConnections() with negative value.");
+      }
+
+      this.maxIdleConnections = maxIdleConnections;
+      return this;
+    }
+
+    public Builder keepAliveDuration(long duration, TimeUnit unit) {
+      this.keepAliveDurationMillis = toMillis("keepAliveDuration", duration, unit);
+      return this;
+    }
+
+    public Builder connectTimeout(long timeout, TimeUnit unit) {
+      this.connectTimeoutMillis = toMillis("connectTimeout", timeout, unit);
+      return this;
+    }
+
+    public Builder readTimeout(long timeout, TimeUnit unit) {
+      this.readTimeoutMillis = toMillis("readTimeout", timeout, unit);
+      return this;
+    }
+
+    public Builder writeTimeout(long timeout, TimeUnit unit) {
+      this.writeTimeoutMillis = toMillis("writeTimeout", timeout, unit);
+      return this;
+    }
+
+    /**
+     * Shares an existing pool between several clients, e.g. clients created for different applications.
+     * When set, {@link #maxIdleConnections(int)} and {@link #keepAliveDuration(long, TimeUnit)} are ignored.
+     */
+    public Builder connectionPool(ConnectionPool connectionPool) {
+      if (connectionPool == null) {
+        throw new IllegalArgumentException("Cannot call connectionPool() with null.");
+      }
+
+      this.connectionPool = connectionPool;
+      return this;
+    }
+
+    public TransportConfig build() {
+      if (maxRequestsPerHost > maxRequests) {
+        throw new IllegalArgumentException("maxRequestsPerHost cannot be greater than maxRequests.");
+      }
+
+      return new TransportConfig(this);
+    }
+
+    private static long toMillis(String name, long value, TimeUnit unit) {
+      if (unit == null) {
+        throw new IllegalArgumentException("Cannot call " + name + "() with null unit.");
+      }
+
+      if (value < 0) {
+        throw new IllegalArgumentException("Cannot call " + name + "() with negative value.");
+      }
+
+      return unit.toMillis(value);
+    }
+  }
+}
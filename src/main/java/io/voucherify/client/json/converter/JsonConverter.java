@@ -5,6 +5,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import retrofit.client.Response;
 import retrofit.converter.ConversionException;
 import retrofit.converter.Converter;
 import retrofit.mime.TypedByteArray;
@@ -12,8 +14,15 @@ import retrofit.mime.TypedInput;
 import retrofit.mime.TypedOutput;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class JsonConverter implements Converter {
 
@@ -21,15 +30,31 @@ public class JsonConverter implements Converter {
 
   private final ObjectMapper objectMapper;
 
+  private final Set<Class<?>> streamedTypes;
+
+  private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<Type, ObjectReader>();
+
   public JsonConverter(ObjectMapper objectMapper) {
+    this(objectMapper, Collections.<Class<?>>emptySet());
+  }
+
+  /**
+   * @param streamedTypes body types, usually big imports, which are serialized straight into the request stream
+   *                      instead of being buffered to compute their length
+   */
+  public JsonConverter(ObjectMapper objectMapper, Class<?>... streamedTypes) {
+    this(objectMapper, new HashSet<Class<?>>(Arrays.asList(streamedTypes)));
+  }
+
+  private JsonConverter(ObjectMapper objectMapper, Set<Class<?>> streamedTypes) {
     this.objectMapper = objectMapper;
+    this.streamedTypes = streamedTypes;
   }
 
   @Override
   public Object fromBody(TypedInput body, Type type) throws ConversionException {
     try {
-      JavaType javaType = objectMapper.getTypeFactory().constructType(type);
-      return objectMapper.readValue(body.in(), javaType);
+      return readerFor(type).readValue(body.in());
     } catch (JsonParseException e) {
       throw new ConversionException(e);
     } catch (JsonMappingException e) {
@@ -39,15 +64,74 @@ public class JsonConverter implements Converter {
     }
   }
 
+  /**
+   * Resolves and caches readers for the return types of all methods of the given Retrofit service,
+   * so the deserializers are built up front instead of on the first response of each type. Methods returning
+   * the raw {@link Response} are skipped.
+   */
+  public void warmUp(Class<?> service) {
+    for (Method method : service.getMethods()) {
+      Type type = method.getGenericReturnType();
+
+      if (type != void.class && type != Void.class && type != Response.class) {
+        readerFor(type);
+      }
+    }
+  }
+
+  private ObjectReader readerFor(Type type) {
+    ObjectReader reader = readers.get(type);
+
+    if (reader == null) {
+      JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+      ObjectReader created = objectMapper.reader(javaType);
+      reader = readers.putIfAbsent(type, created);
+
+      if (reader == null) {
+        reader = created;
+      }
+    }
+    return reader;
+  }
+
+  /**
+   * @return number of bytes of the JSON form of the object, computed without keeping the serialized bytes
+   */
+  public long sizeOf(Object object) {
+    CountingOutputStream out = new CountingOutputStream();
+    try {
+      objectMapper.writeValue(out, object);
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+    return out.count;
+  }
+
   @Override
   public TypedOutput toBody(Object object) {
+    if (object != null && streamedTypes.contains(object.getClass())) {
+      return new JsonTypedOutput(objectMapper, object, MIME_TYPE);
+    }
+
     try {
-      String json = objectMapper.writeValueAsString(object);
-      return new TypedByteArray(MIME_TYPE, json.getBytes("UTF-8"));
+      return new TypedByteArray(MIME_TYPE, objectMapper.writeValueAsBytes(object));
     } catch (JsonProcessingException e) {
       throw new AssertionError(e);
-    } catch (UnsupportedEncodingException e) {
-      throw new AssertionError(e);
+    }
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
     }
   }
 }
@@ -0,0 +1,55 @@
+package io.voucherify.client.json.converter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import retrofit.mime.TypedOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Request body which serializes the object straight into the HTTP output stream. The payload is never
+ * materialized in memory; Jackson's recycled buffers are the only allocation. The length is unknown up front,
+ * so the body is sent with chunked transfer encoding.
+ */
+public class JsonTypedOutput implements TypedOutput {
+
+  private final ObjectMapper objectMapper;
+
+  private final Object object;
+
+  private final String mimeType;
+
+  public JsonTypedOutput(ObjectMapper objectMapper, Object object, String mimeType) {
+    this.objectMapper = objectMapper;
+    this.object = object;
+    this.mimeType = mimeType;
+  }
+
+  @Override
+  public String fileName() {
+    return null;
+  }
+
+  @Override
+  public String mimeType() {
+    return mimeType;
+  }
+
+  @Override
+  public long length() {
+    return -1;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    try {
+      objectMapper.writeValue(generator, object);
+    } finally {
+      generator.close();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package io.voucherify.client.json.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import io.voucherify.client.ApiVersion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a list response in a single pass over the token stream. Items are deserialized one by one
+ * straight into the resulting list, without building an intermediate tree or array.
+ */
+public abstract class AbstractListResponseDeserializer<T, E> extends JsonDeserializer<T> {
+
+  private final ApiVersion apiVersion;
+
+  private final Class<E> itemType;
+
+  private final String itemsField;
+
+  protected AbstractListResponseDeserializer(ApiVersion apiVersion, Class<E> itemType, String itemsField) {
+    this.apiVersion = apiVersion;
+    this.itemType = itemType;
+    this.itemsField = itemsField;
+  }
+
+  @Override
+  public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+    if (apiVersion == null) {
+      return createResponse(readItems(jp, ctxt));
+    }
+
+    switch (apiVersion) {
+      case V_2017_04_05:
+      case V_2017_04_20:
+        return readListObject(jp, ctxt);
+      default:
+        return createResponse(readItems(jp, ctxt));
+    }
+  }
+
+  protected abstract T createResponse(String object, Integer total, String dataRef, List<E> items);
+
+  protected abstract T createResponse(List<E> items);
+
+  private T readListObject(JsonParser jp, DeserializationContext ctxt) throws IOException {
+    String object = null;
+    Integer total = null;
+    String dataRef = null;
+    List<E> items = null;
+
+    JsonToken token = jp.getCurrentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = jp.nextToken();
+    }
+
+    for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+      String field = jp.getCurrentName();
+      jp.nextToken();
+
+      if ("object".equals(field)) {
+        object = jp.getValueAsString();
+      } else if ("total".equals(field)) {
+        total = jp.getValueAsInt(0);
+      } else if ("data_ref".equals(field)) {
+        dataRef = jp.getValueAsString();
+      } else if (itemsField.equals(field)) {
+        items = readItems(jp, ctxt);
+      } else {
+        jp.skipChildren();
+      }
+    }
+
+    return createResponse(object, total, dataRef, items);
+  }
+
+  private List<E> readItems(JsonParser jp, DeserializationContext ctxt) throws IOException {
+    if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+      if (jp.getCurrentToken() != JsonToken.VALUE_NULL) {
+        throw ctxt.mappingException(itemType);
+      }
+      return null;
+    }
+
+    JsonDeserializer<Object> itemDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(itemType));
+    List<E> items = new ArrayList<E>();
+
+    while (jp.nextToken() != JsonToken.END_ARRAY) {
+      if (jp.getCurrentToken() == JsonToken.VALUE_NULL) {
+        items.add(null);
+      } else {
+        items.add(itemType.cast(itemDeserializer.deserialize(jp, ctxt)));
+      }
+    }
+
+    return items;
+  }
+}
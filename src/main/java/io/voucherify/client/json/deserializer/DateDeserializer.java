@@ -3,11 +3,13 @@ package io.voucherify.client.json.deserializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import io.voucherify.client.Constants;
 import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.utils.Iso8601;
 
 import java.io.IOException;
 import java.text.DateFormat;
-import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -15,11 +17,22 @@ import java.util.List;
 
 public class DateDeserializer extends JsonDeserializer<Date> {
 
-  private final List<DateFormat> dateFormats = new ArrayList<DateFormat>();
+  private final List<String> dateFormats = new ArrayList<String>();
+
+  private final ThreadLocal<List<DateFormat>> fallbackFormats = new ThreadLocal<List<DateFormat>>() {
+    @Override
+    protected List<DateFormat> initialValue() {
+      List<DateFormat> formats = new ArrayList<DateFormat>();
+      for (String df : dateFormats) {
+        formats.add(new SimpleDateFormat(df));
+      }
+      return formats;
+    }
+  };
 
   public DateDeserializer(String... dateFormats) {
     for (String df : dateFormats) {
-      this.dateFormats.add(new SimpleDateFormat(df));
+      this.dateFormats.add(new SimpleDateFormat(df).toPattern());
     }
   }
 
@@ -36,14 +49,31 @@ public class DateDeserializer extends JsonDeserializer<Date> {
       throw VoucherifyError.from("No date format provided");
     }
 
-    for (DateFormat df : dateFormats) {
-      try {
-        return df.parse(str);
-      } catch (ParseException e) {
-        // ignore and check next
+    for (String df : dateFormats) {
+      Date date = parseIso8601(df, str);
+      if (date != null) {
+        return date;
+      }
+    }
+
+    for (DateFormat df : fallbackFormats.get()) {
+      Date date = df.parse(str, new ParsePosition(0));
+      if (date != null) {
+        return date;
       }
     }
     throw VoucherifyError.from("Invalid date format: " + str);
   }
 
+  private Date parseIso8601(String dateFormat, String str) {
+    if (Constants.ENDPOINT_DATE_FORMAT.equals(dateFormat)) {
+      return Iso8601.parse(str, false);
+    }
+
+    if (Constants.ENDPOINT_SECONDARY_DATE_FORMAT.equals(dateFormat)) {
+      return Iso8601.parse(str, true);
+    }
+    return null;
+  }
+
 }
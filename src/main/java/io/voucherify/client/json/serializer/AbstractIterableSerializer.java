@@ -0,0 +1,38 @@
+package io.voucherify.client.json.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Writes the items of a value as a JSON array, pulling them one by one, so a lazily produced source is never
+ * held in memory. Null items are skipped.
+ */
+public abstract class AbstractIterableSerializer<T, R> extends JsonSerializer<T> {
+
+  @Override
+  public void serialize(T value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+    if (value == null) {
+      return;
+    }
+    Iterable<R> items = getItems(value);
+
+    if (items == null) {
+      return;
+    }
+
+    jgen.writeStartArray();
+
+    for (R item : items) {
+      if (item != null) {
+        jgen.writeObject(item);
+      }
+    }
+
+    jgen.writeEndArray();
+  }
+
+  protected abstract Iterable<R> getItems(T value);
+}
@@ -3,19 +3,40 @@ package io.voucherify.client.json.serializer;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import io.voucherify.client.Constants;
 import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.utils.Iso8601;
 
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.TimeZone;
 
 public class DateSerializer extends JsonSerializer<Date> {
 
-  private final DateFormat df;
+  private final String dateFormat;
+
+  private final TimeZone timeZone;
+
+  private final boolean iso8601;
+
+  private final boolean iso8601WithFraction;
+
+  private final ThreadLocal<DateFormat> fallbackFormat = new ThreadLocal<DateFormat>() {
+    @Override
+    protected DateFormat initialValue() {
+      DateFormat df = new SimpleDateFormat(dateFormat);
+      df.setTimeZone(timeZone);
+      return df;
+    }
+  };
 
   public DateSerializer(String dateFormat) {
-    this.df = createDateFormat(dateFormat);
+    this.timeZone = createDateFormat(dateFormat).getTimeZone();
+    this.dateFormat = dateFormat;
+    this.iso8601WithFraction = Constants.ENDPOINT_SECONDARY_DATE_FORMAT.equals(dateFormat);
+    this.iso8601 = iso8601WithFraction || Constants.ENDPOINT_DATE_FORMAT.equals(dateFormat);
   }
 
   private DateFormat createDateFormat(String dateFormat) {
@@ -29,7 +50,17 @@ public class DateSerializer extends JsonSerializer<Date> {
   @Override
   public void serialize(Date value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
     if (value != null) {
-      gen.writeString(df.format(value));
+      gen.writeString(format(value));
+    }
+  }
+
+  private String format(Date value) {
+    if (iso8601) {
+      String formatted = Iso8601.format(value, timeZone, iso8601WithFraction);
+      if (formatted != null) {
+        return formatted;
+      }
     }
+    return fallbackFormat.get().format(value);
   }
 }
@@ -0,0 +1,13 @@
+package io.voucherify.client.json.serializer;
+
+import io.voucherify.client.model.campaign.CampaignImportVoucher;
+import io.voucherify.client.model.campaign.StreamedCampaignImportVouchers;
+
+public class StreamedCampaignImportVouchersSerializer
+        extends AbstractIterableSerializer<StreamedCampaignImportVouchers, CampaignImportVoucher> {
+
+  @Override
+  protected Iterable<CampaignImportVoucher> getItems(StreamedCampaignImportVouchers value) {
+    return value.getVouchers();
+  }
+}
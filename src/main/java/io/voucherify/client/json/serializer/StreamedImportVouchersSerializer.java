@@ -0,0 +1,12 @@
+package io.voucherify.client.json.serializer;
+
+import io.voucherify.client.model.voucher.StreamedImportVouchers;
+import io.voucherify.client.model.voucher.Voucher;
+
+public class StreamedImportVouchersSerializer extends AbstractIterableSerializer<StreamedImportVouchers, Voucher> {
+
+  @Override
+  protected Iterable<Voucher> getItems(StreamedImportVouchers value) {
+    return value.getVouchers();
+  }
+}
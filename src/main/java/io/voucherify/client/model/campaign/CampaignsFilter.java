@@ -22,6 +22,10 @@ public class CampaignsFilter extends AbstractFilter<String, Object> {
 
   private Integer page;
 
+  public CampaignsFilter withPage(Integer page) {
+    return new CampaignsFilter(limit, page);
+  }
+
   @Override
   public Map<String, Object> asMap() {
     Map<String, Object> map = new HashMap<String, Object>();
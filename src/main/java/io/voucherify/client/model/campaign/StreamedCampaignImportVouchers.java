@@ -0,0 +1,39 @@
+package io.voucherify.client.model.campaign;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.voucherify.client.json.serializer.StreamedCampaignImportVouchersSerializer;
+import io.voucherify.client.utils.OneShotIterable;
+import lombok.Getter;
+
+import java.util.Iterator;
+
+/**
+ * Vouchers to import into a campaign produced lazily while the request body is written, without materializing
+ * them in memory. A source created from an iterator can be sent only once.
+ */
+@Getter
+@JsonSerialize(using = StreamedCampaignImportVouchersSerializer.class)
+public final class StreamedCampaignImportVouchers {
+
+  private final Iterable<CampaignImportVoucher> vouchers;
+
+  private StreamedCampaignImportVouchers(Iterable<CampaignImportVoucher> vouchers) {
+    this.vouchers = vouchers;
+  }
+
+  public static StreamedCampaignImportVouchers of(Iterable<CampaignImportVoucher> vouchers) {
+    if (vouchers == null) {
+      throw new IllegalArgumentException("Cannot call of() with null.");
+    }
+
+    return new StreamedCampaignImportVouchers(vouchers);
+  }
+
+  public static StreamedCampaignImportVouchers of(Iterator<CampaignImportVoucher> vouchers) {
+    if (vouchers == null) {
+      throw new IllegalArgumentException("Cannot call of() with null.");
+    }
+
+    return new StreamedCampaignImportVouchers(new OneShotIterable<CampaignImportVoucher>(vouchers));
+  }
+}
@@ -22,6 +22,10 @@ public class ProductsFilter extends AbstractFilter<String, Object> {
 
   private Integer page;
 
+  public ProductsFilter withPage(Integer page) {
+    return new ProductsFilter(limit, page);
+  }
+
   @Override
   public Map<String, Object> asMap() {
     Map<String, Object> map = new HashMap<String, Object>();
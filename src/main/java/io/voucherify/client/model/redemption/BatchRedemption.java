@@ -0,0 +1,29 @@
+package io.voucherify.client.model.redemption;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Redemption of a single code within a batch.
+ */
+@Getter
+@ToString
+public final class BatchRedemption {
+
+  private final String code;
+
+  private final RedeemVoucher redeemVoucher;
+
+  private BatchRedemption(String code, RedeemVoucher redeemVoucher) {
+    this.code = code;
+    this.redeemVoucher = redeemVoucher;
+  }
+
+  public static BatchRedemption of(String code, RedeemVoucher redeemVoucher) {
+    if (code == null) {
+      throw new IllegalArgumentException("Cannot call of() with null code.");
+    }
+
+    return new BatchRedemption(code, redeemVoucher);
+  }
+}
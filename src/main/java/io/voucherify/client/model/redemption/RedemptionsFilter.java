@@ -28,6 +28,10 @@ public class RedemptionsFilter extends AbstractFilter<String, Object> {
 
   private String campaign;
 
+  public RedemptionsFilter withPage(Integer page) {
+    return new RedemptionsFilter(limit, page, result, customer, campaign);
+  }
+
   @Override
   public Map<String, Object> asMap() {
     Map<String, Object> map = new HashMap<String, Object>();
@@ -0,0 +1,39 @@
+package io.voucherify.client.model.voucher;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.voucherify.client.json.serializer.StreamedImportVouchersSerializer;
+import io.voucherify.client.utils.OneShotIterable;
+import lombok.Getter;
+
+import java.util.Iterator;
+
+/**
+ * Vouchers to import produced lazily while the request body is written, without materializing them in memory.
+ * A source created from an iterator can be sent only once.
+ */
+@Getter
+@JsonSerialize(using = StreamedImportVouchersSerializer.class)
+public final class StreamedImportVouchers {
+
+  private final Iterable<Voucher> vouchers;
+
+  private StreamedImportVouchers(Iterable<Voucher> vouchers) {
+    this.vouchers = vouchers;
+  }
+
+  public static StreamedImportVouchers of(Iterable<Voucher> vouchers) {
+    if (vouchers == null) {
+      throw new IllegalArgumentException("Cannot call of() with null.");
+    }
+
+    return new StreamedImportVouchers(vouchers);
+  }
+
+  public static StreamedImportVouchers of(Iterator<Voucher> vouchers) {
+    if (vouchers == null) {
+      throw new IllegalArgumentException("Cannot call of() with null.");
+    }
+
+    return new StreamedImportVouchers(new OneShotIterable<Voucher>(vouchers));
+  }
+}
@@ -26,6 +26,10 @@ public class VouchersFilter extends AbstractFilter<String, Object> {
 
   private String campaign;
 
+  public VouchersFilter withPage(Integer page) {
+    return new VouchersFilter(limit, page, category, campaign);
+  }
+
   @Override
   public Map<String, Object> asMap() {
     Map<String, Object> map = new HashMap<String, Object>();
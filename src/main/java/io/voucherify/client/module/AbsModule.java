@@ -2,38 +2,64 @@ package io.voucherify.client.module;
 
 import io.voucherify.client.api.VoucherifyApi;
 import io.voucherify.client.module.AbsModule.Async;
+import io.voucherify.client.module.AbsModule.Futures;
 import io.voucherify.client.module.AbsModule.Rx;
+import rx.Scheduler;
 
 import java.util.concurrent.Executor;
 
-abstract class AbsModule<A extends Async, R extends Rx> {
+abstract class AbsModule<A extends Async, R extends Rx, F extends Futures> {
 
   final Executor executor;
 
+  final Scheduler scheduler;
+
+  final Scheduler bulkScheduler;
+
   final VoucherifyApi api;
 
   final A extAsync;
 
   final R extRxJava;
 
-  AbsModule(VoucherifyApi api, Executor executor) {
+  final F extFutures;
+
+  AbsModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, scheduler);
+  }
+
+  /**
+   * @param bulkScheduler runs requests of scans, batches, chunked imports and page iterators. Their callers block
+   *                      until these requests complete, possibly on a worker of {@code scheduler} when called from
+   *                      an async callback, so with a bounded {@code scheduler} it should have threads of its own.
+   */
+  AbsModule(VoucherifyApi api, Executor executor, Scheduler scheduler, Scheduler bulkScheduler) {
     this.api = api;
     this.executor = executor;
+    this.scheduler = scheduler;
+    this.bulkScheduler = bulkScheduler;
 
     this.extAsync = createAsyncExtension();
     this.extRxJava = createRxJavaExtension();
+    this.extFutures = createFuturesExtension();
   }
 
   abstract A createAsyncExtension();
 
   abstract R createRxJavaExtension();
 
+  abstract F createFuturesExtension();
+
   public abstract A async();
 
   public abstract R rx();
 
+  public abstract F futures();
+
   public static class Rx {}
 
   public static class Async {}
 
+  public static class Futures {}
+
 }
\ No newline at end of file
@@ -1,26 +1,84 @@
 package io.voucherify.client.module;
 
 import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.bulk.BulkImportConfig;
+import io.voucherify.client.bulk.BulkImportReport;
+import io.voucherify.client.bulk.CampaignImportSource;
+import io.voucherify.client.bulk.ChunkedUploader;
+import io.voucherify.client.cache.NegativeCache;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.http.ConditionalRequests;
+import io.voucherify.client.json.converter.JsonConverter;
 import io.voucherify.client.model.campaign.AddVoucherToCampaign;
+import io.voucherify.client.model.campaign.CampaignImportVoucher;
 import io.voucherify.client.model.campaign.CampaignImportVouchers;
 import io.voucherify.client.model.campaign.CampaignsFilter;
 import io.voucherify.client.model.campaign.CreateCampaign;
 import io.voucherify.client.model.campaign.DeleteCampaignParams;
+import io.voucherify.client.model.campaign.StreamedCampaignImportVouchers;
 import io.voucherify.client.model.campaign.response.AddVoucherToCampaignResponse;
 import io.voucherify.client.model.campaign.response.CampaignResponse;
 import io.voucherify.client.model.campaign.response.CampaignsResponse;
 import io.voucherify.client.module.CampaignsModule.ExtAsync;
+import io.voucherify.client.module.CampaignsModule.ExtFutures;
 import io.voucherify.client.module.CampaignsModule.ExtRxJava;
+import io.voucherify.client.utils.PagePublisher;
 import io.voucherify.client.utils.RxUtils;
+import io.voucherify.client.utils.SingleFlight;
+import retrofit.client.Response;
 import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.Executor;
 
-public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  private final SingleFlight singleFlight;
+
+  private final ConditionalRequests conditionalRequests;
+
+  private final NegativeCache negativeCache;
+
+  private final JsonConverter converter;
+
+  /**
+   * @deprecated use {@link #CampaignsModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public CampaignsModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public CampaignsModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, scheduler, null, null, null, null);
+  }
+
+  /**
+   * @param bulkScheduler runs requests of chunked imports, whose callers block
+   *                      until they complete; should not share a bounded pool with {@code scheduler}
+   * @param singleFlight collapses concurrent {@link #get(String)} calls for the same name, may be null
+   * @param conditionalRequests revalidates campaigns read before by {@link #get(String)} with conditional requests,
+   *                            may be null
+   * @param negativeCache codes recently not found, forgotten when vouchers are added or imported, may be null
+   * @param converter measures vouchers for byte-bounded chunks of
+   *                  {@link #importVouchers(String, Iterator, BulkImportConfig)}, may be null when imports are
+   *                  bounded by count only
+   */
+  public CampaignsModule(VoucherifyApi api, Executor executor, Scheduler scheduler, Scheduler bulkScheduler,
+                         SingleFlight singleFlight, ConditionalRequests conditionalRequests, NegativeCache negativeCache,
+                         JsonConverter converter) {
+    super(api, executor, scheduler, bulkScheduler);
+    this.singleFlight = singleFlight;
+    this.conditionalRequests = conditionalRequests;
+    this.negativeCache = negativeCache;
+    this.converter = converter;
   }
 
   public CampaignResponse create(CreateCampaign createCampaign) {
@@ -28,29 +86,130 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
   }
 
   public AddVoucherToCampaignResponse addVoucher(String campaignName, AddVoucherToCampaign addVoucherToCampaign) {
-    return api.addVoucherToCampaign(campaignName, addVoucherToCampaign);
+    AddVoucherToCampaignResponse response = api.addVoucherToCampaign(campaignName, addVoucherToCampaign);
+
+    if (negativeCache != null && response != null && response.getCode() != null) {
+      negativeCache.forget(response.getCode());
+    }
+    return response;
   }
 
   public AddVoucherToCampaignResponse addVoucherWithCode(String campaignName, String code, AddVoucherToCampaign addVoucherToCampaign) {
-    return api.addVoucherToCampaignWithCode(campaignName, code, addVoucherToCampaign);
+    try {
+      return api.addVoucherToCampaignWithCode(campaignName, code, addVoucherToCampaign);
+    } finally {
+      if (negativeCache != null && code != null) {
+        negativeCache.forget(code);
+      }
+    }
   }
 
   public void delete(String campaignName, DeleteCampaignParams deleteCampaignParams) {
-    api.deleteCampaign(campaignName, deleteCampaignParams.getForce());
+    try {
+      api.deleteCampaign(campaignName, deleteCampaignParams.getForce());
+    } finally {
+      if (conditionalRequests != null) {
+        conditionalRequests.invalidate("campaigns/" + campaignName);
+      }
+    }
   }
 
   public void importVouchers(String campaignName, CampaignImportVouchers importVouchers) {
-    api.importVouchersToCampaign(campaignName, importVouchers);
+    try {
+      api.importVouchersToCampaign(campaignName, importVouchers);
+    } finally {
+      clearNegativeCache();
+    }
   }
 
-  public CampaignResponse get(String name) {
-    return api.getCampaign(name);
+  /**
+   * Imports vouchers in a single request whose body is written while the vouchers are pulled from the source, so
+   * they are never held in memory together. The request is not repeatable when the source is an iterator.
+   */
+  public void importVouchers(String campaignName, StreamedCampaignImportVouchers importVouchers) {
+    try {
+      api.importVouchersToCampaign(campaignName, importVouchers);
+    } finally {
+      clearNegativeCache();
+    }
+  }
+
+  /**
+   * Imports vouchers pulled from the iterator, e.g. a {@link CampaignImportSource} reading a file, in chunks
+   * uploaded in parallel and retried individually, as set in the config. Blocks until all chunks are done;
+   * failures are reported per chunk instead of being thrown.
+   */
+  public BulkImportReport importVouchers(final String campaignName, Iterator<CampaignImportVoucher> vouchers,
+                                         BulkImportConfig config) {
+    if (campaignName == null || vouchers == null || config == null) {
+      throw new IllegalArgumentException("Cannot call importVouchers() with null.");
+    }
+
+    if (config.isByteBounded() && converter == null) {
+      throw new IllegalArgumentException("Cannot bound chunks by bytes without a converter.");
+    }
+
+    return new ChunkedUploader<CampaignImportVoucher>(config) {
+      @Override
+      protected VoucherifyFuture<Void> upload(final List<CampaignImportVoucher> chunk) {
+        return RxUtils.future(RxUtils.defer(bulkScheduler, new RxUtils.DefFunc<Void>() {
+          @Override
+          public Void method() {
+            importVouchers(campaignName, CampaignImportVouchers.builder().vouchers(chunk).build());
+            return null;
+          }
+        }));
+      }
+
+      @Override
+      protected long sizeOf(CampaignImportVoucher voucher) {
+        return converter.sizeOf(voucher);
+      }
+    }.uploadAll(vouchers);
+  }
+
+  public CampaignResponse get(final String name) {
+    if (singleFlight == null) {
+      return fetch(name);
+    }
+
+    return singleFlight.execute("campaigns/" + name, new SingleFlight.Loader<CampaignResponse>() {
+      @Override
+      public CampaignResponse load() {
+        return fetch(name);
+      }
+    });
   }
 
   public CampaignsResponse list(CampaignsFilter campaignsFilter) {
     return api.listCampaigns(campaignsFilter.asMap());
   }
 
+  private CampaignResponse fetch(final String name) {
+    if (conditionalRequests == null) {
+      return api.getCampaign(name);
+    }
+
+    return conditionalRequests.get("campaigns/" + name, CampaignResponse.class,
+            new ConditionalRequests.Request<CampaignResponse>() {
+              @Override
+              public Response execute(String ifNoneMatch, String ifModifiedSince) {
+                return api.getCampaign(name, ifNoneMatch, ifModifiedSince);
+              }
+
+              @Override
+              protected Date updatedAt(CampaignResponse campaign) {
+                return campaign != null ? campaign.getUpdatedAt() : null;
+              }
+            });
+  }
+
+  private void clearNegativeCache() {
+    if (negativeCache != null) {
+      negativeCache.clear();
+    }
+  }
+
   @Override
   ExtAsync createAsyncExtension() {
     return new ExtAsync();
@@ -61,6 +220,11 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -71,6 +235,11 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void create(CreateCampaign createCampaign, VoucherifyCallback<CampaignResponse> callback) {
@@ -92,12 +261,17 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     public void importVouchers(String campaignName, CampaignImportVouchers importVouchers, VoucherifyCallback<Void> callback) {
       RxUtils.subscribe(executor, rx().importVouchers(campaignName, importVouchers), callback);
     }
+
+    public void importVouchers(String campaignName, StreamedCampaignImportVouchers importVouchers,
+                               VoucherifyCallback<Void> callback) {
+      RxUtils.subscribe(executor, rx().importVouchers(campaignName, importVouchers), callback);
+    }
   }
 
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<CampaignResponse> create(final CreateCampaign createCampaign) {
-      return RxUtils.defer(new RxUtils.DefFunc<CampaignResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CampaignResponse>() {
         @Override
         public CampaignResponse method() {
           return CampaignsModule.this.create(createCampaign);
@@ -106,7 +280,7 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<AddVoucherToCampaignResponse> addVoucher(final String campaignName, final AddVoucherToCampaign addVoucherToCampaign) {
-      return RxUtils.defer(new RxUtils.DefFunc<AddVoucherToCampaignResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<AddVoucherToCampaignResponse>() {
         @Override
         public AddVoucherToCampaignResponse method() {
           return CampaignsModule.this.addVoucher(campaignName, addVoucherToCampaign);
@@ -115,7 +289,7 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<AddVoucherToCampaignResponse> addVoucherWithCode(final String campaignName, final String code, final AddVoucherToCampaign addVoucherToCampaign) {
-      return RxUtils.defer(new RxUtils.DefFunc<AddVoucherToCampaignResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<AddVoucherToCampaignResponse>() {
         @Override
         public AddVoucherToCampaignResponse method() {
           return CampaignsModule.this.addVoucherWithCode(campaignName, code, addVoucherToCampaign);
@@ -124,7 +298,7 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> delete(final String campaignName, final DeleteCampaignParams deleteCampaignParams) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           CampaignsModule.this.delete(campaignName, deleteCampaignParams);
@@ -134,7 +308,18 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> importVouchers(final String campaignName, final CampaignImportVouchers importVouchers) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
+        @Override
+        public Void method() {
+          CampaignsModule.this.importVouchers(campaignName, importVouchers);
+          return null;
+        }
+      });
+    }
+
+    public Observable<Void> importVouchers(final String campaignName,
+                                           final StreamedCampaignImportVouchers importVouchers) {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           CampaignsModule.this.importVouchers(campaignName, importVouchers);
@@ -144,7 +329,7 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<CampaignsResponse> list(final CampaignsFilter campaignsFilter) {
-      return RxUtils.defer(new RxUtils.DefFunc<CampaignsResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CampaignsResponse>() {
         @Override
         public CampaignsResponse method() {
           return CampaignsModule.this.list(campaignsFilter);
@@ -152,8 +337,25 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
 
+    /**
+     * Emits items of all pages one by one. Further pages are fetched only as the subscriber requests more items.
+     */
+    public Observable<CampaignResponse> stream(final CampaignsFilter campaignsFilter) {
+      return Observable.create(new PagePublisher<CampaignResponse>(campaignsFilter.getPage(), campaignsFilter.getLimit()) {
+        @Override
+        protected Observable<List<CampaignResponse>> fetchPage(int page) {
+          return list(campaignsFilter.withPage(page)).map(new Func1<CampaignsResponse, List<CampaignResponse>>() {
+            @Override
+            public List<CampaignResponse> call(CampaignsResponse response) {
+              return response.getCampaigns();
+            }
+          });
+        }
+      });
+    }
+
     public Observable<CampaignResponse> get(final String name) {
-      return RxUtils.defer(new RxUtils.DefFunc<CampaignResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CampaignResponse>() {
         @Override
         public CampaignResponse method() {
           return CampaignsModule.this.get(name);
@@ -161,4 +363,39 @@ public final class CampaignsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
   }
+
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<CampaignResponse> create(CreateCampaign createCampaign) {
+      return RxUtils.future(rx().create(createCampaign));
+    }
+
+    public VoucherifyFuture<AddVoucherToCampaignResponse> addVoucher(String campaignName, AddVoucherToCampaign addVoucherToCampaign) {
+      return RxUtils.future(rx().addVoucher(campaignName, addVoucherToCampaign));
+    }
+
+    public VoucherifyFuture<AddVoucherToCampaignResponse> addVoucherWithCode(String campaignName, String code, AddVoucherToCampaign addVoucherToCampaign) {
+      return RxUtils.future(rx().addVoucherWithCode(campaignName, code, addVoucherToCampaign));
+    }
+
+    public VoucherifyFuture<Void> delete(String campaignName, DeleteCampaignParams deleteCampaignParams) {
+      return RxUtils.future(rx().delete(campaignName, deleteCampaignParams));
+    }
+
+    public VoucherifyFuture<Void> importVouchers(String campaignName, CampaignImportVouchers importVouchers) {
+      return RxUtils.future(rx().importVouchers(campaignName, importVouchers));
+    }
+
+    public VoucherifyFuture<Void> importVouchers(String campaignName, StreamedCampaignImportVouchers importVouchers) {
+      return RxUtils.future(rx().importVouchers(campaignName, importVouchers));
+    }
+
+    public VoucherifyFuture<CampaignsResponse> list(CampaignsFilter campaignsFilter) {
+      return RxUtils.future(rx().list(campaignsFilter));
+    }
+
+    public VoucherifyFuture<CampaignResponse> get(String name) {
+      return RxUtils.future(rx().get(name));
+    }
+  }
 }
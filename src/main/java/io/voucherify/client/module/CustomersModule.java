@@ -2,19 +2,32 @@ package io.voucherify.client.module;
 
 import io.voucherify.client.api.VoucherifyApi;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
 import io.voucherify.client.model.customer.Customer;
 import io.voucherify.client.model.customer.response.CustomerResponse;
 import io.voucherify.client.module.CustomersModule.ExtAsync;
+import io.voucherify.client.module.CustomersModule.ExtFutures;
 import io.voucherify.client.module.CustomersModule.ExtRxJava;
 import io.voucherify.client.utils.RxUtils;
 import rx.Observable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
 import java.util.concurrent.Executor;
 
-public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  /**
+   * @deprecated use {@link #CustomersModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public CustomersModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public CustomersModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    super(api, executor, scheduler);
   }
 
   public CustomerResponse get(String customerId) {
@@ -43,6 +56,11 @@ public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -53,6 +71,11 @@ public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void get(String customerId, VoucherifyCallback<CustomerResponse> callback) {
@@ -75,7 +98,7 @@ public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<CustomerResponse> get(final String customerId) {
-      return RxUtils.defer(new RxUtils.DefFunc<CustomerResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CustomerResponse>() {
         @Override
         public CustomerResponse method() {
           return CustomersModule.this.get(customerId);
@@ -84,7 +107,7 @@ public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<CustomerResponse> create(final Customer customer) {
-      return RxUtils.defer(new RxUtils.DefFunc<CustomerResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CustomerResponse>() {
         @Override
         public CustomerResponse method() {
           return CustomersModule.this.create(customer);
@@ -93,7 +116,7 @@ public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<CustomerResponse> update(final Customer customer) {
-      return RxUtils.defer(new RxUtils.DefFunc<CustomerResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CustomerResponse>() {
         @Override
         public CustomerResponse method() {
           return CustomersModule.this.update(customer);
@@ -102,7 +125,7 @@ public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> delete(final String customerId) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           CustomersModule.this.delete(customerId);
@@ -111,4 +134,23 @@ public final class CustomersModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
   }
+
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<CustomerResponse> get(String customerId) {
+      return RxUtils.future(rx().get(customerId));
+    }
+
+    public VoucherifyFuture<CustomerResponse> create(Customer customer) {
+      return RxUtils.future(rx().create(customer));
+    }
+
+    public VoucherifyFuture<CustomerResponse> update(Customer customer) {
+      return RxUtils.future(rx().update(customer));
+    }
+
+    public VoucherifyFuture<Void> delete(String customerId) {
+      return RxUtils.future(rx().delete(customerId));
+    }
+  }
 }
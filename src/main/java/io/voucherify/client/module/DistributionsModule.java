@@ -2,21 +2,34 @@ package io.voucherify.client.module;
 
 import io.voucherify.client.api.VoucherifyApi;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
 import io.voucherify.client.model.distribution.CreateExport;
 import io.voucherify.client.model.distribution.PublishVoucher;
 import io.voucherify.client.model.distribution.response.ExportResponse;
 import io.voucherify.client.model.distribution.response.PublishVoucherResponse;
 import io.voucherify.client.module.DistributionsModule.ExtAsync;
+import io.voucherify.client.module.DistributionsModule.ExtFutures;
 import io.voucherify.client.module.DistributionsModule.ExtRxJava;
 import io.voucherify.client.utils.RxUtils;
 import rx.Observable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
 import java.util.concurrent.Executor;
 
-public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  /**
+   * @deprecated use {@link #DistributionsModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public DistributionsModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public DistributionsModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    super(api, executor, scheduler);
   }
 
   public PublishVoucherResponse publish(PublishVoucher publishVoucher) {
@@ -45,6 +58,11 @@ public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -55,6 +73,11 @@ public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void publish(PublishVoucher publishParams, VoucherifyCallback<PublishVoucherResponse> callback) {
@@ -77,7 +100,7 @@ public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<PublishVoucherResponse> publish(final PublishVoucher publishVoucher) {
-      return RxUtils.defer(new RxUtils.DefFunc<PublishVoucherResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<PublishVoucherResponse>() {
         @Override
         public PublishVoucherResponse method() {
           return DistributionsModule.this.publish(publishVoucher);
@@ -86,7 +109,7 @@ public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<ExportResponse> createExport(final CreateExport createExport) {
-      return RxUtils.defer(new RxUtils.DefFunc<ExportResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ExportResponse>() {
         @Override
         public ExportResponse method() {
           return DistributionsModule.this.createExport(createExport);
@@ -95,7 +118,7 @@ public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<ExportResponse> getExport(final String id) {
-      return RxUtils.defer(new RxUtils.DefFunc<ExportResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ExportResponse>() {
         @Override
         public ExportResponse method() {
           return DistributionsModule.this.getExport(id);
@@ -104,7 +127,7 @@ public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> deleteExport(final String id) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           DistributionsModule.this.deleteExport(id);
@@ -113,4 +136,23 @@ public final class DistributionsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
   }
-}
\ No newline at end of file
+
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<PublishVoucherResponse> publish(PublishVoucher publishVoucher) {
+      return RxUtils.future(rx().publish(publishVoucher));
+    }
+
+    public VoucherifyFuture<ExportResponse> createExport(CreateExport createExport) {
+      return RxUtils.future(rx().createExport(createExport));
+    }
+
+    public VoucherifyFuture<ExportResponse> getExport(String id) {
+      return RxUtils.future(rx().getExport(id));
+    }
+
+    public VoucherifyFuture<Void> deleteExport(String id) {
+      return RxUtils.future(rx().deleteExport(id));
+    }
+  }
+}
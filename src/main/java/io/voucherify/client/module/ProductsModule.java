@@ -3,8 +3,14 @@ package io.voucherify.client.module;
 import io.voucherify.client.model.product.ProductsFilter;
 import io.voucherify.client.model.product.SKU;
 import io.voucherify.client.model.product.response.ProductsResponse;
+import io.voucherify.client.Constants;
 import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.cache.CatalogRefreshStatus;
+import io.voucherify.client.cache.ProductCatalog;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.http.ConditionalRequests;
 import io.voucherify.client.model.product.DeleteProductParams;
 import io.voucherify.client.model.product.DeleteSKUParams;
 import io.voucherify.client.model.product.Product;
@@ -12,28 +18,100 @@ import io.voucherify.client.model.product.response.ProductResponse;
 import io.voucherify.client.model.product.response.SKUResponse;
 import io.voucherify.client.model.product.response.SKUsResponse;
 import io.voucherify.client.module.ProductsModule.ExtAsync;
+import io.voucherify.client.module.ProductsModule.ExtFutures;
 import io.voucherify.client.module.ProductsModule.ExtRxJava;
+import io.voucherify.client.utils.NamedThreadFactory;
+import io.voucherify.client.utils.PagePublisher;
 import io.voucherify.client.utils.RxUtils;
+import io.voucherify.client.utils.SingleFlight;
+import retrofit.client.Response;
 import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
-public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
+public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  private static final int WARM_UP_PAGE_SIZE = 100;
+
+  private final SingleFlight singleFlight;
+
+  private final ProductCatalog catalog;
+
+  private final ConditionalRequests conditionalRequests;
+
+  private ScheduledExecutorService refreshExecutor;
+
+  private volatile CatalogRefreshStatus refreshStatus = CatalogRefreshStatus.none();
+
+  /**
+   * @deprecated use {@link #ProductsModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public ProductsModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public ProductsModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, null, null, null);
+  }
+
+  /**
+   * @param singleFlight collapses concurrent {@link #get(String)} calls for the same id, may be null
+   * @param catalog local copy of products and SKUs used by {@link #get(String)}, {@link #getSKU(String, String)}
+   *                and {@link #listSKU(String)}, or null to always call the API
+   * @param conditionalRequests revalidates products read before by {@link #get(String)} with conditional requests,
+   *                            may be null
+   */
+  public ProductsModule(VoucherifyApi api, Executor executor, Scheduler scheduler, SingleFlight singleFlight,
+                        ProductCatalog catalog, ConditionalRequests conditionalRequests) {
+    super(api, executor, scheduler);
+    this.singleFlight = singleFlight;
+    this.catalog = catalog;
+    this.conditionalRequests = conditionalRequests;
   }
 
   public ProductResponse create(Product product) {
-    return api.createProduct(product);
+    ProductResponse response = api.createProduct(product);
+
+    if (catalog != null) {
+      catalog.putProduct(response, catalog.stamp());
+    }
+    return response;
   }
 
   public ProductResponse get(String id) {
-    return api.getProduct(id);
+    if (catalog == null) {
+      return fetch(id);
+    }
+
+    ProductResponse product = catalog.getProduct(id);
+    if (product != null) {
+      return product;
+    }
+
+    long stamp = catalog.stamp();
+    product = fetch(id);
+    catalog.putProduct(product, stamp);
+    return product;
   }
 
   public ProductResponse update(Product product) {
-    return api.updateProduct(product.getId(), product);
+    try {
+      return api.updateProduct(product.getId(), product);
+    } finally {
+      if (catalog != null) {
+        catalog.invalidateProduct(product.getId());
+      }
+      forgetRevision(product.getId());
+    }
   }
 
   public ProductsResponse list(ProductsFilter filter) {
@@ -41,27 +119,208 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
   }
 
   public void delete(String id, DeleteProductParams params) {
-    api.deleteProduct(id, params.asMap());
+    try {
+      api.deleteProduct(id, params.asMap());
+    } finally {
+      if (catalog != null) {
+        catalog.removeProduct(id);
+      }
+      forgetRevision(id);
+    }
   }
 
   public SKUResponse createSKU(String productId, SKU sku) {
-    return api.createSKU(productId, sku);
+    SKUResponse response = api.createSKU(productId, sku);
+
+    if (catalog != null) {
+      catalog.invalidateSKU(productId, null);
+      catalog.putSKU(productId, response, catalog.stamp());
+    }
+    return response;
   }
 
   public SKUResponse getSKU(String productId, String skuId) {
-    return api.getSKU(productId, skuId);
+    if (catalog == null) {
+      return api.getSKU(productId, skuId);
+    }
+
+    SKUResponse sku = catalog.getSKU(productId, skuId);
+    if (sku != null) {
+      return sku;
+    }
+
+    long stamp = catalog.stamp();
+    sku = api.getSKU(productId, skuId);
+    catalog.putSKU(productId, sku, stamp);
+    return sku;
   }
 
   public SKUResponse updateSKU(String productId, SKU sku) {
-    return api.updateSKU(productId, sku.getId(), sku);
+    try {
+      return api.updateSKU(productId, sku.getId(), sku);
+    } finally {
+      if (catalog != null) {
+        catalog.invalidateSKU(productId, sku.getId());
+      }
+    }
   }
 
   public SKUsResponse listSKU(String productId) {
-    return api.getSKUs(productId);
+    if (catalog == null) {
+      return api.getSKUs(productId);
+    }
+
+    SKUsResponse skus = catalog.getSKUs(productId);
+    if (skus != null) {
+      return skus;
+    }
+
+    long stamp = catalog.stamp();
+    skus = api.getSKUs(productId);
+    catalog.putSKUs(productId, skus, stamp);
+    return skus;
   }
 
   public void deleteSKU(String productId, String skuId, DeleteSKUParams params) {
-    api.deleteSKU(productId, skuId, params.asMap());
+    try {
+      api.deleteSKU(productId, skuId, params.asMap());
+    } finally {
+      if (catalog != null) {
+        catalog.invalidateSKU(productId, skuId);
+      }
+    }
+  }
+
+  /**
+   * Loads all products, with the SKUs embedded in them, into the catalog by paging through the products list.
+   *
+   * @return number of loaded products
+   */
+  public int warmUpCatalog() {
+    if (catalog == null) {
+      throw new IllegalStateException("Product catalog cache is not enabled.");
+    }
+
+    int loaded = 0;
+    int page = 1;
+
+    while (true) {
+      long stamp = catalog.stamp();
+      ProductsResponse response = list(ProductsFilter.builder().limit(WARM_UP_PAGE_SIZE).page(page++).build());
+      List<ProductResponse> products = response != null ? response.getProducts() : null;
+
+      if (products == null || products.isEmpty()) {
+        return loaded;
+      }
+
+      for (ProductResponse product : products) {
+        catalog.putProduct(product, stamp);
+      }
+      loaded += products.size();
+
+      if (products.size() < WARM_UP_PAGE_SIZE) {
+        return loaded;
+      }
+    }
+  }
+
+  /**
+   * Reloads the catalog with {@link #warmUpCatalog()} on a background thread, starting after one period.
+   * A failed refresh leaves the catalog as it was and is retried at the next run; failures are recorded in
+   * {@link #getCatalogRefreshStatus()}.
+   */
+  public void scheduleCatalogRefresh(long period, TimeUnit unit) {
+    scheduleCatalogRefresh(period, unit, null);
+  }
+
+  /**
+   * Same as {@link #scheduleCatalogRefresh(long, TimeUnit)} but also reports the number of loaded products, or the
+   * failure, of every refresh to the callback, on the refresh thread.
+   */
+  public synchronized void scheduleCatalogRefresh(long period, TimeUnit unit, final VoucherifyCallback<Integer> callback) {
+    if (catalog == null) {
+      throw new IllegalStateException("Product catalog cache is not enabled.");
+    }
+
+    if (period < 1 || unit == null) {
+      throw new IllegalArgumentException("Refresh period must be greater than 0.");
+    }
+
+    stopCatalogRefresh();
+    refreshExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(Constants.CATALOG_THREAD_NAME_PREFIX));
+    refreshExecutor.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        int loaded;
+        try {
+          loaded = warmUpCatalog();
+        } catch (RuntimeException e) {
+          VoucherifyError error = VoucherifyError.from(e);
+          refreshStatus = refreshStatus.failed(System.currentTimeMillis(), error);
+
+          if (callback != null) {
+            callback.onFailure(error);
+          }
+          return;
+        }
+
+        refreshStatus = refreshStatus.succeeded(System.currentTimeMillis(), loaded);
+        if (callback != null) {
+          callback.onSuccess(loaded);
+        }
+      }
+    }, period, period, unit);
+  }
+
+  public synchronized void stopCatalogRefresh() {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+      refreshExecutor = null;
+    }
+  }
+
+  public CatalogRefreshStatus getCatalogRefreshStatus() {
+    return refreshStatus;
+  }
+
+  /**
+   * @return the product catalog cache or null when it is disabled
+   */
+  public ProductCatalog getCatalog() {
+    return catalog;
+  }
+
+  private void forgetRevision(String id) {
+    if (conditionalRequests != null) {
+      conditionalRequests.invalidate("products/" + id);
+    }
+  }
+
+  private ProductResponse fetch(final String id) {
+    if (singleFlight == null) {
+      return load(id);
+    }
+
+    return singleFlight.execute("products/" + id, new SingleFlight.Loader<ProductResponse>() {
+      @Override
+      public ProductResponse load() {
+        return ProductsModule.this.load(id);
+      }
+    });
+  }
+
+  private ProductResponse load(final String id) {
+    if (conditionalRequests == null) {
+      return api.getProduct(id);
+    }
+
+    return conditionalRequests.get("products/" + id, ProductResponse.class,
+            new ConditionalRequests.Request<ProductResponse>() {
+              @Override
+              public Response execute(String ifNoneMatch, String ifModifiedSince) {
+                return api.getProduct(id, ifNoneMatch, ifModifiedSince);
+              }
+            });
   }
 
   @Override
@@ -74,6 +333,11 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -84,6 +348,11 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void create(Product product, VoucherifyCallback<ProductResponse> callback) {
@@ -130,7 +399,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<ProductResponse> create(final Product product) {
-      return RxUtils.defer(new RxUtils.DefFunc<ProductResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ProductResponse>() {
 
         @Override
         public ProductResponse method() {
@@ -140,7 +409,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<ProductResponse> get(final String id) {
-      return RxUtils.defer(new RxUtils.DefFunc<ProductResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ProductResponse>() {
 
         @Override
         public ProductResponse method() {
@@ -150,7 +419,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<ProductResponse> update(final Product product) {
-      return RxUtils.defer(new RxUtils.DefFunc<ProductResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ProductResponse>() {
 
         @Override
         public ProductResponse method() {
@@ -160,7 +429,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<ProductsResponse> list(final ProductsFilter filter) {
-      return RxUtils.defer(new RxUtils.DefFunc<ProductsResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ProductsResponse>() {
 
         @Override
         public ProductsResponse method() {
@@ -169,8 +438,25 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
 
+    /**
+     * Emits items of all pages one by one. Further pages are fetched only as the subscriber requests more items.
+     */
+    public Observable<ProductResponse> stream(final ProductsFilter filter) {
+      return Observable.create(new PagePublisher<ProductResponse>(filter.getPage(), filter.getLimit()) {
+        @Override
+        protected Observable<List<ProductResponse>> fetchPage(int page) {
+          return list(filter.withPage(page)).map(new Func1<ProductsResponse, List<ProductResponse>>() {
+            @Override
+            public List<ProductResponse> call(ProductsResponse response) {
+              return response.getProducts();
+            }
+          });
+        }
+      });
+    }
+
     public Observable<Void> delete(final String id, final DeleteProductParams params) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
 
         @Override
         public Void method() {
@@ -181,7 +467,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<SKUResponse> createSKU(final String productId, final SKU sku) {
-      return RxUtils.defer(new RxUtils.DefFunc<SKUResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<SKUResponse>() {
 
         @Override
         public SKUResponse method() {
@@ -191,7 +477,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<SKUResponse> getSKU(final String productId, final String skuId) {
-      return RxUtils.defer(new RxUtils.DefFunc<SKUResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<SKUResponse>() {
 
         @Override
         public SKUResponse method() {
@@ -201,7 +487,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<SKUResponse> updateSKU(final String productId, final SKU sku) {
-      return RxUtils.defer(new RxUtils.DefFunc<SKUResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<SKUResponse>() {
 
         @Override
         public SKUResponse method() {
@@ -211,7 +497,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<SKUsResponse> listSKU(final String productId) {
-      return RxUtils.defer(new RxUtils.DefFunc<SKUsResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<SKUsResponse>() {
 
         @Override
         public SKUsResponse method() {
@@ -221,7 +507,7 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> deleteSKU(final String productId, final String skuId, final DeleteSKUParams params) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
 
         @Override
         public Void method() {
@@ -231,4 +517,47 @@ public class ProductsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
   }
+
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<ProductResponse> create(Product product) {
+      return RxUtils.future(rx().create(product));
+    }
+
+    public VoucherifyFuture<ProductResponse> get(String id) {
+      return RxUtils.future(rx().get(id));
+    }
+
+    public VoucherifyFuture<ProductResponse> update(Product product) {
+      return RxUtils.future(rx().update(product));
+    }
+
+    public VoucherifyFuture<ProductsResponse> list(ProductsFilter filter) {
+      return RxUtils.future(rx().list(filter));
+    }
+
+    public VoucherifyFuture<Void> delete(String id, DeleteProductParams params) {
+      return RxUtils.future(rx().delete(id, params));
+    }
+
+    public VoucherifyFuture<SKUResponse> createSKU(String productId, SKU sku) {
+      return RxUtils.future(rx().createSKU(productId, sku));
+    }
+
+    public VoucherifyFuture<SKUResponse> getSKU(String productId, String skuId) {
+      return RxUtils.future(rx().getSKU(productId, skuId));
+    }
+
+    public VoucherifyFuture<SKUResponse> updateSKU(String productId, SKU sku) {
+      return RxUtils.future(rx().updateSKU(productId, sku));
+    }
+
+    public VoucherifyFuture<SKUsResponse> listSKU(String productId) {
+      return RxUtils.future(rx().listSKU(productId));
+    }
+
+    public VoucherifyFuture<Void> deleteSKU(String productId, String skuId, DeleteSKUParams params) {
+      return RxUtils.future(rx().deleteSKU(productId, skuId, params));
+    }
+  }
 }
@@ -6,25 +6,66 @@ import io.voucherify.client.model.redemption.response.RedemptionsResponse;
 import io.voucherify.client.model.redemption.response.RollbackRedemptionResponse;
 import io.voucherify.client.model.redemption.response.VoucherRedemptionsResponse;
 import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.bulk.BatchReport;
+import io.voucherify.client.bulk.BatchRunner;
+import io.voucherify.client.cache.LocalCache;
+import io.voucherify.client.callback.PageScanCallback;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.model.redemption.BatchRedemption;
 import io.voucherify.client.model.redemption.RedeemVoucher;
 import io.voucherify.client.model.redemption.RedemptionsFilter;
 import io.voucherify.client.model.redemption.response.RedeemVoucherResponse;
+import io.voucherify.client.model.voucher.response.VoucherResponse;
 import io.voucherify.client.module.RedemptionsModule.ExtAsync;
+import io.voucherify.client.module.RedemptionsModule.ExtFutures;
 import io.voucherify.client.module.RedemptionsModule.ExtRxJava;
+import io.voucherify.client.utils.PageScanner;
+import io.voucherify.client.utils.PagePublisher;
 import io.voucherify.client.utils.RxUtils;
 import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Executor;
 
-public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  private final LocalCache<String, VoucherResponse> voucherCache;
+
+  /**
+   * @deprecated use {@link #RedemptionsModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public RedemptionsModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public RedemptionsModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, scheduler, null);
+  }
+
+  /**
+   * @param bulkScheduler runs requests of scans and batch redemptions, whose callers block
+   *                      until they complete; should not share a bounded pool with {@code scheduler}
+   * @param voucherCache cache of {@link VoucherModule} from which redeemed vouchers are dropped, may be null
+   */
+  public RedemptionsModule(VoucherifyApi api, Executor executor, Scheduler scheduler, Scheduler bulkScheduler,
+                           LocalCache<String, VoucherResponse> voucherCache) {
+    super(api, executor, scheduler, bulkScheduler);
+    this.voucherCache = voucherCache;
   }
 
   public RedeemVoucherResponse redeem(String code, RedeemVoucher redeemVoucher) {
-    return api.redeem(code, redeemVoucher);
+    try {
+      return api.redeem(code, redeemVoucher);
+    } finally {
+      invalidateVoucher(code);
+    }
   }
 
   public RedemptionEntryResponse get(String redemptionId) {
@@ -40,7 +81,81 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
   }
 
   public RollbackRedemptionResponse rollback(String redemptionId, String reason, RollbackRedemption rollbackRedemption) {
-    return api.rollbackRedemption(redemptionId, reason, rollbackRedemption);
+    RollbackRedemptionResponse response = api.rollbackRedemption(redemptionId, reason, rollbackRedemption);
+
+    if (response != null && response.getVoucher() != null) {
+      invalidateVoucher(response.getVoucher().getCode());
+    }
+    return response;
+  }
+
+  /**
+   * Fetches all redemptions matching the filter, with up to {@code concurrency} pages requested in parallel,
+   * and returns them in page order. The page of the filter is ignored, the scan always starts from the first page.
+   */
+  public List<RedemptionEntryResponse> scan(RedemptionsFilter redemptionsFilter, int concurrency) {
+    return createScanner(redemptionsFilter, concurrency).scanAll();
+  }
+
+  /**
+   * Same as {@link #scan(RedemptionsFilter, int)} but hands each page to the callback as soon as it can be delivered:
+   * in page order when {@code ordered} is true, otherwise in order of arrival. Progress is reported after every page.
+   */
+  public void scan(RedemptionsFilter redemptionsFilter, int concurrency, boolean ordered, PageScanCallback<RedemptionEntryResponse> callback) {
+    createScanner(redemptionsFilter, concurrency).scan(ordered, callback);
+  }
+
+  /**
+   * Redeems all codes of the batch with up to {@code concurrency} redemptions in flight. Redemptions of the same code,
+   * e.g. several charges of one gift card, run one after another in the order of the batch. Failed redemptions are
+   * reported per item instead of being thrown and are not retried.
+   */
+  public BatchReport<RedeemVoucherResponse> redeemAll(Collection<BatchRedemption> redemptions, int concurrency) {
+    if (redemptions == null) {
+      throw new IllegalArgumentException("Cannot call redeemAll() with null.");
+    }
+
+    return new BatchRunner<BatchRedemption, RedeemVoucherResponse>(concurrency) {
+      @Override
+      protected VoucherifyFuture<RedeemVoucherResponse> execute(final BatchRedemption redemption) {
+        return RxUtils.future(RxUtils.defer(bulkScheduler, new RxUtils.DefFunc<RedeemVoucherResponse>() {
+          @Override
+          public RedeemVoucherResponse method() {
+            return redeem(redemption.getCode(), redemption.getRedeemVoucher());
+          }
+        }));
+      }
+
+      @Override
+      protected String keyOf(BatchRedemption redemption) {
+        return redemption.getCode();
+      }
+    }.runAll(redemptions);
+  }
+
+  private void invalidateVoucher(String code) {
+    if (voucherCache != null && code != null) {
+      voucherCache.invalidate(code);
+    }
+  }
+
+  private PageScanner<RedemptionEntryResponse> createScanner(final RedemptionsFilter redemptionsFilter, int concurrency) {
+    return new PageScanner<RedemptionEntryResponse>(concurrency) {
+      @Override
+      protected VoucherifyFuture<Page<RedemptionEntryResponse>> fetchPage(final int page) {
+        return RxUtils.future(RxUtils.defer(bulkScheduler, new RxUtils.DefFunc<RedemptionsResponse>() {
+          @Override
+          public RedemptionsResponse method() {
+            return list(redemptionsFilter.withPage(page));
+          }
+        })).map(new Func1<RedemptionsResponse, Page<RedemptionEntryResponse>>() {
+          @Override
+          public Page<RedemptionEntryResponse> call(RedemptionsResponse response) {
+            return new Page<RedemptionEntryResponse>(response.getRedemptions(), response.getTotal(), redemptionsFilter.getLimit());
+          }
+        });
+      }
+    };
   }
 
   @Override
@@ -53,6 +168,11 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -63,6 +183,11 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void redeem(String code, RedeemVoucher redeemVoucher, VoucherifyCallback<RedeemVoucherResponse> callback) {
@@ -89,7 +214,7 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<RedeemVoucherResponse> redeem(final String code, final RedeemVoucher redeemVoucher) {
-      return RxUtils.defer(new RxUtils.DefFunc<RedeemVoucherResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<RedeemVoucherResponse>() {
         @Override
         public RedeemVoucherResponse method() {
           return RedemptionsModule.this.redeem(code, redeemVoucher);
@@ -98,7 +223,7 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<RedemptionEntryResponse> get(final String redemptionId) {
-      return RxUtils.defer(new RxUtils.DefFunc<RedemptionEntryResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<RedemptionEntryResponse>() {
         @Override
         public RedemptionEntryResponse method() {
           return RedemptionsModule.this.get(redemptionId);
@@ -107,7 +232,7 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<RedemptionsResponse> list(final RedemptionsFilter redemptionsFilter) {
-      return RxUtils.defer(new RxUtils.DefFunc<RedemptionsResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<RedemptionsResponse>() {
         @Override
         public RedemptionsResponse method() {
           return RedemptionsModule.this.list(redemptionsFilter);
@@ -115,8 +240,25 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
 
+    /**
+     * Emits items of all pages one by one. Further pages are fetched only as the subscriber requests more items.
+     */
+    public Observable<RedemptionEntryResponse> stream(final RedemptionsFilter redemptionsFilter) {
+      return Observable.create(new PagePublisher<RedemptionEntryResponse>(redemptionsFilter.getPage(), redemptionsFilter.getLimit()) {
+        @Override
+        protected Observable<List<RedemptionEntryResponse>> fetchPage(int page) {
+          return list(redemptionsFilter.withPage(page)).map(new Func1<RedemptionsResponse, List<RedemptionEntryResponse>>() {
+            @Override
+            public List<RedemptionEntryResponse> call(RedemptionsResponse response) {
+              return response.getRedemptions();
+            }
+          });
+        }
+      });
+    }
+
     public Observable<VoucherRedemptionsResponse> getForVoucher(final String code) {
-      return RxUtils.defer(new RxUtils.DefFunc<VoucherRedemptionsResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VoucherRedemptionsResponse>() {
         @Override
         public VoucherRedemptionsResponse method() {
           return RedemptionsModule.this.getForVoucher(code);
@@ -125,7 +267,7 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<RollbackRedemptionResponse> rollback(final String redemptionId, final String reason, final RollbackRedemption rollbackRedemption) {
-      return RxUtils.defer(new RxUtils.DefFunc<RollbackRedemptionResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<RollbackRedemptionResponse>() {
         @Override
         public RollbackRedemptionResponse method() {
           return RedemptionsModule.this.rollback(redemptionId, reason, rollbackRedemption);
@@ -133,4 +275,27 @@ public final class RedemptionsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
   }
+
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<RedeemVoucherResponse> redeem(String code, RedeemVoucher redeemVoucher) {
+      return RxUtils.future(rx().redeem(code, redeemVoucher));
+    }
+
+    public VoucherifyFuture<RedemptionEntryResponse> get(String redemptionId) {
+      return RxUtils.future(rx().get(redemptionId));
+    }
+
+    public VoucherifyFuture<RedemptionsResponse> list(RedemptionsFilter redemptionsFilter) {
+      return RxUtils.future(rx().list(redemptionsFilter));
+    }
+
+    public VoucherifyFuture<VoucherRedemptionsResponse> getForVoucher(String code) {
+      return RxUtils.future(rx().getForVoucher(code));
+    }
+
+    public VoucherifyFuture<RollbackRedemptionResponse> rollback(String redemptionId, String reason, RollbackRedemption rollbackRedemption) {
+      return RxUtils.future(rx().rollback(redemptionId, reason, rollbackRedemption));
+    }
+  }
 }
@@ -4,29 +4,75 @@ import io.voucherify.client.model.segment.Segment;
 import io.voucherify.client.model.segment.response.SegmentResponse;
 import io.voucherify.client.api.VoucherifyApi;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.http.ConditionalRequests;
 import io.voucherify.client.module.SegmentsModule.ExtAsync;
+import io.voucherify.client.module.SegmentsModule.ExtFutures;
 import io.voucherify.client.module.SegmentsModule.ExtRxJava;
 import io.voucherify.client.utils.RxUtils;
+import retrofit.client.Response;
 import rx.Observable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
 import java.util.concurrent.Executor;
 
-public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  private final ConditionalRequests conditionalRequests;
+
+  /**
+   * @deprecated use {@link #SegmentsModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public SegmentsModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public SegmentsModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, null);
+  }
+
+  /**
+   * @param conditionalRequests revalidates segments read before by {@link #get(String)} with conditional requests,
+   *                            may be null
+   */
+  public SegmentsModule(VoucherifyApi api, Executor executor, Scheduler scheduler, ConditionalRequests conditionalRequests) {
+    super(api, executor, scheduler);
+    this.conditionalRequests = conditionalRequests;
   }
 
   public SegmentResponse create(Segment segment) {
     return api.createSegment(segment);
   }
 
-  public SegmentResponse get(String id) {
-    return api.getSegment(id);
+  public SegmentResponse get(final String id) {
+    if (conditionalRequests == null) {
+      return api.getSegment(id);
+    }
+
+    return conditionalRequests.get("segments/" + id, SegmentResponse.class,
+            new ConditionalRequests.Request<SegmentResponse>() {
+              @Override
+              public Response execute(String ifNoneMatch, String ifModifiedSince) {
+                return api.getSegment(id, ifNoneMatch, ifModifiedSince);
+              }
+            });
   }
 
   public void delete(String id) {
-    api.deleteSegment(id);
+    try {
+      api.deleteSegment(id);
+    } finally {
+      forgetRevision(id);
+    }
+  }
+
+  private void forgetRevision(String id) {
+    if (conditionalRequests != null) {
+      conditionalRequests.invalidate("segments/" + id);
+    }
   }
 
   @Override
@@ -39,6 +85,11 @@ public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -49,6 +100,11 @@ public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void create(Segment segment, VoucherifyCallback<SegmentResponse> callback) {
@@ -67,7 +123,7 @@ public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava> {
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<SegmentResponse> create(final Segment segment) {
-      return RxUtils.defer(new RxUtils.DefFunc<SegmentResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<SegmentResponse>() {
         @Override
         public SegmentResponse method() {
           return SegmentsModule.this.create(segment);
@@ -76,7 +132,7 @@ public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<SegmentResponse> get(final String id) {
-      return RxUtils.defer(new RxUtils.DefFunc<SegmentResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<SegmentResponse>() {
         @Override
         public SegmentResponse method() {
           return SegmentsModule.this.get(id);
@@ -85,7 +141,7 @@ public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> delete(final String id) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           SegmentsModule.this.delete(id);
@@ -94,4 +150,19 @@ public final class SegmentsModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
   }
-}
\ No newline at end of file
+
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<SegmentResponse> create(Segment segment) {
+      return RxUtils.future(rx().create(segment));
+    }
+
+    public VoucherifyFuture<SegmentResponse> get(String id) {
+      return RxUtils.future(rx().get(id));
+    }
+
+    public VoucherifyFuture<Void> delete(String id) {
+      return RxUtils.future(rx().delete(id));
+    }
+  }
+}
@@ -1,36 +1,176 @@
 package io.voucherify.client.module;
 
 import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.cache.CacheStats;
+import io.voucherify.client.cache.ValidationRulesCache;
+import io.voucherify.client.model.campaign.response.CampaignResponse;
 import io.voucherify.client.model.validationRules.ValidationRules;
 import io.voucherify.client.model.validationRules.response.ValidationRulesResponse;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.http.ConditionalRequests;
 import io.voucherify.client.module.ValidationRulesModule.ExtAsync;
+import io.voucherify.client.module.ValidationRulesModule.ExtFutures;
 import io.voucherify.client.module.ValidationRulesModule.ExtRxJava;
 import io.voucherify.client.utils.RxUtils;
+import io.voucherify.client.validation.CompiledValidationRules;
+import io.voucherify.client.validation.ValidationRulesCompiler;
+import retrofit.client.Response;
 import rx.Observable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
+import java.util.Date;
 import java.util.concurrent.Executor;
 
-public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  private final ValidationRulesCache cache;
+
+  private final ConditionalRequests conditionalRequests;
+
+  private final CampaignsModule campaigns;
+
+  /**
+   * @deprecated use {@link #ValidationRulesModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public ValidationRulesModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public ValidationRulesModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, null, null, null);
+  }
+
+  /**
+   * @param cache cache of compiled rules used by {@link #getCompiled(String)}, or null to always call the API
+   * @param conditionalRequests revalidates rules read before by {@link #get(String)} and {@link #getCompiled(String)}
+   *                            with conditional requests, may be null
+   * @param campaigns reads campaigns for {@link #getCompiledForCampaign(String)}, or null to call the API directly
+   */
+  public ValidationRulesModule(VoucherifyApi api, Executor executor, Scheduler scheduler, ValidationRulesCache cache,
+                               ConditionalRequests conditionalRequests, CampaignsModule campaigns) {
+    super(api, executor, scheduler);
+    this.cache = cache;
+    this.conditionalRequests = conditionalRequests;
+    this.campaigns = campaigns;
   }
 
   public ValidationRulesResponse create(ValidationRules validationRules) {
-    return api.createValidationRules(validationRules);
+    try {
+      return api.createValidationRules(validationRules);
+    } finally {
+      if (cache != null && validationRules.getCampaignName() != null) {
+        cache.invalidateCampaign(validationRules.getCampaignName());
+      }
+    }
   }
 
-  public ValidationRulesResponse get(String id) {
-    return api.getValidationRules(id);
+  public ValidationRulesResponse get(final String id) {
+    if (conditionalRequests == null) {
+      return api.getValidationRules(id);
+    }
+
+    return conditionalRequests.get("validation-rules/" + id, ValidationRulesResponse.class,
+            new ConditionalRequests.Request<ValidationRulesResponse>() {
+              @Override
+              public Response execute(String ifNoneMatch, String ifModifiedSince) {
+                return api.getValidationRules(id, ifNoneMatch, ifModifiedSince);
+              }
+
+              @Override
+              protected Date updatedAt(ValidationRulesResponse rules) {
+                return rules != null ? rules.getUpdatedAt() : null;
+              }
+            });
   }
 
   public ValidationRulesResponse update(ValidationRules validationRules) {
-    return api.updateValidationRules(validationRules.getId(), validationRules);
+    try {
+      return api.updateValidationRules(validationRules.getId(), validationRules);
+    } finally {
+      invalidateCache(validationRules.getId());
+    }
   }
 
   public void delete(String id) {
-    api.deleteValidationRules(id);
+    try {
+      api.deleteValidationRules(id);
+    } finally {
+      invalidateCache(id);
+    }
+  }
+
+  /**
+   * Returns the rules in compiled form, from the cache when it is enabled and holds them.
+   */
+  public CompiledValidationRules getCompiled(String id) {
+    if (cache == null) {
+      return ValidationRulesCompiler.compile(get(id));
+    }
+
+    CompiledValidationRules compiled = cache.get(id);
+    if (compiled != null) {
+      return compiled;
+    }
+
+    long stamp = cache.stamp();
+    return cache.put(get(id), stamp);
+  }
+
+  /**
+   * Vouchers do not reference their rules, so rules of a voucher are only known once they were loaded with
+   * {@link #getCompiled(String)}. Never calls the API.
+   *
+   * @return cached rules assigned to the voucher, or null when none were loaded
+   */
+  public CompiledValidationRules peekCompiledForVoucher(String code) {
+    return cache != null ? cache.getForVoucher(code) : null;
+  }
+
+  /**
+   * Returns the rules assigned to the campaign, compiled from the campaign which embeds them. With the cache enabled
+   * they are kept under the campaign name, as is the absence of rules.
+   *
+   * @return compiled rules, or null when the campaign has no rules
+   */
+  public CompiledValidationRules getCompiledForCampaign(String name) {
+    if (cache == null) {
+      CampaignResponse campaign = getCampaign(name);
+      ValidationRulesResponse rules = campaign != null ? campaign.getValidationRulesResponse() : null;
+      return rules != null ? ValidationRulesCompiler.compile(rules) : null;
+    }
+
+    CompiledValidationRules compiled = cache.getForCampaign(name);
+    if (compiled != null || cache.isCampaignWithoutRules(name)) {
+      return compiled;
+    }
+
+    long stamp = cache.stamp();
+    CampaignResponse campaign = getCampaign(name);
+    return campaign != null ? cache.putForCampaign(name, campaign.getValidationRulesResponse(), stamp) : null;
+  }
+
+  /**
+   * @return statistics of the rules cache or null when the cache is disabled
+   */
+  public CacheStats getCacheStats() {
+    return cache != null ? cache.getStats() : null;
+  }
+
+  private CampaignResponse getCampaign(String name) {
+    return campaigns != null ? campaigns.get(name) : api.getCampaign(name);
+  }
+
+  private void invalidateCache(String id) {
+    if (cache != null && id != null) {
+      cache.invalidate(id);
+    }
+    if (conditionalRequests != null && id != null) {
+      conditionalRequests.invalidate("validation-rules/" + id);
+    }
   }
 
   @Override
@@ -43,6 +183,11 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -53,6 +198,11 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void create(ValidationRules validationRules, VoucherifyCallback<ValidationRulesResponse> callback) {
@@ -63,6 +213,14 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
       RxUtils.subscribe(executor, rx().get(id), callback);
     }
 
+    public void getCompiled(String id, VoucherifyCallback<CompiledValidationRules> callback) {
+      RxUtils.subscribe(executor, rx().getCompiled(id), callback);
+    }
+
+    public void getCompiledForCampaign(String name, VoucherifyCallback<CompiledValidationRules> callback) {
+      RxUtils.subscribe(executor, rx().getCompiledForCampaign(name), callback);
+    }
+
     public void update(ValidationRules validationRules, VoucherifyCallback<ValidationRulesResponse> callback) {
       RxUtils.subscribe(executor, rx().update(validationRules), callback);
     }
@@ -75,7 +233,7 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<ValidationRulesResponse> create(final ValidationRules validationRules) {
-      return RxUtils.defer(new RxUtils.DefFunc<ValidationRulesResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ValidationRulesResponse>() {
         @Override
         public ValidationRulesResponse method() {
           return ValidationRulesModule.this.create(validationRules);
@@ -84,7 +242,7 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
     }
 
     public Observable<ValidationRulesResponse> get(final String id) {
-      return RxUtils.defer(new RxUtils.DefFunc<ValidationRulesResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ValidationRulesResponse>() {
         @Override
         public ValidationRulesResponse method() {
           return ValidationRulesModule.this.get(id);
@@ -92,8 +250,26 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
       });
     }
 
+    public Observable<CompiledValidationRules> getCompiled(final String id) {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CompiledValidationRules>() {
+        @Override
+        public CompiledValidationRules method() {
+          return ValidationRulesModule.this.getCompiled(id);
+        }
+      });
+    }
+
+    public Observable<CompiledValidationRules> getCompiledForCampaign(final String name) {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<CompiledValidationRules>() {
+        @Override
+        public CompiledValidationRules method() {
+          return ValidationRulesModule.this.getCompiledForCampaign(name);
+        }
+      });
+    }
+
     public Observable<ValidationRulesResponse> update(final ValidationRules validationRules) {
-      return RxUtils.defer(new RxUtils.DefFunc<ValidationRulesResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<ValidationRulesResponse>() {
         @Override
         public ValidationRulesResponse method() {
           return ValidationRulesModule.this.update(validationRules);
@@ -102,7 +278,7 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
     }
 
     public Observable<Void> delete(final String id) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           ValidationRulesModule.this.delete(id);
@@ -112,4 +288,31 @@ public final class ValidationRulesModule extends AbsModule<ExtAsync, ExtRxJava>
     }
   }
 
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<ValidationRulesResponse> create(ValidationRules validationRules) {
+      return RxUtils.future(rx().create(validationRules));
+    }
+
+    public VoucherifyFuture<ValidationRulesResponse> get(String id) {
+      return RxUtils.future(rx().get(id));
+    }
+
+    public VoucherifyFuture<CompiledValidationRules> getCompiled(String id) {
+      return RxUtils.future(rx().getCompiled(id));
+    }
+
+    public VoucherifyFuture<CompiledValidationRules> getCompiledForCampaign(String name) {
+      return RxUtils.future(rx().getCompiledForCampaign(name));
+    }
+
+    public VoucherifyFuture<ValidationRulesResponse> update(ValidationRules validationRules) {
+      return RxUtils.future(rx().update(validationRules));
+    }
+
+    public VoucherifyFuture<Void> delete(String id) {
+      return RxUtils.future(rx().delete(id));
+    }
+  }
+
 }
@@ -1,24 +1,131 @@
 package io.voucherify.client.module;
 
 import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.bulk.BatchReport;
+import io.voucherify.client.bulk.BatchRunner;
+import io.voucherify.client.cache.NegativeCache;
+import io.voucherify.client.callback.BatchCallback;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.json.converter.JsonConverter;
 import io.voucherify.client.model.validation.VoucherValidation;
 import io.voucherify.client.model.validation.VoucherValidationResponse;
 import io.voucherify.client.module.ValidationsModule.ExtAsync;
+import io.voucherify.client.module.ValidationsModule.ExtFutures;
 import io.voucherify.client.module.ValidationsModule.ExtRxJava;
 import io.voucherify.client.utils.RxUtils;
+import retrofit.mime.TypedOutput;
 import rx.Observable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
 
+import java.util.Collection;
 import java.util.concurrent.Executor;
 
-public final class ValidationsModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class ValidationsModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  private final NegativeCache negativeCache;
+
+  private final JsonConverter converter;
+
+  /**
+   * @deprecated use {@link #ValidationsModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public ValidationsModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public ValidationsModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, scheduler, null, null);
+  }
+
+  /**
+   * @param bulkScheduler runs requests of {@link #validateAll(Collection, VoucherValidation, int)}, whose caller blocks
+   *                      until they complete; should not share a bounded pool with {@code scheduler}
+   * @param negativeCache codes recently not found or failing regardless of the order, answered by
+   *                      {@link #validate(String, VoucherValidation)} without a request, may be null
+   * @param converter     serializes the cart shared by all codes of
+   *                      {@link #validateAll(Collection, VoucherValidation, int)} once, may be null when every
+   *                      request should serialize it again
+   */
+  public ValidationsModule(VoucherifyApi api, Executor executor, Scheduler scheduler, Scheduler bulkScheduler,
+                           NegativeCache negativeCache, JsonConverter converter) {
+    super(api, executor, scheduler, bulkScheduler);
+    this.negativeCache = negativeCache;
+    this.converter = converter;
   }
 
   public VoucherValidationResponse validate(String code, VoucherValidation voucherValidation) {
-    return api.validateVoucher(code, voucherValidation);
+    return validate(code, voucherValidation, null);
+  }
+
+  /**
+   * Validates all codes against the same cart with up to {@code concurrency} requests in flight. The cart is
+   * serialized once and the same bytes are sent for every code. Failed validations are reported per code instead
+   * of being thrown.
+   */
+  public BatchReport<VoucherValidationResponse> validateAll(Collection<String> codes, VoucherValidation voucherValidation,
+                                                            int concurrency) {
+    return validateAll(codes, voucherValidation, concurrency, null);
+  }
+
+  /**
+   * Same as {@link #validateAll(Collection, VoucherValidation, int)} but also hands each result to the callback
+   * as soon as it arrives, so the best code can be picked before the slowest validation completes.
+   */
+  public BatchReport<VoucherValidationResponse> validateAll(Collection<String> codes, final VoucherValidation voucherValidation,
+                                                            int concurrency, BatchCallback<VoucherValidationResponse> callback) {
+    if (codes == null || voucherValidation == null) {
+      throw new IllegalArgumentException("Cannot call validateAll() with null.");
+    }
+
+    final TypedOutput body = converter != null ? converter.toBody(voucherValidation) : null;
+
+    return new BatchRunner<String, VoucherValidationResponse>(concurrency) {
+      @Override
+      protected VoucherifyFuture<VoucherValidationResponse> execute(final String code) {
+        return RxUtils.future(RxUtils.defer(bulkScheduler, new RxUtils.DefFunc<VoucherValidationResponse>() {
+          @Override
+          public VoucherValidationResponse method() {
+            return validate(code, voucherValidation, body);
+          }
+        }));
+      }
+    }.runAll(codes, callback);
+  }
+
+  /**
+   * @param body serialized validation to send instead of serializing it again, may be null
+   */
+  private VoucherValidationResponse validate(String code, VoucherValidation voucherValidation, TypedOutput body) {
+    if (negativeCache == null) {
+      return send(code, voucherValidation, body);
+    }
+
+    Object cached = negativeCache.lookup(code);
+    if (cached instanceof VoucherValidationResponse) {
+      return (VoucherValidationResponse) cached;
+    }
+    if (cached instanceof VoucherifyError) {
+      throw (VoucherifyError) cached;
+    }
+
+    long stamp = negativeCache.stamp();
+    try {
+      VoucherValidationResponse response = send(code, voucherValidation, body);
+      negativeCache.recordValidation(code, response, stamp);
+      return response;
+    } catch (RuntimeException e) {
+      negativeCache.recordFailure(code, e, stamp);
+      throw e;
+    }
+  }
+
+  private VoucherValidationResponse send(String code, VoucherValidation voucherValidation, TypedOutput body) {
+    return body != null ? api.validateVoucher(code, body) : api.validateVoucher(code, voucherValidation);
   }
 
   @Override
@@ -31,6 +138,11 @@ public final class ValidationsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -41,6 +153,11 @@ public final class ValidationsModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void validate(String code, VoucherValidation voucherValidation, VoucherifyCallback<VoucherValidationResponse> callback) {
@@ -51,7 +168,7 @@ public final class ValidationsModule extends AbsModule<ExtAsync, ExtRxJava> {
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<VoucherValidationResponse> validate(final String code, final VoucherValidation voucherValidation) {
-      return RxUtils.defer(new RxUtils.DefFunc<VoucherValidationResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VoucherValidationResponse>() {
         @Override
         public VoucherValidationResponse method() {
           return ValidationsModule.this.validate(code, voucherValidation);
@@ -60,4 +177,11 @@ public final class ValidationsModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
   }
 
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<VoucherValidationResponse> validate(String code, VoucherValidation voucherValidation) {
+      return RxUtils.future(rx().validate(code, voucherValidation));
+    }
+  }
+
 }
@@ -1,45 +1,135 @@
 package io.voucherify.client.module;
 
 import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.bulk.BulkImportConfig;
+import io.voucherify.client.bulk.BulkImportReport;
+import io.voucherify.client.bulk.ChunkedUploader;
+import io.voucherify.client.cache.CacheStats;
+import io.voucherify.client.cache.LocalCache;
+import io.voucherify.client.cache.NegativeCache;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.json.converter.JsonConverter;
 import io.voucherify.client.model.voucher.AddBalance;
 import io.voucherify.client.model.voucher.CreateVoucher;
 import io.voucherify.client.model.voucher.ImportVouchers;
+import io.voucherify.client.model.voucher.StreamedImportVouchers;
+import io.voucherify.client.model.voucher.Voucher;
 import io.voucherify.client.model.voucher.VoucherUpdate;
 import io.voucherify.client.model.voucher.VouchersFilter;
 import io.voucherify.client.model.voucher.response.AddBalanceResponse;
 import io.voucherify.client.model.voucher.response.VoucherResponse;
 import io.voucherify.client.model.voucher.response.VouchersResponse;
 import io.voucherify.client.module.VoucherModule.ExtAsync;
+import io.voucherify.client.module.VoucherModule.ExtFutures;
 import io.voucherify.client.module.VoucherModule.ExtRxJava;
+import io.voucherify.client.utils.PageIterator;
+import io.voucherify.client.utils.PagePublisher;
 import io.voucherify.client.utils.RxUtils;
+import io.voucherify.client.utils.SingleFlight;
 import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.Executor;
 
-public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
+public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava, ExtFutures> {
 
+  private final LocalCache<String, VoucherResponse> cache;
+
+  private final SingleFlight singleFlight;
+
+  private final NegativeCache negativeCache;
+
+  private final JsonConverter converter;
+
+  /**
+   * @deprecated use {@link #VoucherModule(VoucherifyApi, Executor, Scheduler)}; calls made through this module run on
+   * {@link Schedulers#io()}
+   */
+  @Deprecated
   public VoucherModule(VoucherifyApi api, Executor executor) {
-    super(api, executor);
+    this(api, executor, Schedulers.io());
+  }
+
+  public VoucherModule(VoucherifyApi api, Executor executor, Scheduler scheduler) {
+    this(api, executor, scheduler, scheduler, null, null, null, null);
+  }
+
+  /**
+   * @param bulkScheduler runs requests of chunked imports and page iterators, whose callers block
+   *                      until they complete; should not share a bounded pool with {@code scheduler}
+   * @param cache cache of vouchers by code used by {@link #get(String)}, or null to always call the API
+   * @param singleFlight collapses concurrent {@link #get(String)} calls for the same code, may be null
+   * @param negativeCache codes recently not found, answered by {@link #get(String)} without a request, may be null
+   * @param converter measures vouchers for byte-bounded chunks of {@link #importVouchers(Iterator, BulkImportConfig)},
+   *                  may be null when imports are bounded by count only
+   */
+  public VoucherModule(VoucherifyApi api, Executor executor, Scheduler scheduler, Scheduler bulkScheduler,
+                       LocalCache<String, VoucherResponse> cache, SingleFlight singleFlight, NegativeCache negativeCache,
+                       JsonConverter converter) {
+    super(api, executor, scheduler, bulkScheduler);
+    this.cache = cache;
+    this.singleFlight = singleFlight;
+    this.negativeCache = negativeCache;
+    this.converter = converter;
   }
 
   public VoucherResponse create(CreateVoucher createVoucher) {
-    if (createVoucher.getVoucher().getCode() != null) {
-      return api.createVoucher(createVoucher.getVoucher().getCode(), createVoucher);
+    String code = createVoucher.getVoucher().getCode();
+    try {
+      if (code != null) {
+        return api.createVoucher(code, createVoucher);
+      }
+      return api.createVoucher(createVoucher);
+    } finally {
+      if (negativeCache != null && code != null) {
+        negativeCache.forget(code);
+      }
     }
-    return api.createVoucher(createVoucher);
   }
 
+  /**
+   * When the negative cache is enabled, a code recently not found fails with a {@link VoucherifyError}
+   * without calling the API.
+   */
   public VoucherResponse get(String code) {
-    return api.getVoucher(code);
+    if (negativeCache == null) {
+      return getVoucher(code);
+    }
+
+    VoucherifyError error = negativeCache.getError(code);
+    if (error != null) {
+      throw error;
+    }
+
+    long stamp = negativeCache.stamp();
+    try {
+      return getVoucher(code);
+    } catch (RuntimeException e) {
+      negativeCache.recordFailure(code, e, stamp);
+      throw e;
+    }
   }
 
   public VoucherResponse update(String code, VoucherUpdate voucherUpdate) {
-    return api.updateVoucher(code, voucherUpdate);
+    try {
+      return api.updateVoucher(code, voucherUpdate);
+    } finally {
+      onVoucherChanged(code);
+    }
   }
 
   public void delete(String code, Boolean force) {
-    api.deleteVoucher(code, force);
+    try {
+      api.deleteVoucher(code, force);
+    } finally {
+      onVoucherChanged(code);
+    }
   }
 
   public VouchersResponse list(VouchersFilter vouchersFilter) {
@@ -47,19 +137,177 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
   }
 
   public VoucherResponse disable(String code) {
-    return api.disable(code);
+    try {
+      return api.disable(code);
+    } finally {
+      onVoucherChanged(code);
+    }
   }
 
   public VoucherResponse enable(String code) {
-    return api.enable(code);
+    try {
+      return api.enable(code);
+    } finally {
+      onVoucherChanged(code);
+    }
   }
 
   public AddBalanceResponse addBalance(String code, AddBalance addBalance) {
-    return api.addBalance(code, addBalance);
+    try {
+      return api.addBalance(code, addBalance);
+    } finally {
+      onVoucherChanged(code);
+    }
   }
 
   public void importVouchers(ImportVouchers vouchers) {
-    api.importVouchers(vouchers);
+    try {
+      api.importVouchers(vouchers);
+    } finally {
+      if (negativeCache != null) {
+        negativeCache.clear();
+      }
+    }
+  }
+
+  /**
+   * Imports vouchers in a single request whose body is written while the vouchers are pulled from the source, so
+   * they are never held in memory together. The request is not repeatable when the source is an iterator.
+   */
+  public void importVouchers(StreamedImportVouchers vouchers) {
+    try {
+      api.importVouchers(vouchers);
+    } finally {
+      if (negativeCache != null) {
+        negativeCache.clear();
+      }
+    }
+  }
+
+  /**
+   * Imports vouchers pulled from the iterator in chunks, uploading several chunks at once and retrying failed
+   * chunks individually, as set in the config. Blocks until all chunks are done; failures are reported per chunk
+   * instead of being thrown.
+   */
+  public BulkImportReport importVouchers(Iterator<Voucher> vouchers, BulkImportConfig config) {
+    if (vouchers == null || config == null) {
+      throw new IllegalArgumentException("Cannot call importVouchers() with null.");
+    }
+
+    if (config.isByteBounded() && converter == null) {
+      throw new IllegalArgumentException("Cannot bound chunks by bytes without a converter.");
+    }
+
+    return new ChunkedUploader<Voucher>(config) {
+      @Override
+      protected VoucherifyFuture<Void> upload(final List<Voucher> chunk) {
+        return RxUtils.future(RxUtils.defer(bulkScheduler, new RxUtils.DefFunc<Void>() {
+          @Override
+          public Void method() {
+            importVouchers(ImportVouchers.builder().vouchers(chunk).build());
+            return null;
+          }
+        }));
+      }
+
+      @Override
+      protected long sizeOf(Voucher voucher) {
+        return converter.sizeOf(voucher);
+      }
+    }.uploadAll(vouchers);
+  }
+
+  /**
+   * Lazily walks all pages matching the filter, starting from its page (or the first one), prefetching
+   * the next page in the background. Close the iterator when abandoning the iteration early.
+   */
+  public PageIterator<VoucherResponse> iterate(final VouchersFilter vouchersFilter) {
+    return new PageIterator<VoucherResponse>(vouchersFilter.getPage(), vouchersFilter.getLimit()) {
+      @Override
+      protected VoucherifyFuture<List<VoucherResponse>> fetchPage(final int page) {
+        return RxUtils.future(RxUtils.defer(bulkScheduler, new RxUtils.DefFunc<VouchersResponse>() {
+          @Override
+          public VouchersResponse method() {
+            return list(vouchersFilter.withPage(page));
+          }
+        })).map(new Func1<VouchersResponse, List<VoucherResponse>>() {
+          @Override
+          public List<VoucherResponse> call(VouchersResponse response) {
+            return response.getVouchers();
+          }
+        });
+      }
+    };
+  }
+
+  private VoucherResponse getVoucher(String code) {
+    if (cache == null) {
+      return fetch(code);
+    }
+
+    VoucherResponse voucher = cache.get(code);
+    if (voucher != null) {
+      return voucher;
+    }
+
+    long stamp = cache.stamp();
+    voucher = fetch(code);
+    cache.putIfNotInvalidatedSince(code, voucher, stamp);
+    return voucher;
+  }
+
+  private VoucherResponse fetch(final String code) {
+    if (singleFlight == null) {
+      return api.getVoucher(code);
+    }
+
+    return singleFlight.execute("vouchers/" + code, new SingleFlight.Loader<VoucherResponse>() {
+      @Override
+      public VoucherResponse load() {
+        return api.getVoucher(code);
+      }
+    });
+  }
+
+  /**
+   * Drops the voucher from the cache and from the negative cache, as a change may make a rejected code usable again.
+   */
+  private void onVoucherChanged(String code) {
+    invalidateCache(code);
+
+    if (negativeCache != null) {
+      negativeCache.forget(code);
+    }
+  }
+
+  /**
+   * Drops the cached voucher, e.g. after it was changed by another client. Does nothing when the cache is disabled.
+   */
+  public void invalidateCache(String code) {
+    if (cache != null) {
+      cache.invalidate(code);
+    }
+  }
+
+  /**
+   * @return statistics of the voucher cache or null when the cache is disabled
+   */
+  public CacheStats getCacheStats() {
+    return cache != null ? cache.stats() : null;
+  }
+
+  /**
+   * @return statistics of the negative cache or null when it is disabled
+   */
+  public CacheStats getNegativeCacheStats() {
+    return negativeCache != null ? negativeCache.getStats() : null;
+  }
+
+  /**
+   * @return number of calls answered by the negative cache instead of the API, 0 when it is disabled
+   */
+  public long getNegativeCacheAbsorbedCount() {
+    return negativeCache != null ? negativeCache.getAbsorbedCount() : 0;
   }
 
   @Override
@@ -72,6 +320,11 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     return new ExtRxJava();
   }
 
+  @Override
+  ExtFutures createFuturesExtension() {
+    return new ExtFutures();
+  }
+
   @Override
   public ExtAsync async() {
     return extAsync;
@@ -82,6 +335,11 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     return extRxJava;
   }
 
+  @Override
+  public ExtFutures futures() {
+    return extFutures;
+  }
+
   public class ExtAsync extends AbsModule.Async {
 
     public void list(VouchersFilter filter, VoucherifyCallback<VouchersResponse> callback) {
@@ -115,12 +373,16 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     public void importVouchers(ImportVouchers importVouchers, VoucherifyCallback<Void> callback) {
       RxUtils.subscribe(executor, rx().importVouchers(importVouchers), callback);
     }
+
+    public void importVouchers(StreamedImportVouchers importVouchers, VoucherifyCallback<Void> callback) {
+      RxUtils.subscribe(executor, rx().importVouchers(importVouchers), callback);
+    }
   }
 
   public class ExtRxJava extends AbsModule.Rx {
 
     public Observable<VoucherResponse> create(final CreateVoucher createVoucher) {
-      return RxUtils.defer(new RxUtils.DefFunc<VoucherResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VoucherResponse>() {
         @Override
         public VoucherResponse method() {
           return VoucherModule.this.create(createVoucher);
@@ -129,7 +391,7 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<VoucherResponse> get(final String code) {
-      return RxUtils.defer(new RxUtils.DefFunc<VoucherResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VoucherResponse>() {
         @Override
         public VoucherResponse method() {
           return VoucherModule.this.get(code);
@@ -138,7 +400,7 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<VoucherResponse> update(final String code, final VoucherUpdate voucherUpdate) {
-      return RxUtils.defer(new RxUtils.DefFunc<VoucherResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VoucherResponse>() {
         @Override
         public VoucherResponse method() {
           return VoucherModule.this.update(code, voucherUpdate);
@@ -147,7 +409,7 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> delete(final String code, final Boolean force) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           VoucherModule.this.delete(code, force);
@@ -157,7 +419,7 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<VouchersResponse> list(final VouchersFilter vouchersFilter) {
-      return RxUtils.defer(new RxUtils.DefFunc<VouchersResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VouchersResponse>() {
         @Override
         public VouchersResponse method() {
           return VoucherModule.this.list(vouchersFilter);
@@ -165,8 +427,25 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
       });
     }
 
+    /**
+     * Emits items of all pages one by one. Further pages are fetched only as the subscriber requests more items.
+     */
+    public Observable<VoucherResponse> stream(final VouchersFilter vouchersFilter) {
+      return Observable.create(new PagePublisher<VoucherResponse>(vouchersFilter.getPage(), vouchersFilter.getLimit()) {
+        @Override
+        protected Observable<List<VoucherResponse>> fetchPage(int page) {
+          return list(vouchersFilter.withPage(page)).map(new Func1<VouchersResponse, List<VoucherResponse>>() {
+            @Override
+            public List<VoucherResponse> call(VouchersResponse response) {
+              return response.getVouchers();
+            }
+          });
+        }
+      });
+    }
+
     public Observable<VoucherResponse> disable(final String code) {
-      return RxUtils.defer(new RxUtils.DefFunc<VoucherResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VoucherResponse>() {
         @Override
         public VoucherResponse method() {
           return VoucherModule.this.disable(code);
@@ -175,7 +454,7 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<VoucherResponse> enable(final String code) {
-      return RxUtils.defer(new RxUtils.DefFunc<VoucherResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<VoucherResponse>() {
         @Override
         public VoucherResponse method() {
           return VoucherModule.this.enable(code);
@@ -184,7 +463,7 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<AddBalanceResponse> addBalance(final String code, final AddBalance addBalance) {
-      return RxUtils.defer(new RxUtils.DefFunc<AddBalanceResponse>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<AddBalanceResponse>() {
         @Override
         public AddBalanceResponse method() {
           return VoucherModule.this.addBalance(code, addBalance);
@@ -193,7 +472,17 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
 
     public Observable<Void> importVouchers(final ImportVouchers importVouchers) {
-      return RxUtils.defer(new RxUtils.DefFunc<Void>() {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
+        @Override
+        public Void method() {
+          VoucherModule.this.importVouchers(importVouchers);
+          return null;
+        }
+      });
+    }
+
+    public Observable<Void> importVouchers(final StreamedImportVouchers importVouchers) {
+      return RxUtils.defer(scheduler, new RxUtils.DefFunc<Void>() {
         @Override
         public Void method() {
           VoucherModule.this.importVouchers(importVouchers);
@@ -203,4 +492,47 @@ public final class VoucherModule extends AbsModule<ExtAsync, ExtRxJava> {
     }
   }
 
+  public class ExtFutures extends AbsModule.Futures {
+
+    public VoucherifyFuture<VoucherResponse> create(CreateVoucher createVoucher) {
+      return RxUtils.future(rx().create(createVoucher));
+    }
+
+    public VoucherifyFuture<VoucherResponse> get(String code) {
+      return RxUtils.future(rx().get(code));
+    }
+
+    public VoucherifyFuture<VoucherResponse> update(String code, VoucherUpdate voucherUpdate) {
+      return RxUtils.future(rx().update(code, voucherUpdate));
+    }
+
+    public VoucherifyFuture<Void> delete(String code, Boolean force) {
+      return RxUtils.future(rx().delete(code, force));
+    }
+
+    public VoucherifyFuture<VouchersResponse> list(VouchersFilter vouchersFilter) {
+      return RxUtils.future(rx().list(vouchersFilter));
+    }
+
+    public VoucherifyFuture<VoucherResponse> disable(String code) {
+      return RxUtils.future(rx().disable(code));
+    }
+
+    public VoucherifyFuture<VoucherResponse> enable(String code) {
+      return RxUtils.future(rx().enable(code));
+    }
+
+    public VoucherifyFuture<AddBalanceResponse> addBalance(String code, AddBalance addBalance) {
+      return RxUtils.future(rx().addBalance(code, addBalance));
+    }
+
+    public VoucherifyFuture<Void> importVouchers(ImportVouchers importVouchers) {
+      return RxUtils.future(rx().importVouchers(importVouchers));
+    }
+
+    public VoucherifyFuture<Void> importVouchers(StreamedImportVouchers importVouchers) {
+      return RxUtils.future(rx().importVouchers(importVouchers));
+    }
+  }
+
 }
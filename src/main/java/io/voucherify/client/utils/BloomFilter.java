@@ -0,0 +1,84 @@
+package io.voucherify.client.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size, thread-safe set of strings which may answer {@code true} for strings never added, with the
+ * configured probability, but never answers {@code false} for an added string.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray bits;
+
+  private final int bitCount;
+
+  private final int hashCount;
+
+  public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions < 1) {
+      throw new IllegalArgumentException("Expected insertions must be greater than 0.");
+    }
+
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+    }
+
+    long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bitCount = (int) Math.min(Math.max(optimalBits, 64L), Integer.MAX_VALUE - 63L);
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    this.bits = new AtomicLongArray((bitCount + 63) / 64);
+  }
+
+  public void add(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+
+    for (int i = 0; i < hashCount; i++) {
+      int index = index(h1 + i * h2);
+      int word = index >>> 6;
+      long mask = 1L << index;
+
+      while (true) {
+        long current = bits.get(word);
+        if ((current & mask) != 0 || bits.compareAndSet(word, current, current | mask)) {
+          break;
+        }
+      }
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+
+    for (int i = 0; i < hashCount; i++) {
+      int index = index(h1 + i * h2);
+      if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int index(int combinedHash) {
+    return (combinedHash & Integer.MAX_VALUE) % bitCount;
+  }
+
+  /**
+   * 64-bit FNV-1a over the characters, followed by a finalizer which spreads the bits.
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
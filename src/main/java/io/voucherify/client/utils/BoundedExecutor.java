@@ -0,0 +1,96 @@
+package io.voucherify.client.utils;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor which runs at most {@code maxInFlight} tasks on the delegate at the same time.
+ * Tasks over the limit are queued or rejected depending on the {@link OverflowPolicy}.
+ */
+public final class BoundedExecutor implements Executor {
+
+  private final Executor delegate;
+
+  private final int maxInFlight;
+
+  private final OverflowPolicy overflowPolicy;
+
+  private final Queue<Runnable> queue = new LinkedList<Runnable>();
+
+  private int inFlight;
+
+  public BoundedExecutor(Executor delegate, int maxInFlight, OverflowPolicy overflowPolicy) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Delegate executor must be defined.");
+    }
+
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("Max in flight must be greater than 0.");
+    }
+
+    if (overflowPolicy == null) {
+      throw new IllegalArgumentException("Overflow policy must be defined.");
+    }
+
+    this.delegate = delegate;
+    this.maxInFlight = maxInFlight;
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    synchronized (this) {
+      if (inFlight >= maxInFlight) {
+        if (overflowPolicy == OverflowPolicy.REJECT) {
+          throw new RejectedExecutionException("Too many requests in flight, limit is " + maxInFlight);
+        }
+
+        queue.add(task);
+        return;
+      }
+      inFlight++;
+    }
+    submit(task);
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  public synchronized int getQueued() {
+    return queue.size();
+  }
+
+  private void submit(final Runnable task) {
+    try {
+      delegate.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            task.run();
+          } finally {
+            onTaskFinished();
+          }
+        }
+      });
+    } catch (RuntimeException e) {
+      onTaskFinished();
+      throw e;
+    }
+  }
+
+  private void onTaskFinished() {
+    Runnable next;
+    synchronized (this) {
+      next = queue.poll();
+
+      if (next == null) {
+        inFlight--;
+        return;
+      }
+    }
+    submit(next);
+  }
+}
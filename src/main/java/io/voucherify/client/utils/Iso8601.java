@@ -0,0 +1,212 @@
+package io.voucherify.client.utils;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Lock-free parser and formatter for the two date shapes used by the API:
+ * {@code yyyy-MM-dd'T'HH:mm:ssXXX} and {@code yyyy-MM-dd'T'HH:mm:ss.SSSXXX}.
+ * Parsing returns null instead of throwing when the text has a different shape, so callers can fall back
+ * to a general purpose {@link java.text.DateFormat} without paying for exceptions on the happy path.
+ * Only years 1583-9999 are handled, where the proleptic Gregorian calendar matches {@link java.util.GregorianCalendar}.
+ */
+public final class Iso8601 {
+
+  private static final long MILLIS_PER_SECOND = 1000L;
+  private static final long MILLIS_PER_MINUTE = 60L * MILLIS_PER_SECOND;
+  private static final long MILLIS_PER_HOUR = 60L * MILLIS_PER_MINUTE;
+  private static final long MILLIS_PER_DAY = 24L * MILLIS_PER_HOUR;
+
+  private static final int MIN_YEAR = 1583;
+  private static final int MAX_YEAR = 9999;
+
+  private Iso8601() {}
+
+  /**
+   * @param fractionRequired whether the text must contain exactly three digits of milliseconds
+   * @return parsed date or null when the text does not match the expected shape
+   */
+  public static Date parse(String text, boolean fractionRequired) {
+    if (text == null || text.length() < 20) {
+      return null;
+    }
+
+    int year = digits(text, 0, 4);
+    int month = digits(text, 5, 2);
+    int day = digits(text, 8, 2);
+    int hour = digits(text, 11, 2);
+    int minute = digits(text, 14, 2);
+    int second = digits(text, 17, 2);
+
+    if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+            || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+      return null;
+    }
+
+    if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+            || text.charAt(13) != ':' || text.charAt(16) != ':') {
+      return null;
+    }
+
+    int pos = 19;
+    int millis = 0;
+
+    if (fractionRequired) {
+      if (text.length() < 24 || text.charAt(pos) != '.') {
+        return null;
+      }
+
+      millis = digits(text, pos + 1, 3);
+      if (millis < 0) {
+        return null;
+      }
+      pos += 4;
+    }
+
+    long offsetMillis = parseOffset(text, pos);
+    if (offsetMillis == Long.MIN_VALUE) {
+      return null;
+    }
+
+    long epochMillis = daysFromCivil(year, month, day) * MILLIS_PER_DAY
+            + hour * MILLIS_PER_HOUR
+            + minute * MILLIS_PER_MINUTE
+            + second * MILLIS_PER_SECOND
+            + millis
+            - offsetMillis;
+
+    return new Date(epochMillis);
+  }
+
+  /**
+   * Formats the date in the given time zone, or returns null when the year is out of the supported range.
+   */
+  public static String format(Date date, TimeZone timeZone, boolean withFraction) {
+    long epochMillis = date.getTime();
+    int offsetMillis = timeZone.getOffset(epochMillis);
+    long localMillis = epochMillis + offsetMillis;
+
+    long days = floorDiv(localMillis, MILLIS_PER_DAY);
+    long millisOfDay = localMillis - days * MILLIS_PER_DAY;
+
+    long z = days + 719468;
+    long era = floorDiv(z, 146097);
+    long dayOfEra = z - era * 146097;
+    long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    long monthIndex = (5 * dayOfYear + 2) / 153;
+    int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+    int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+    int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+    if (year < MIN_YEAR || year > MAX_YEAR) {
+      return null;
+    }
+
+    StringBuilder sb = new StringBuilder(29);
+    pad(sb, year, 4).append('-');
+    pad(sb, month, 2).append('-');
+    pad(sb, day, 2).append('T');
+    pad(sb, (int) (millisOfDay / MILLIS_PER_HOUR), 2).append(':');
+    pad(sb, (int) (millisOfDay / MILLIS_PER_MINUTE % 60), 2).append(':');
+    pad(sb, (int) (millisOfDay / MILLIS_PER_SECOND % 60), 2);
+
+    if (withFraction) {
+      sb.append('.');
+      pad(sb, (int) (millisOfDay % MILLIS_PER_SECOND), 3);
+    }
+
+    if (offsetMillis == 0) {
+      return sb.append('Z').toString();
+    }
+
+    int offsetMinutes = Math.abs(offsetMillis) / (int) MILLIS_PER_MINUTE;
+    sb.append(offsetMillis < 0 ? '-' : '+');
+    pad(sb, offsetMinutes / 60, 2).append(':');
+    pad(sb, offsetMinutes % 60, 2);
+    return sb.toString();
+  }
+
+  /**
+   * Accepts {@code Z} and {@code +hh:mm} at the end of the text, the same forms {@code XXX} parses.
+   * Returns {@link Long#MIN_VALUE} when the offset is invalid.
+   */
+  private static long parseOffset(String text, int pos) {
+    int length = text.length() - pos;
+
+    if (length == 1 && text.charAt(pos) == 'Z') {
+      return 0;
+    }
+
+    if (length != 6 || text.charAt(pos + 3) != ':') {
+      return Long.MIN_VALUE;
+    }
+
+    char sign = text.charAt(pos);
+    if (sign != '+' && sign != '-') {
+      return Long.MIN_VALUE;
+    }
+
+    int hours = digits(text, pos + 1, 2);
+    int minutes = digits(text, pos + 4, 2);
+
+    if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+      return Long.MIN_VALUE;
+    }
+
+    long offset = hours * MILLIS_PER_HOUR + minutes * MILLIS_PER_MINUTE;
+    return sign == '-' ? -offset : offset;
+  }
+
+  private static int digits(String text, int start, int count) {
+    int value = 0;
+    for (int i = start; i < start + count; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static int daysInMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        return leap ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  private static long daysFromCivil(int year, int month, int day) {
+    int y = month <= 2 ? year - 1 : year;
+    int era = y / 400;
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097L + dayOfEra - 719468;
+  }
+
+  private static long floorDiv(long x, long y) {
+    long q = x / y;
+    if ((x % y != 0) && ((x ^ y) < 0)) {
+      q--;
+    }
+    return q;
+  }
+
+  private static StringBuilder pad(StringBuilder sb, int value, int width) {
+    String digits = Integer.toString(value);
+    for (int i = digits.length(); i < width; i++) {
+      sb.append('0');
+    }
+    return sb.append(digits);
+  }
+}
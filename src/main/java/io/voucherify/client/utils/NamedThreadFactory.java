@@ -0,0 +1,22 @@
+package io.voucherify.client.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class NamedThreadFactory implements ThreadFactory {
+
+  private final AtomicInteger counter = new AtomicInteger();
+
+  private final String prefix;
+
+  public NamedThreadFactory(String prefix) {
+    this.prefix = prefix;
+  }
+
+  @Override
+  public Thread newThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+}
@@ -0,0 +1,30 @@
+package io.voucherify.client.utils;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterable over an iterator, e.g. a database cursor, which can be iterated only once.
+ */
+public final class OneShotIterable<T> implements Iterable<T> {
+
+  private final Iterator<T> iterator;
+
+  private final AtomicBoolean used = new AtomicBoolean();
+
+  public OneShotIterable(Iterator<T> iterator) {
+    if (iterator == null) {
+      throw new IllegalArgumentException("Cannot create iterable with null iterator.");
+    }
+
+    this.iterator = iterator;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    if (!used.compareAndSet(false, true)) {
+      throw new IllegalStateException("The iterator has already been consumed.");
+    }
+    return iterator;
+  }
+}
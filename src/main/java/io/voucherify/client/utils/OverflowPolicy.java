@@ -0,0 +1,17 @@
+package io.voucherify.client.utils;
+
+/**
+ * Decides what happens to a request submitted while the maximum number of requests is already in flight.
+ */
+public enum OverflowPolicy {
+
+  /**
+   * Request waits in memory until one of the in-flight requests completes.
+   */
+  QUEUE,
+
+  /**
+   * Request fails immediately with {@link java.util.concurrent.RejectedExecutionException}.
+   */
+  REJECT
+}
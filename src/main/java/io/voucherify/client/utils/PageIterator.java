@@ -0,0 +1,106 @@
+package io.voucherify.client.utils;
+
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Iterates over all items of a paged list endpoint. Pages are fetched lazily; while the caller consumes
+ * one page the next one is already being fetched in the background. Only the page being consumed and the
+ * one being prefetched are referenced, so memory stays constant regardless of the total number of items.
+ * The iteration stops at the first empty page, or at the first page shorter than {@code pageSize} when it is known.
+ */
+public abstract class PageIterator<T> implements Iterator<T>, Closeable {
+
+  private final Integer pageSize;
+
+  private int nextPage;
+
+  private Iterator<T> current = Collections.<T>emptyList().iterator();
+
+  private VoucherifyFuture<List<T>> prefetched;
+
+  private boolean lastPageReached;
+
+  protected PageIterator(Integer firstPage, Integer pageSize) {
+    this.nextPage = firstPage != null ? firstPage : 1;
+    this.pageSize = pageSize;
+  }
+
+  protected abstract VoucherifyFuture<List<T>> fetchPage(int page);
+
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      if (prefetched == null) {
+        if (lastPageReached) {
+          return false;
+        }
+        prefetched = fetchPage(nextPage++);
+      }
+
+      List<T> page = await(prefetched);
+      prefetched = null;
+
+      if (page == null || page.isEmpty()) {
+        lastPageReached = true;
+        return false;
+      }
+
+      lastPageReached = pageSize != null && page.size() < pageSize;
+      current = page.iterator();
+
+      if (!lastPageReached) {
+        prefetched = fetchPage(nextPage++);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("remove");
+  }
+
+  /**
+   * Stops the iteration and cancels the prefetch of the next page, if any.
+   */
+  @Override
+  public void close() {
+    if (prefetched != null) {
+      prefetched.cancel(true);
+      prefetched = null;
+    }
+    lastPageReached = true;
+    current = Collections.<T>emptyList().iterator();
+  }
+
+  private List<T> await(VoucherifyFuture<List<T>> page) {
+    try {
+      return page.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw VoucherifyError.from(e);
+    } catch (ExecutionException e) {
+      close();
+      if (e.getCause() instanceof VoucherifyError) {
+        throw (VoucherifyError) e.getCause();
+      }
+      throw VoucherifyError.from(e.getCause());
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package io.voucherify.client.utils;
+
+import rx.Observable;
+import rx.Producer;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits all items of a paged list endpoint one by one, honouring the backpressure requests of the subscriber.
+ * The next page is requested only when the subscriber asks for more items than are left in the current page,
+ * so at most one page is held in memory and one more is in flight, however slow the subscriber is.
+ * The stream completes at the first empty page, or at the first page shorter than {@code pageSize} when it is known.
+ */
+public abstract class PagePublisher<T> implements Observable.OnSubscribe<T> {
+
+  private final Integer firstPage;
+
+  private final Integer pageSize;
+
+  protected PagePublisher(Integer firstPage, Integer pageSize) {
+    this.firstPage = firstPage;
+    this.pageSize = pageSize;
+  }
+
+  protected abstract Observable<List<T>> fetchPage(int page);
+
+  @Override
+  public void call(Subscriber<? super T> subscriber) {
+    final PageProducer producer = new PageProducer(subscriber);
+    subscriber.add(Subscriptions.create(new Action0() {
+      @Override
+      public void call() {
+        producer.cancelFetch();
+      }
+    }));
+    subscriber.setProducer(producer);
+  }
+
+  private final class PageProducer implements Producer {
+
+    private final Subscriber<? super T> subscriber;
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private int nextPage = firstPage != null ? firstPage : 1;
+
+    private List<T> current = Collections.emptyList();
+
+    private int index;
+
+    private boolean lastPageReached;
+
+    private volatile boolean fetching;
+
+    private volatile List<T> arrived;
+
+    private volatile Throwable error;
+
+    private volatile Subscription fetch;
+
+    private PageProducer(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n < 0) {
+        throw new IllegalArgumentException("Cannot request negative number of items.");
+      }
+
+      if (n == 0) {
+        return;
+      }
+
+      for (;;) {
+        long current = requested.get();
+        long next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        if (requested.compareAndSet(current, next)) {
+          break;
+        }
+      }
+      drain();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+
+      int missed = 1;
+      do {
+        for (;;) {
+          if (subscriber.isUnsubscribed()) {
+            return;
+          }
+
+          long demand = requested.get();
+          long emitted = 0;
+          while (emitted != demand && index < current.size()) {
+            if (subscriber.isUnsubscribed()) {
+              return;
+            }
+            subscriber.onNext(current.get(index++));
+            emitted++;
+          }
+
+          if (emitted != 0 && demand != Long.MAX_VALUE) {
+            demand = requested.addAndGet(-emitted);
+          }
+
+          if (index == current.size()) {
+            Throwable failure = error;
+            if (failure != null) {
+              subscriber.onError(failure);
+              return;
+            }
+
+            List<T> page = arrived;
+            if (page != null) {
+              arrived = null;
+              current = page;
+              index = 0;
+              lastPageReached = page.isEmpty() || (pageSize != null && page.size() < pageSize);
+              continue;
+            }
+
+            if (lastPageReached) {
+              subscriber.onCompleted();
+              return;
+            }
+          }
+
+          if (!fetching && arrived == null && !lastPageReached && demand > current.size() - index) {
+            fetching = true;
+            fetch(nextPage++);
+          }
+          break;
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void fetch(int page) {
+      fetch = fetchPage(page).subscribe(new Subscriber<List<T>>() {
+        @Override
+        public void onNext(List<T> items) {
+          arrived = items != null ? items : Collections.<T>emptyList();
+          fetching = false;
+          drain();
+        }
+
+        @Override
+        public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable e) {
+          error = e;
+          fetching = false;
+          drain();
+        }
+      });
+    }
+
+    private void cancelFetch() {
+      Subscription subscription = fetch;
+      if (subscription != null) {
+        subscription.unsubscribe();
+      }
+    }
+  }
+}
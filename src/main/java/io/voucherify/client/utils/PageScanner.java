@@ -0,0 +1,170 @@
+package io.voucherify.client.utils;
+
+import io.voucherify.client.callback.PageScanCallback;
+import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Fetches all pages of a list endpoint in parallel. The first page is fetched alone to learn the total number
+ * of items, then the remaining pages are requested with at most {@code concurrency} requests in flight.
+ * Pages are delivered on the calling thread either in page order or as soon as they arrive.
+ */
+public abstract class PageScanner<T> {
+
+  private final int concurrency;
+
+  protected PageScanner(int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be greater than 0.");
+    }
+
+    this.concurrency = concurrency;
+  }
+
+  protected abstract VoucherifyFuture<Page<T>> fetchPage(int page);
+
+  public List<T> scanAll() {
+    final List<T> all = new ArrayList<T>();
+    scan(true, new PageScanCallback<T>() {
+      @Override
+      public void onPage(int page, List<T> items) {
+        all.addAll(items);
+      }
+    });
+    return all;
+  }
+
+  public void scan(boolean ordered, PageScanCallback<T> callback) {
+    Page<T> first = await(fetchPage(1));
+    List<T> firstItems = first.items != null ? first.items : new ArrayList<T>();
+    int totalPages = countPages(first.total, firstItems.size(), first.pageSize);
+
+    callback.onPage(1, firstItems);
+    callback.onProgress(1, totalPages);
+
+    BlockingQueue<PageResult<T>> completed = new LinkedBlockingQueue<PageResult<T>>();
+    Map<Integer, VoucherifyFuture<Page<T>>> inFlight = new HashMap<Integer, VoucherifyFuture<Page<T>>>();
+    Map<Integer, List<T>> outOfOrder = new HashMap<Integer, List<T>>();
+    int nextToFetch = 2;
+    int nextToDeliver = 2;
+    int completedPages = 1;
+
+    try {
+      while (completedPages < totalPages) {
+        while (inFlight.size() < concurrency && nextToFetch <= totalPages
+                && (!ordered || nextToFetch < nextToDeliver + 2 * concurrency)) {
+          inFlight.put(nextToFetch, submit(nextToFetch, completed));
+          nextToFetch++;
+        }
+
+        PageResult<T> result = take(completed);
+        inFlight.remove(result.page);
+
+        if (result.error != null) {
+          throw result.error;
+        }
+
+        completedPages++;
+        if (ordered) {
+          outOfOrder.put(result.page, result.items);
+          while (outOfOrder.containsKey(nextToDeliver)) {
+            callback.onPage(nextToDeliver, outOfOrder.remove(nextToDeliver));
+            nextToDeliver++;
+          }
+        } else {
+          callback.onPage(result.page, result.items);
+        }
+        callback.onProgress(completedPages, totalPages);
+      }
+    } finally {
+      for (VoucherifyFuture<Page<T>> future : inFlight.values()) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private VoucherifyFuture<Page<T>> submit(final int page, final BlockingQueue<PageResult<T>> completed) {
+    return fetchPage(page).addCallback(new VoucherifyCallback<Page<T>>() {
+      @Override
+      public void onSuccess(Page<T> result) {
+        completed.add(new PageResult<T>(page, result.items != null ? result.items : new ArrayList<T>(), null));
+      }
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        completed.add(new PageResult<T>(page, null, error));
+      }
+    });
+  }
+
+  private static int countPages(Integer total, int firstPageSize, Integer pageSize) {
+    int size = pageSize != null ? pageSize : firstPageSize;
+
+    if (total == null || size == 0) {
+      return 1;
+    }
+    return Math.max(1, (total + size - 1) / size);
+  }
+
+  private static <T> T await(VoucherifyFuture<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw VoucherifyError.from(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof VoucherifyError) {
+        throw (VoucherifyError) e.getCause();
+      }
+      throw VoucherifyError.from(e.getCause());
+    }
+  }
+
+  private static <T> PageResult<T> take(BlockingQueue<PageResult<T>> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw VoucherifyError.from(e);
+    }
+  }
+
+  public static final class Page<T> {
+
+    private final List<T> items;
+
+    private final Integer total;
+
+    private final Integer pageSize;
+
+    public Page(List<T> items, Integer total, Integer pageSize) {
+      this.items = items;
+      this.total = total;
+      this.pageSize = pageSize;
+    }
+  }
+
+  private static final class PageResult<T> {
+
+    private final int page;
+
+    private final List<T> items;
+
+    private final VoucherifyError error;
+
+    private PageResult(int page, List<T> items, VoucherifyError error) {
+      this.page = page;
+      this.items = items;
+      this.error = error;
+    }
+  }
+}
@@ -2,7 +2,9 @@ package io.voucherify.client.utils;
 
 import retrofit.android.MainThreadExecutor;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 public abstract class Platform {
 
@@ -24,6 +26,21 @@ public abstract class Platform {
 
   public abstract Executor callbackExecutor();
 
+  /**
+   * Returns an executor starting a new virtual thread per task, or null when the runtime does not support
+   * virtual threads (JDK 20 and older, Android). Looked up reflectively so the SDK still loads on Java 6.
+   */
+  public Executor virtualThreadExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (Executor) factory.invoke(null);
+    } catch (Exception ignored) {
+      // not available on this runtime
+    }
+
+    return null;
+  }
+
   private static class Base extends Platform {
 
     @Override
@@ -1,11 +1,13 @@
 package io.voucherify.client.utils;
 
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
 import io.voucherify.client.error.VoucherifyError;
 import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
 import rx.functions.Action1;
 import rx.functions.Func0;
-import rx.schedulers.Schedulers;
 
 import java.util.concurrent.Executor;
 
@@ -40,6 +42,38 @@ public final class RxUtils {
     return callback;
   }
 
+  public static <R> VoucherifyFuture<R> future(Observable<R> observable) {
+    final VoucherifyFuture<R> future = new VoucherifyFuture<R>();
+    final Subscription subscription = observable
+            .subscribe(
+                    new Action1<R>() {
+                      @Override
+                      public void call(R r) {
+                        future.set(r);
+                      }
+                    },
+                    new Action1<Throwable>() {
+                      @Override
+                      public void call(Throwable throwable) {
+                        future.setError(throwable);
+                      }
+                    });
+
+    future.addCallback(new VoucherifyCallback<R>() {
+      @Override
+      public void onSuccess(R result) {}
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        if (future.isCancelled()) {
+          subscription.unsubscribe();
+        }
+      }
+    });
+
+    return future;
+  }
+
   public abstract static class DefFunc<T> implements Func0<Observable<T>> {
 
     @Override
@@ -50,8 +84,8 @@ public final class RxUtils {
     public abstract T method();
   }
 
-  public static <R> Observable<R> defer(DefFunc<R> func) {
-    return Observable.defer(func).subscribeOn(Schedulers.io());
+  public static <R> Observable<R> defer(Scheduler scheduler, DefFunc<R> func) {
+    return Observable.defer(func).subscribeOn(scheduler);
   }
 
 }
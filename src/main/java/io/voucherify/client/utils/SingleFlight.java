@@ -0,0 +1,74 @@
+package io.voucherify.client.utils;
+
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collapses concurrent identical reads into one call. The first caller for a key performs the call while callers
+ * arriving before it finishes wait for it and receive the same result or error. Keys must identify the resource
+ * being read, e.g. its path, and a key must always map to results of the same type. Waiting callers only wait for
+ * a call which is already running on another thread, never for one which has yet to start, so they cannot deadlock
+ * a bounded worker pool, but they do occupy their threads until it finishes.
+ */
+public final class SingleFlight {
+
+  private final ConcurrentMap<String, VoucherifyFuture<Object>> flights = new ConcurrentHashMap<String, VoucherifyFuture<Object>>();
+
+  private final AtomicLong collapsedCount = new AtomicLong();
+
+  @SuppressWarnings("unchecked")
+  public <V> V execute(String key, Loader<V> loader) {
+    VoucherifyFuture<Object> flight = new VoucherifyFuture<Object>();
+    VoucherifyFuture<Object> existing = flights.putIfAbsent(key, flight);
+
+    if (existing != null) {
+      collapsedCount.incrementAndGet();
+      return (V) await(existing);
+    }
+
+    try {
+      V value = loader.load();
+      flight.set(value);
+      return value;
+    } catch (RuntimeException e) {
+      flight.setError(e);
+      throw e;
+    } catch (Error e) {
+      flight.setError(e);
+      throw e;
+    } finally {
+      flights.remove(key, flight);
+    }
+  }
+
+  /**
+   * @return number of calls which were served by a call already in flight
+   */
+  public long getCollapsedCount() {
+    return collapsedCount.get();
+  }
+
+  private static Object await(VoucherifyFuture<Object> flight) {
+    try {
+      return flight.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw VoucherifyError.from(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof VoucherifyError) {
+        throw (VoucherifyError) e.getCause();
+      }
+      throw VoucherifyError.from(e.getCause());
+    }
+  }
+
+  public interface Loader<V> {
+
+    V load();
+  }
+}
@@ -0,0 +1,64 @@
+package io.voucherify.client.validation;
+
+import io.voucherify.client.model.Operator;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single condition of a validation rule. Depending on the field, its values are kept as a hash set of ids
+ * (segments, products, SKUs, logins), as numbers (amounts and counts), as a flag or, for metadata, as raw values.
+ */
+@Getter
+@ToString
+public final class CompiledCondition {
+
+  private final RuleField field;
+
+  /**
+   * Null when the rule uses an operator this client does not know.
+   */
+  private final Operator operator;
+
+  /**
+   * Metadata key for {@link RuleField#REDEMPTION_METADATA}, null for other fields.
+   */
+  private final String key;
+
+  private final Set<String> ids;
+
+  private final Set<String> sourceIds;
+
+  private final long[] numbers;
+
+  private final Boolean flag;
+
+  private final List<Object> values;
+
+  /**
+   * False when some product or SKU of the rule is given only by its id or only by its source id, so an item id
+   * which matches neither set may still refer to it.
+   */
+  private final boolean idsComplete;
+
+  CompiledCondition(RuleField field, Operator operator, String key, Set<String> ids, Set<String> sourceIds,
+                    long[] numbers, Boolean flag, List<Object> values) {
+    this(field, operator, key, ids, sourceIds, numbers, flag, values, true);
+  }
+
+  CompiledCondition(RuleField field, Operator operator, String key, Set<String> ids, Set<String> sourceIds,
+                    long[] numbers, Boolean flag, List<Object> values, boolean idsComplete) {
+    this.field = field;
+    this.operator = operator;
+    this.key = key;
+    this.ids = ids != null ? Collections.unmodifiableSet(ids) : Collections.<String>emptySet();
+    this.sourceIds = sourceIds != null ? Collections.unmodifiableSet(sourceIds) : Collections.<String>emptySet();
+    this.numbers = numbers != null ? numbers : new long[0];
+    this.flag = flag;
+    this.values = values != null ? Collections.unmodifiableList(values) : Collections.emptyList();
+    this.idsComplete = idsComplete;
+  }
+}
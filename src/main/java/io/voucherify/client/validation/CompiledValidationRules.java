@@ -0,0 +1,36 @@
+package io.voucherify.client.validation;
+
+import io.voucherify.client.model.validationRules.Junction;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Validation rules flattened to two levels: groups of conditions joined with the top level junction, and conditions
+ * joined with the junction of their group. Sections without conditions are left out. Instances are immutable
+ * and can be shared between threads.
+ */
+@Getter
+@ToString
+public final class CompiledValidationRules {
+
+  private final String id;
+
+  private final String voucherCode;
+
+  private final String campaignName;
+
+  private final Junction junction;
+
+  private final List<ConditionGroup> groups;
+
+  CompiledValidationRules(String id, String voucherCode, String campaignName, Junction junction, List<ConditionGroup> groups) {
+    this.id = id;
+    this.voucherCode = voucherCode;
+    this.campaignName = campaignName;
+    this.junction = junction != null ? junction : Junction.AND;
+    this.groups = Collections.unmodifiableList(groups);
+  }
+}
@@ -0,0 +1,25 @@
+package io.voucherify.client.validation;
+
+import io.voucherify.client.model.validationRules.Junction;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conditions of one section of a validation rule (e.g. segments or orders) joined with the section's junction.
+ */
+@Getter
+@ToString
+public final class ConditionGroup {
+
+  private final Junction junction;
+
+  private final List<CompiledCondition> conditions;
+
+  ConditionGroup(Junction junction, List<CompiledCondition> conditions) {
+    this.junction = junction != null ? junction : Junction.AND;
+    this.conditions = Collections.unmodifiableList(conditions);
+  }
+}
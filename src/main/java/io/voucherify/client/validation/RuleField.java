@@ -0,0 +1,25 @@
+package io.voucherify.client.validation;
+
+/**
+ * Value a compiled validation rule condition is checked against.
+ */
+public enum RuleField {
+
+  SEGMENT,
+  PRODUCT,
+  SKU,
+  ORDER_TOTAL_AMOUNT,
+  ORDER_PRODUCTS_COUNT,
+  ALL_ORDERS_TOTAL_AMOUNT,
+  ALL_ORDERS_DISCOUNT_AMOUNT,
+  REDEMPTIONS_PER_CAMPAIGN,
+  REDEMPTIONS_PER_CUSTOMER,
+  REDEMPTIONS_PER_CUSTOMER_PER_CAMPAIGN,
+  REDEMPTIONS_PER_CUSTOMER_PER_DAY,
+  REDEMPTIONS_PER_USER,
+  GIFT_CARDS_AMOUNT,
+  REDEMPTION_METADATA,
+  PUBLISHED_FOR_REDEEMING_CUSTOMER,
+  USER_LOGIN
+
+}
@@ -0,0 +1,264 @@
+package io.voucherify.client.validation;
+
+import io.voucherify.client.model.Operator;
+import io.voucherify.client.model.validationRules.IdPair;
+import io.voucherify.client.model.validationRules.Junction;
+import io.voucherify.client.model.validationRules.MetadataRules;
+import io.voucherify.client.model.validationRules.MetadataValidationRules;
+import io.voucherify.client.model.validationRules.OrderValidationRules;
+import io.voucherify.client.model.validationRules.ProductValidationRules;
+import io.voucherify.client.model.validationRules.PublicationValidationRules;
+import io.voucherify.client.model.validationRules.RedemptionCountValidationRules;
+import io.voucherify.client.model.validationRules.RedemptionValidationRules;
+import io.voucherify.client.model.validationRules.SegmentValidationRules;
+import io.voucherify.client.model.validationRules.SkuValidationRules;
+import io.voucherify.client.model.validationRules.UserValidationRules;
+import io.voucherify.client.model.validationRules.ValidationRules;
+import io.voucherify.client.model.validationRules.response.ValidationRulesResponse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns nested validation rules, as sent to or returned by the API, into {@link CompiledValidationRules}.
+ */
+public final class ValidationRulesCompiler {
+
+  private ValidationRulesCompiler() {}
+
+  public static CompiledValidationRules compile(ValidationRulesResponse rules) {
+    if (rules == null) {
+      throw new IllegalArgumentException("Cannot call compile() with null.");
+    }
+
+    return compile(rules.getId(), rules.getVoucherCode(), rules.getCampaignName(), rules.getJunction(),
+            rules.getSegmentRules(), rules.getProductRules(), rules.getSkuRules(), rules.getOrderRules(),
+            rules.getRedemptionRules(), rules.getPublicationRules(), rules.getUserRules());
+  }
+
+  public static CompiledValidationRules compile(ValidationRules rules) {
+    if (rules == null) {
+      throw new IllegalArgumentException("Cannot call compile() with null.");
+    }
+
+    return compile(rules.getId(), rules.getVoucherCode(), rules.getCampaignName(), rules.getJunction(),
+            rules.getSegmentRules(), rules.getProductRules(), rules.getSkuRules(), rules.getOrderRules(),
+            rules.getRedemptionRules(), rules.getPublicationRules(), rules.getUserRules());
+  }
+
+  private static CompiledValidationRules compile(String id, String voucherCode, String campaignName, Junction junction,
+                                                 SegmentValidationRules segmentRules, ProductValidationRules productRules,
+                                                 SkuValidationRules skuRules, OrderValidationRules orderRules,
+                                                 RedemptionValidationRules redemptionRules,
+                                                 PublicationValidationRules publicationRules, UserValidationRules userRules) {
+    List<ConditionGroup> groups = new ArrayList<ConditionGroup>();
+    addSegments(groups, segmentRules);
+    addProducts(groups, productRules);
+    addSkus(groups, skuRules);
+    addOrders(groups, orderRules);
+    addRedemptions(groups, redemptionRules);
+    addPublications(groups, publicationRules);
+    addUsers(groups, userRules);
+
+    return new CompiledValidationRules(id, voucherCode, campaignName, junction, groups);
+  }
+
+  private static void addSegments(List<ConditionGroup> groups, SegmentValidationRules rules) {
+    if (rules == null || rules.getConditions() == null) {
+      return;
+    }
+
+    List<CompiledCondition> conditions = new ArrayList<CompiledCondition>();
+    for (Map.Entry<Operator, List<String>> entry : rules.getConditions().entrySet()) {
+      conditions.add(idCondition(RuleField.SEGMENT, entry.getKey(), entry.getValue()));
+    }
+    addGroup(groups, rules.getJunction(), conditions);
+  }
+
+  private static void addProducts(List<ConditionGroup> groups, ProductValidationRules rules) {
+    if (rules == null || rules.getConditions() == null) {
+      return;
+    }
+
+    List<CompiledCondition> conditions = new ArrayList<CompiledCondition>();
+    for (Map.Entry<Operator, List<IdPair>> entry : rules.getConditions().entrySet()) {
+      conditions.add(idPairCondition(RuleField.PRODUCT, entry.getKey(), entry.getValue()));
+    }
+    addGroup(groups, rules.getJunction(), conditions);
+  }
+
+  private static void addSkus(List<ConditionGroup> groups, SkuValidationRules rules) {
+    if (rules == null || rules.getConditions() == null) {
+      return;
+    }
+
+    List<CompiledCondition> conditions = new ArrayList<CompiledCondition>();
+    for (Map.Entry<Operator, List<IdPair>> entry : rules.getConditions().entrySet()) {
+      conditions.add(idPairCondition(RuleField.SKU, entry.getKey(), entry.getValue()));
+    }
+    addGroup(groups, rules.getJunction(), conditions);
+  }
+
+  private static void addOrders(List<ConditionGroup> groups, OrderValidationRules rules) {
+    if (rules == null) {
+      return;
+    }
+
+    List<CompiledCondition> conditions = new ArrayList<CompiledCondition>();
+    addNumbers(conditions, RuleField.ORDER_TOTAL_AMOUNT, rules.getTotalAmount());
+    addNumbers(conditions, RuleField.ORDER_PRODUCTS_COUNT, rules.getProductsCount());
+    addNumbers(conditions, RuleField.ALL_ORDERS_TOTAL_AMOUNT, rules.getAllOrdersTotalAmount());
+    addNumbers(conditions, RuleField.ALL_ORDERS_DISCOUNT_AMOUNT, rules.getAllOrdersDiscountAmount());
+    addGroup(groups, rules.getJunction(), conditions);
+  }
+
+  private static void addRedemptions(List<ConditionGroup> groups, RedemptionValidationRules rules) {
+    if (rules == null) {
+      return;
+    }
+
+    List<CompiledCondition> conditions = new ArrayList<CompiledCondition>();
+    addCounts(conditions, RuleField.REDEMPTIONS_PER_CAMPAIGN, rules.getCountPerCampaign());
+    addCounts(conditions, RuleField.REDEMPTIONS_PER_CUSTOMER, rules.getCountPerCustomer());
+    addCounts(conditions, RuleField.REDEMPTIONS_PER_CUSTOMER_PER_CAMPAIGN, rules.getCountPerCustomerPerCampaign());
+    addCounts(conditions, RuleField.REDEMPTIONS_PER_CUSTOMER_PER_DAY, rules.getCountPerCustomerPerDay());
+    addCounts(conditions, RuleField.REDEMPTIONS_PER_USER, rules.getCountPerUser());
+    addCounts(conditions, RuleField.GIFT_CARDS_AMOUNT, rules.getGiftCardsAmount());
+    addMetadata(conditions, rules.getMetadata());
+    addGroup(groups, rules.getJunction(), conditions);
+  }
+
+  private static void addPublications(List<ConditionGroup> groups, PublicationValidationRules rules) {
+    if (rules == null || rules.getPublishedForRedeemingCustomer() == null
+            || rules.getPublishedForRedeemingCustomer().getConditions() == null) {
+      return;
+    }
+
+    List<CompiledCondition> conditions = new ArrayList<CompiledCondition>();
+    for (Map.Entry<Operator, List<Boolean>> entry : rules.getPublishedForRedeemingCustomer().getConditions().entrySet()) {
+      List<Boolean> values = entry.getValue();
+      Boolean flag = values != null && !values.isEmpty() ? values.get(0) : null;
+      conditions.add(new CompiledCondition(RuleField.PUBLISHED_FOR_REDEEMING_CUSTOMER, entry.getKey(), null, null, null, null, flag, null));
+    }
+    addGroup(groups, rules.getJunction(), conditions);
+  }
+
+  private static void addUsers(List<ConditionGroup> groups, UserValidationRules rules) {
+    if (rules == null || rules.getUserLogin() == null || rules.getUserLogin().getConditions() == null) {
+      return;
+    }
+
+    List<CompiledCondition> conditions = new ArrayList<CompiledCondition>();
+    for (Map.Entry<Operator, List<String>> entry : rules.getUserLogin().getConditions().entrySet()) {
+      conditions.add(idCondition(RuleField.USER_LOGIN, entry.getKey(), entry.getValue()));
+    }
+    addGroup(groups, rules.getJunction(), conditions);
+  }
+
+  private static void addCounts(List<CompiledCondition> conditions, RuleField field, RedemptionCountValidationRules rules) {
+    if (rules != null) {
+      addNumbers(conditions, field, rules.getConditions());
+    }
+  }
+
+  private static void addNumbers(List<CompiledCondition> conditions, RuleField field, Map<Operator, List<Integer>> source) {
+    if (source == null) {
+      return;
+    }
+
+    for (Map.Entry<Operator, List<Integer>> entry : source.entrySet()) {
+      conditions.add(new CompiledCondition(field, entry.getKey(), null, null, null, toNumbers(entry.getValue()), null, null));
+    }
+  }
+
+  private static void addMetadata(List<CompiledCondition> conditions, MetadataValidationRules rules) {
+    if (rules == null || rules.getRules() == null) {
+      return;
+    }
+
+    for (Map.Entry<String, MetadataRules> rule : rules.getRules().entrySet()) {
+      if (rule.getValue() == null || rule.getValue().getConditions() == null) {
+        continue;
+      }
+
+      for (@SuppressWarnings("rawtypes") Map.Entry<Object, List> entry : rule.getValue().getConditions().entrySet()) {
+        List<?> operands = entry.getValue();
+        List<Object> values = operands != null ? new ArrayList<Object>(operands) : null;
+        conditions.add(new CompiledCondition(RuleField.REDEMPTION_METADATA, toOperator(entry.getKey()), rule.getKey(),
+                null, null, null, null, values));
+      }
+    }
+  }
+
+  private static CompiledCondition idCondition(RuleField field, Operator operator, List<String> values) {
+    Set<String> ids = values != null ? new HashSet<String>(values) : null;
+    return new CompiledCondition(field, operator, null, ids, null, null, null, null);
+  }
+
+  private static CompiledCondition idPairCondition(RuleField field, Operator operator, List<IdPair> values) {
+    Set<String> ids = new HashSet<String>();
+    Set<String> sourceIds = new HashSet<String>();
+    boolean complete = true;
+
+    if (values != null) {
+      for (IdPair pair : values) {
+        if (pair == null) {
+          continue;
+        }
+        complete &= pair.getId() != null && pair.getSourceId() != null;
+        if (pair.getId() != null) {
+          ids.add(pair.getId());
+        }
+        if (pair.getSourceId() != null) {
+          sourceIds.add(pair.getSourceId());
+        }
+      }
+    }
+    return new CompiledCondition(field, operator, null, ids, sourceIds, null, null, null, complete);
+  }
+
+  private static void addGroup(List<ConditionGroup> groups, Junction junction, List<CompiledCondition> conditions) {
+    if (!conditions.isEmpty()) {
+      groups.add(new ConditionGroup(junction, conditions));
+    }
+  }
+
+  private static long[] toNumbers(List<Integer> values) {
+    if (values == null) {
+      return null;
+    }
+
+    long[] numbers = new long[values.size()];
+    int count = 0;
+    for (Integer value : values) {
+      if (value != null) {
+        numbers[count++] = value;
+      }
+    }
+
+    if (count == numbers.length) {
+      return numbers;
+    }
+
+    long[] compacted = new long[count];
+    System.arraycopy(numbers, 0, compacted, 0, count);
+    return compacted;
+  }
+
+  private static Operator toOperator(Object key) {
+    if (key instanceof Operator) {
+      return (Operator) key;
+    }
+
+    if (key != null) {
+      try {
+        return Operator.valueOf(key.toString());
+      } catch (IllegalArgumentException ignore) {
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,267 @@
+package io.voucherify.client.validation;
+
+import io.voucherify.client.model.Operator;
+import io.voucherify.client.model.order.Order;
+import io.voucherify.client.model.order.OrderItem;
+import io.voucherify.client.model.validation.VoucherValidation;
+import io.voucherify.client.model.validationRules.Junction;
+import io.voucherify.client.model.validationRules.ValidationRules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks validation rules against a validation request without calling the API, to reject requests which
+ * are bound to fail. Only conditions which depend solely on the request are decided: order amount,
+ * products and SKUs of order items, and redemption metadata. Conditions which need data held by the API
+ * (segments, redemption counts, publications, logins, order history) are {@link Verdict#UNKNOWN}, and so is
+ * a condition whose input is missing from the request. Product and SKU ids of order items are compared with
+ * both ids and source ids used in the rules; an item matching neither is undecided when a product or SKU of the
+ * rule lacks its id or source id, as the item may refer to it by the other one.
+ * <p>
+ * Unknown results propagate through junctions with three-valued logic: AND fails if any part fails,
+ * OR fails only if all parts fail.
+ */
+public final class ValidationRulesEvaluator {
+
+  public enum Verdict {
+    PASS, FAIL, UNKNOWN
+  }
+
+  private ValidationRulesEvaluator() {}
+
+  public static Verdict evaluate(ValidationRules rules, VoucherValidation validation) {
+    return evaluate(ValidationRulesCompiler.compile(rules), validation);
+  }
+
+  /**
+   * @return {@link Verdict#FAIL} when the API would certainly reject the request
+   */
+  public static Verdict evaluate(CompiledValidationRules rules, VoucherValidation validation) {
+    if (rules == null || validation == null) {
+      throw new IllegalArgumentException("Cannot call evaluate() with null.");
+    }
+
+    List<ConditionGroup> groups = rules.getGroups();
+    if (groups.isEmpty()) {
+      return Verdict.PASS;
+    }
+
+    Verdict result = identity(rules.getJunction());
+
+    for (int i = 0; i < groups.size(); i++) {
+      result = combine(rules.getJunction(), result, evaluate(groups.get(i), validation));
+      if (isDecided(rules.getJunction(), result)) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return conditions which certainly fail for the request, whether or not they decide the whole rules
+   */
+  public static List<CompiledCondition> failedConditions(CompiledValidationRules rules, VoucherValidation validation) {
+    if (rules == null || validation == null) {
+      throw new IllegalArgumentException("Cannot call failedConditions() with null.");
+    }
+
+    List<CompiledCondition> failed = new ArrayList<CompiledCondition>();
+    for (ConditionGroup group : rules.getGroups()) {
+      for (CompiledCondition condition : group.getConditions()) {
+        if (evaluate(condition, validation) == Verdict.FAIL) {
+          failed.add(condition);
+        }
+      }
+    }
+    return failed;
+  }
+
+  static Verdict evaluate(ConditionGroup group, VoucherValidation validation) {
+    List<CompiledCondition> conditions = group.getConditions();
+    Verdict result = identity(group.getJunction());
+
+    for (int i = 0; i < conditions.size(); i++) {
+      result = combine(group.getJunction(), result, evaluate(conditions.get(i), validation));
+      if (isDecided(group.getJunction(), result)) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  static Verdict evaluate(CompiledCondition condition, VoucherValidation validation) {
+    if (condition.getOperator() == null) {
+      return Verdict.UNKNOWN;
+    }
+
+    Order order = validation.getOrder();
+
+    switch (condition.getField()) {
+      case ORDER_TOTAL_AMOUNT:
+        return order != null && order.getAmount() != null
+                ? compareNumber(condition.getOperator(), order.getAmount(), condition.getNumbers())
+                : Verdict.UNKNOWN;
+      case PRODUCT:
+        return order != null && order.getItems() != null
+                ? matchItems(condition, order.getItems(), false)
+                : Verdict.UNKNOWN;
+      case SKU:
+        return order != null && order.getItems() != null
+                ? matchItems(condition, order.getItems(), true)
+                : Verdict.UNKNOWN;
+      case REDEMPTION_METADATA:
+        return matchMetadata(condition, validation.getMetadata());
+      default:
+        return Verdict.UNKNOWN;
+    }
+  }
+
+  private static Verdict matchItems(CompiledCondition condition, List<OrderItem> items, boolean sku) {
+    boolean anyMatches = false;
+    boolean anyMissing = false;
+
+    for (int i = 0; i < items.size() && !anyMatches; i++) {
+      OrderItem item = items.get(i);
+      String id = item != null ? (sku ? item.getSkuId() : item.getProductId()) : null;
+
+      if (id == null) {
+        anyMissing = true;
+      } else if (condition.getIds().contains(id) || condition.getSourceIds().contains(id)) {
+        anyMatches = true;
+      }
+    }
+
+    if (!anyMatches && (anyMissing || !condition.isIdsComplete())) {
+      return Verdict.UNKNOWN;
+    }
+
+    switch (condition.getOperator()) {
+      case $is:
+      case $in:
+        return verdict(anyMatches);
+      case $is_not:
+        return verdict(!anyMatches);
+      default:
+        return Verdict.UNKNOWN;
+    }
+  }
+
+  private static Verdict matchMetadata(CompiledCondition condition, Map<String, Object> metadata) {
+    Object value = metadata != null ? metadata.get(condition.getKey()) : null;
+    List<Object> expected = condition.getValues();
+
+    if (value == null || expected.isEmpty()) {
+      return Verdict.UNKNOWN;
+    }
+
+    switch (condition.getOperator()) {
+      case $is:
+      case $in:
+        return verdict(containsValue(expected, value));
+      case $is_not:
+        return verdict(!containsValue(expected, value));
+      case $less_than:
+      case $less_than_or_equal:
+      case $more_than:
+      case $more_than_or_equal:
+        if (value instanceof Number && expected.get(0) instanceof Number) {
+          return verdict(compare(condition.getOperator(),
+                  ((Number) value).doubleValue(), ((Number) expected.get(0)).doubleValue()));
+        }
+        return Verdict.UNKNOWN;
+      case $starts_with:
+        return verdict(value.toString().startsWith(String.valueOf(expected.get(0))));
+      case $ends_with:
+        return verdict(value.toString().endsWith(String.valueOf(expected.get(0))));
+      case $contains:
+        return verdict(value.toString().contains(String.valueOf(expected.get(0))));
+      default:
+        return Verdict.UNKNOWN;
+    }
+  }
+
+  private static Verdict compareNumber(Operator operator, long value, long[] expected) {
+    if (expected.length == 0) {
+      return Verdict.UNKNOWN;
+    }
+
+    switch (operator) {
+      case $is:
+      case $in:
+        return verdict(contains(expected, value));
+      case $is_not:
+        return verdict(!contains(expected, value));
+      case $less_than:
+      case $less_than_or_equal:
+      case $more_than:
+      case $more_than_or_equal:
+        return verdict(compare(operator, value, expected[0]));
+      default:
+        return Verdict.UNKNOWN;
+    }
+  }
+
+  private static boolean compare(Operator operator, double value, double expected) {
+    switch (operator) {
+      case $less_than:
+        return value < expected;
+      case $less_than_or_equal:
+        return value <= expected;
+      case $more_than:
+        return value > expected;
+      default:
+        return value >= expected;
+    }
+  }
+
+  private static boolean contains(long[] values, long value) {
+    for (long candidate : values) {
+      if (candidate == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean containsValue(List<Object> values, Object value) {
+    for (int i = 0; i < values.size(); i++) {
+      Object candidate = values.get(i);
+      if (candidate instanceof Number && value instanceof Number) {
+        if (((Number) candidate).doubleValue() == ((Number) value).doubleValue()) {
+          return true;
+        }
+      } else if (candidate != null && candidate.toString().equals(value.toString())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Verdict identity(Junction junction) {
+    return junction == Junction.OR ? Verdict.FAIL : Verdict.PASS;
+  }
+
+  private static boolean isDecided(Junction junction, Verdict result) {
+    return junction == Junction.OR ? result == Verdict.PASS : result == Verdict.FAIL;
+  }
+
+  private static Verdict combine(Junction junction, Verdict left, Verdict right) {
+    if (junction == Junction.OR) {
+      if (left == Verdict.PASS || right == Verdict.PASS) {
+        return Verdict.PASS;
+      }
+      return left == Verdict.FAIL && right == Verdict.FAIL ? Verdict.FAIL : Verdict.UNKNOWN;
+    }
+
+    if (left == Verdict.FAIL || right == Verdict.FAIL) {
+      return Verdict.FAIL;
+    }
+    return left == Verdict.PASS && right == Verdict.PASS ? Verdict.PASS : Verdict.UNKNOWN;
+  }
+
+  private static Verdict verdict(boolean passed) {
+    return passed ? Verdict.PASS : Verdict.FAIL;
+  }
+}
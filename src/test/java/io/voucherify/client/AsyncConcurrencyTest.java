@@ -0,0 +1,286 @@
+package io.voucherify.client;
+
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.http.TransportConfig;
+import io.voucherify.client.model.redemption.RedemptionsFilter;
+import io.voucherify.client.model.redemption.response.RedemptionEntryResponse;
+import io.voucherify.client.model.validation.VoucherValidation;
+import io.voucherify.client.model.validation.VoucherValidationResponse;
+import io.voucherify.client.model.voucher.response.VoucherResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.functions.Func1;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class AsyncConcurrencyTest {
+
+  private static final int REQUESTS = 200;
+
+  private static final int WORKERS = 4;
+
+  private MockWebServer server;
+
+  private VoucherifyClient client;
+
+  @Before
+  public void setup() throws IOException {
+    server = new MockWebServer();
+    server.play();
+    client = new VoucherifyClient.Builder()
+            .setClientSecretKey("some token")
+            .setAppId("some app id")
+            .withoutSSL()
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
+            .setTransportConfig(TransportConfig.builder().maxRequests(WORKERS).maxRequestsPerHost(WORKERS).build())
+            .build();
+  }
+
+  @After
+  public void teardown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  public void shouldKeepWorkerThreadCountFlatUnderLoad() throws Exception {
+    // given
+    for (int i = 0; i < REQUESTS; i++) {
+      server.enqueue(new MockResponse().setBody("{\"code\":\"some-code\"}"));
+    }
+    int threadsBefore = countWorkerThreads();
+    final CountDownLatch latch = new CountDownLatch(REQUESTS);
+    final AtomicInteger succeeded = new AtomicInteger();
+    int peak = 0;
+
+    // when
+    for (int i = 0; i < REQUESTS; i++) {
+      client.vouchers().async().get("some-code", new VoucherifyCallback<VoucherResponse>() {
+        @Override
+        public void onSuccess(VoucherResponse result) {
+          succeeded.incrementAndGet();
+          latch.countDown();
+        }
+
+        @Override
+        public void onFailure(VoucherifyError error) {
+          latch.countDown();
+        }
+      });
+      peak = Math.max(peak, countWorkerThreads());
+    }
+
+    long deadline = System.currentTimeMillis() + SECONDS.toMillis(30);
+    while (!latch.await(10, MILLISECONDS) && System.currentTimeMillis() < deadline) {
+      peak = Math.max(peak, countWorkerThreads());
+    }
+
+    // then
+    assertThat(latch.getCount()).isZero();
+    assertThat(succeeded.get()).isEqualTo(REQUESTS);
+    assertThat(peak - threadsBefore).isLessThanOrEqualTo(WORKERS);
+  }
+
+  @Test
+  public void shouldScanFromAsyncCallbackWithSingleWorker() throws Exception {
+    // given
+    final VoucherifyClient singleWorkerClient = new VoucherifyClient.Builder()
+            .setClientSecretKey("some token")
+            .setAppId("some app id")
+            .withoutSSL()
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
+            .setTransportConfig(TransportConfig.builder().maxRequests(1).maxRequestsPerHost(1).build())
+            .build();
+    server.enqueue(new MockResponse().setBody("{\"code\":\"some-code\"}"));
+    server.enqueue(new MockResponse().setBody("{\"total\":3,\"redemptions\":[{\"id\":\"r1\"}]}"));
+    server.enqueue(new MockResponse().setBody("{\"total\":3,\"redemptions\":[{\"id\":\"r2\"}]}"));
+    server.enqueue(new MockResponse().setBody("{\"total\":3,\"redemptions\":[{\"id\":\"r3\"}]}"));
+    final CountDownLatch latch = new CountDownLatch(1);
+    final AtomicInteger scanned = new AtomicInteger(-1);
+    final RedemptionsFilter redemptionsFilter = RedemptionsFilter.builder().limit(1).build();
+
+    // when
+    singleWorkerClient.vouchers().async().get("some-code", new VoucherifyCallback<VoucherResponse>() {
+      @Override
+      public void onSuccess(VoucherResponse result) {
+        scanned.set(singleWorkerClient.redemptions().scan(redemptionsFilter, 2).size());
+        latch.countDown();
+      }
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        latch.countDown();
+      }
+    });
+
+    // then
+    assertThat(latch.await(10, SECONDS)).isTrue();
+    assertThat(scanned.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldKeepValidationsWithinInFlightLimit() throws Exception {
+    // given
+    VoucherifyClient limitedClient = new VoucherifyClient.Builder()
+            .setClientSecretKey("some token")
+            .setAppId("some app id")
+            .withoutSSL()
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
+            .setMaxRequestsInFlight(1)
+            .build();
+    final AtomicInteger active = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        peak.set(Math.max(peak.get(), active.incrementAndGet()));
+        Thread.sleep(100);
+        active.decrementAndGet();
+        return new MockResponse().setBody("{\"valid\":true}");
+      }
+    });
+    List<VoucherifyFuture<VoucherValidationResponse>> validations = new ArrayList<VoucherifyFuture<VoucherValidationResponse>>();
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      validations.add(limitedClient.validations().futures().validate("code-" + i, VoucherValidation.builder().build()));
+    }
+    for (VoucherifyFuture<VoucherValidationResponse> validation : validations) {
+      validation.get(5, SECONDS);
+    }
+    Thread thread = limitedClient.validations().rx().validate("code-3", VoucherValidation.builder().build())
+            .map(new Func1<VoucherValidationResponse, Thread>() {
+              @Override
+              public Thread call(VoucherValidationResponse validation) {
+                return Thread.currentThread();
+              }
+            })
+            .timeout(5, SECONDS)
+            .toBlocking()
+            .single();
+
+    // then
+    assertThat(server.getRequestCount()).isEqualTo(4);
+    assertThat(peak.get()).isEqualTo(1);
+    assertThat(thread.getName()).startsWith(Constants.IO_THREAD_NAME_PREFIX);
+  }
+
+  @Test
+  public void shouldSendScanRequestsOnConfiguredExecutor() throws Exception {
+    // given
+    final ExecutorService delegate = Executors.newCachedThreadPool();
+    final AtomicInteger executed = new AtomicInteger();
+    VoucherifyClient customExecutorClient = new VoucherifyClient.Builder()
+            .setClientSecretKey("some token")
+            .setAppId("some app id")
+            .withoutSSL()
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
+            .setRequestExecutor(new Executor() {
+              @Override
+              public void execute(Runnable task) {
+                executed.incrementAndGet();
+                delegate.execute(task);
+              }
+            })
+            .build();
+    server.enqueue(new MockResponse().setBody("{\"total\":3,\"redemptions\":[{\"id\":\"r1\"}]}"));
+    server.enqueue(new MockResponse().setBody("{\"total\":3,\"redemptions\":[{\"id\":\"r2\"}]}"));
+    server.enqueue(new MockResponse().setBody("{\"total\":3,\"redemptions\":[{\"id\":\"r3\"}]}"));
+
+    // when
+    List<RedemptionEntryResponse> redemptions = customExecutorClient.redemptions()
+            .scan(RedemptionsFilter.builder().limit(1).build(), 2);
+
+    // then
+    delegate.shutdown();
+    assertThat(redemptions).hasSize(3);
+    assertThat(executed.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldRunCallsOnVirtualThreadsWhenSupported() throws Exception {
+    // given
+    Method isVirtual = isVirtualMethod();
+    assumeTrue("Virtual threads need JDK 21+", isVirtual != null);
+    server.enqueue(new MockResponse().setBody("{\"code\":\"some-code\"}"));
+
+    // when
+    Thread thread = getOnRequestThread(createVirtualThreadsClient());
+
+    // then
+    assertThat(isVirtual.invoke(thread)).isEqualTo(true);
+  }
+
+  @Test
+  public void shouldFallBackToWorkerPoolWithoutVirtualThreads() throws Exception {
+    // given
+    assumeTrue(isVirtualMethod() == null);
+    server.enqueue(new MockResponse().setBody("{\"code\":\"some-code\"}"));
+
+    // when
+    Thread thread = getOnRequestThread(createVirtualThreadsClient());
+
+    // then
+    assertThat(thread.getName()).startsWith(Constants.IO_THREAD_NAME_PREFIX);
+  }
+
+  private VoucherifyClient createVirtualThreadsClient() {
+    return new VoucherifyClient.Builder()
+            .setClientSecretKey("some token")
+            .setAppId("some app id")
+            .withoutSSL()
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
+            .useVirtualThreads()
+            .build();
+  }
+
+  private Thread getOnRequestThread(VoucherifyClient client) {
+    return client.vouchers().rx().get("some-code")
+            .map(new Func1<VoucherResponse, Thread>() {
+              @Override
+              public Thread call(VoucherResponse voucher) {
+                return Thread.currentThread();
+              }
+            })
+            .timeout(5, SECONDS)
+            .toBlocking()
+            .single();
+  }
+
+  private Method isVirtualMethod() {
+    try {
+      return Thread.class.getMethod("isVirtual");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  private int countWorkerThreads() {
+    int count = 0;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith(Constants.IO_THREAD_NAME_PREFIX)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
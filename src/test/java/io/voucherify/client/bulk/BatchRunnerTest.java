@@ -0,0 +1,107 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchRunnerTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+  private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldRunItemsOfSameKeyInBatchOrder() {
+    // given
+    List<String> items = Arrays.asList("a:1", "b:1", "a:2", "c:1", "a:3", "b:2");
+
+    // when
+    BatchReport<String> report = runner(3).runAll(items);
+
+    // then
+    assertThat(report.isSuccessful()).isTrue();
+    assertThat(report.getItems()).hasSize(6);
+    assertThat(report.getItems().get(2).getResult()).isEqualTo("done a:2");
+    assertThat(report.getItems().get(2).getKey()).isEqualTo("a");
+    assertThat(events.indexOf("end a:1")).isLessThan(events.indexOf("start a:2"));
+    assertThat(events.indexOf("end a:2")).isLessThan(events.indexOf("start a:3"));
+    assertThat(events.indexOf("end b:1")).isLessThan(events.indexOf("start b:2"));
+    assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  public void shouldReportFailedItemsWithoutStoppingBatch() {
+    // given
+    List<String> items = Arrays.asList("a:1", "a:fail", "a:3", "b:fail");
+
+    // when
+    BatchReport<String> report = runner(2).runAll(items);
+
+    // then
+    assertThat(report.isSuccessful()).isFalse();
+    assertThat(report.getSucceededCount()).isEqualTo(2);
+    assertThat(report.getFailedCount()).isEqualTo(2);
+    assertThat(report.getFailedItems().get(0).getIndex()).isEqualTo(1);
+    assertThat(report.getFailedItems().get(0).getError().getMessage()).isEqualTo("failed a:fail");
+    assertThat(report.getItems().get(2).getResult()).isEqualTo("done a:3");
+  }
+
+  private BatchRunner<String, String> runner(int concurrency) {
+    return new BatchRunner<String, String>(concurrency) {
+      @Override
+      protected VoucherifyFuture<String> execute(final String item) {
+        final VoucherifyFuture<String> future = new VoucherifyFuture<String>();
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()));
+            events.add("start " + item);
+            sleep();
+            events.add("end " + item);
+            running.decrementAndGet();
+
+            if (item.endsWith("fail")) {
+              future.setError(VoucherifyError.from("failed " + item));
+            } else {
+              future.set("done " + item);
+            }
+          }
+        });
+        return future;
+      }
+
+      @Override
+      protected String keyOf(String item) {
+        return item.substring(0, item.indexOf(':'));
+      }
+    };
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(20);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
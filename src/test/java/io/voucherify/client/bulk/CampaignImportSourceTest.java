@@ -0,0 +1,99 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.model.campaign.CampaignImportVoucher;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CampaignImportSourceTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  @Test
+  public void shouldReadVouchersFromCsv() throws IOException {
+    // given
+    File file = write("\uFEFFcode,category,active,redemption_quantity,metadata.region,ignored\r\n"
+            + "first,\"Black, Friday\",true,3,EU,x\r\n"
+            + "\r\n"
+            + "\"sec\"\"ond\",\"multi\nline\",false,,,\n"
+            + "third");
+
+    // when
+    List<CampaignImportVoucher> vouchers = readAll(CampaignImportSource.csv(file));
+
+    // then
+    assertThat(vouchers).hasSize(3);
+    assertThat(vouchers.get(0).getCode()).isEqualTo("first");
+    assertThat(vouchers.get(0).getCategory()).isEqualTo("Black, Friday");
+    assertThat(vouchers.get(0).getActive()).isTrue();
+    assertThat(vouchers.get(0).getRedemption().getQuantity()).isEqualTo(3);
+    assertThat(vouchers.get(0).getMetadata()).containsEntry("region", "EU");
+    assertThat(vouchers.get(1).getCode()).isEqualTo("sec\"ond");
+    assertThat(vouchers.get(1).getCategory()).isEqualTo("multi\nline");
+    assertThat(vouchers.get(1).getActive()).isFalse();
+    assertThat(vouchers.get(1).getRedemption()).isNull();
+    assertThat(vouchers.get(2).getCode()).isEqualTo("third");
+  }
+
+  @Test
+  public void shouldReadVouchersFromJsonLines() throws IOException {
+    // given
+    File file = write("{\"code\":\"first\",\"category\":\"cat\",\"metadata\":{\"region\":\"EU\"}}\n"
+            + "{\"code\":\"second\",\"redemption\":{\"quantity\":2},\"additional_info\":\"info\"}\n");
+
+    // when
+    List<CampaignImportVoucher> vouchers = readAll(CampaignImportSource.jsonLines(file));
+
+    // then
+    assertThat(vouchers).hasSize(2);
+    assertThat(vouchers.get(0).getMetadata()).containsEntry("region", "EU");
+    assertThat(vouchers.get(1).getRedemption().getQuantity()).isEqualTo(2);
+    assertThat(vouchers.get(1).getAdditionalInfo()).isEqualTo("info");
+  }
+
+  @Test
+  public void shouldFailOnUnterminatedQuote() throws IOException {
+    // given
+    File file = write("code\n\"broken\n");
+
+    // then
+    expectedException.expect(VoucherifyError.class);
+
+    // when
+    readAll(CampaignImportSource.csv(file));
+  }
+
+  private File write(String content) throws IOException {
+    File file = folder.newFile();
+    OutputStream out = new FileOutputStream(file);
+    try {
+      out.write(content.getBytes("UTF-8"));
+    } finally {
+      out.close();
+    }
+    return file;
+  }
+
+  private static List<CampaignImportVoucher> readAll(CampaignImportSource source) {
+    List<CampaignImportVoucher> vouchers = new ArrayList<CampaignImportVoucher>();
+    while (source.hasNext()) {
+      vouchers.add(source.next());
+    }
+    return vouchers;
+  }
+}
@@ -0,0 +1,122 @@
+package io.voucherify.client.bulk;
+
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChunkedUploaderTest {
+
+  private final List<List<String>> uploaded = new ArrayList<List<String>>();
+
+  private VoucherifyError failure = VoucherifyError.from("failed");
+
+  @Test
+  public void shouldSplitItemsIntoChunksOfConfiguredSize() {
+    // given
+    BulkImportConfig config = BulkImportConfig.builder().chunkSize(2).parallelism(2).build();
+
+    // when
+    BulkImportReport report = uploader(config, 0).uploadAll(Arrays.asList("a", "b", "c", "d", "e").iterator());
+
+    // then
+    assertThat(uploaded).containsExactly(Arrays.asList("a", "b"), Arrays.asList("c", "d"), Arrays.asList("e"));
+    assertThat(report.isSuccessful()).isTrue();
+    assertThat(report.getImportedCount()).isEqualTo(5);
+    assertThat(report.getChunks()).hasSize(3);
+    assertThat(report.getChunks().get(2).getOffset()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldCloseChunkBeforeItExceedsByteLimit() {
+    // given
+    BulkImportConfig config = BulkImportConfig.builder().chunkSize(10).maxChunkBytes(5).parallelism(1).build();
+
+    // when
+    uploader(config, 0).uploadAll(Arrays.asList("aa", "bb", "cc", "dddddd", "e").iterator());
+
+    // then
+    assertThat(uploaded).containsExactly(Arrays.asList("aa", "bb"), Arrays.asList("cc"), Arrays.asList("dddddd"),
+            Arrays.asList("e"));
+  }
+
+  @Test
+  public void shouldRetryFailedChunkAndReportItWhenAttemptsRunOut() {
+    // given
+    BulkImportConfig config = BulkImportConfig.builder().chunkSize(1).parallelism(1).maxAttempts(3)
+            .retryBackoff(40, 80, TimeUnit.MILLISECONDS)
+            .build();
+    long start = System.currentTimeMillis();
+
+    // when
+    BulkImportReport report = uploader(config, 4).uploadAll(Arrays.asList("a", "b").iterator());
+
+    // then
+    assertThat(report.isSuccessful()).isFalse();
+    assertThat(report.getImportedCount()).isEqualTo(1);
+
+    ChunkReport failed = report.getFailedChunks().get(0);
+    assertThat(failed.getIndex()).isEqualTo(0);
+    assertThat(failed.getAttempts()).isEqualTo(3);
+    assertThat(failed.getError().getMessage()).isEqualTo("failed");
+
+    ChunkReport retried = report.getChunks().get(1);
+    assertThat(retried.isSuccessful()).isTrue();
+    assertThat(retried.getAttempts()).isEqualTo(2);
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(20 + 40 + 20);
+  }
+
+  @Test
+  public void shouldNotRetryErrorWhichCannotPass() {
+    // given
+    BulkImportConfig config = BulkImportConfig.builder().chunkSize(1).parallelism(1).maxAttempts(3).build();
+    failure = VoucherifyError.from(400, "Invalid voucher", null, "invalid_voucher");
+
+    // when
+    BulkImportReport report = uploader(config, 1).uploadAll(Arrays.asList("a", "b").iterator());
+
+    // then
+    ChunkReport failed = report.getFailedChunks().get(0);
+    assertThat(failed.getAttempts()).isEqualTo(1);
+    assertThat(failed.getError().getCode()).isEqualTo(400);
+    assertThat(report.getChunks().get(1).isSuccessful()).isTrue();
+  }
+
+  @Test
+  public void shouldRetryOnlyNetworkErrorsThrottlingAndServerErrors() {
+    // then
+    assertThat(ChunkedUploader.isRetryable(VoucherifyError.from("timeout"))).isTrue();
+    assertThat(ChunkedUploader.isRetryable(VoucherifyError.from(429, "Too many requests", null, null))).isTrue();
+    assertThat(ChunkedUploader.isRetryable(VoucherifyError.from(503, "Unavailable", null, null))).isTrue();
+    assertThat(ChunkedUploader.isRetryable(VoucherifyError.from(409, "Duplicate code", null, null))).isFalse();
+  }
+
+  private ChunkedUploader<String> uploader(BulkImportConfig config, final int failures) {
+    return new ChunkedUploader<String>(config) {
+
+      private int failuresLeft = failures;
+
+      @Override
+      protected VoucherifyFuture<Void> upload(List<String> chunk) {
+        if (failuresLeft > 0) {
+          failuresLeft--;
+          return VoucherifyFuture.failed(failure);
+        }
+
+        uploaded.add(new ArrayList<String>(chunk));
+        return VoucherifyFuture.completed(null);
+      }
+
+      @Override
+      protected long sizeOf(String item) {
+        return item.length();
+      }
+    };
+  }
+}
@@ -0,0 +1,109 @@
+package io.voucherify.client.cache;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalCacheTest {
+
+  private long now = 1000L;
+
+  private final LocalCache<String, String> cache = new LocalCache<String, String>(2, 100L) {
+    @Override
+    protected long currentTimeMillis() {
+      return now;
+    }
+  };
+
+  @Test
+  public void shouldExpireEntriesAfterTimeToLive() {
+    // given
+    cache.put("key", "value");
+
+    // when
+    String beforeExpiry = cache.get("key");
+    now += 100L;
+    String afterExpiry = cache.get("key");
+
+    // then
+    assertThat(beforeExpiry).isEqualTo("value");
+    assertThat(afterExpiry).isNull();
+    assertThat(cache.stats().getExpirationCount()).isEqualTo(1);
+    assertThat(cache.stats().getHitCount()).isEqualTo(1);
+    assertThat(cache.stats().getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntry() {
+    // given
+    cache.put("first", "1");
+    cache.put("second", "2");
+    cache.get("first");
+
+    // when
+    cache.put("third", "3");
+
+    // then
+    assertThat(cache.get("first")).isEqualTo("1");
+    assertThat(cache.get("second")).isNull();
+    assertThat(cache.get("third")).isEqualTo("3");
+    assertThat(cache.stats().getEvictionCount()).isEqualTo(1);
+    assertThat(cache.stats().getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotStoreValueLoadedBeforeInvalidation() {
+    // given
+    long stamp = cache.stamp();
+
+    // when
+    cache.invalidate("key");
+    boolean stored = cache.putIfNotInvalidatedSince("key", "stale", stamp);
+
+    // then
+    assertThat(stored).isFalse();
+    assertThat(cache.get("key")).isNull();
+  }
+
+  @Test
+  public void shouldStoreValueWhenOnlyOtherKeysWereInvalidated() {
+    // given
+    long stamp = cache.stamp();
+
+    // when
+    cache.invalidate("other");
+    boolean stored = cache.putIfNotInvalidatedSince("key", "fresh", stamp);
+
+    // then
+    assertThat(stored).isTrue();
+    assertThat(cache.get("key")).isEqualTo("fresh");
+  }
+
+  @Test
+  public void shouldNotStoreValueLoadedBeforeForgottenTombstone() {
+    // given
+    long stamp = cache.stamp();
+
+    // when
+    cache.invalidate("key");
+    cache.invalidate("second");
+    cache.invalidate("third");
+    boolean stored = cache.putIfNotInvalidatedSince("key", "stale", stamp);
+
+    // then
+    assertThat(stored).isFalse();
+  }
+
+  @Test
+  public void shouldNotStoreValueLoadedBeforeInvalidatingAll() {
+    // given
+    long stamp = cache.stamp();
+
+    // when
+    cache.invalidateAll();
+    boolean stored = cache.putIfNotInvalidatedSince("key", "stale", stamp);
+
+    // then
+    assertThat(stored).isFalse();
+  }
+}
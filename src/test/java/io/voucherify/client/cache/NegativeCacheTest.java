@@ -0,0 +1,57 @@
+package io.voucherify.client.cache;
+
+import io.voucherify.client.error.VoucherifyError;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NegativeCacheTest {
+
+  private static final VoucherifyError NOT_FOUND = VoucherifyError.from(404, "Resource not found", null, "not_found");
+
+  private final NegativeCache cache = new NegativeCache(NegativeCacheConfig.builder()
+          .maxSize(1)
+          .bloomFilter(1000, 0.001)
+          .build());
+
+  @Test
+  public void shouldNotRecordCodeForgottenDuringRequest() {
+    // given
+    long stamp = cache.stamp();
+
+    // when
+    cache.forget("code");
+    cache.recordFailure("code", NOT_FOUND, stamp);
+
+    // then
+    assertThat(cache.getError("code")).isNull();
+    assertThat(cache.getAbsorbedCount()).isZero();
+  }
+
+  @Test
+  public void shouldKeepOtherCodesInBloomFilterWhenForgettingCode() {
+    // given
+    cache.recordFailure("first", NOT_FOUND, cache.stamp());
+    cache.recordFailure("second", NOT_FOUND, cache.stamp());
+
+    // when
+    cache.forget("second");
+
+    // then
+    assertThat(cache.getError("first").getCode()).isEqualTo(404);
+    assertThat(cache.getError("second")).isNull();
+  }
+
+  @Test
+  public void shouldRecordForgottenCodeAgain() {
+    // given
+    cache.recordFailure("code", NOT_FOUND, cache.stamp());
+    cache.forget("code");
+
+    // when
+    cache.recordFailure("code", NOT_FOUND, cache.stamp());
+
+    // then
+    assertThat(cache.getError("code").getKey()).isEqualTo("not_found");
+  }
+}
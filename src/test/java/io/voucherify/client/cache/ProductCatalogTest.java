@@ -0,0 +1,69 @@
+package io.voucherify.client.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.voucherify.client.model.product.response.ProductResponse;
+import io.voucherify.client.model.product.response.SKUResponse;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductCatalogTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final ProductCatalog catalog = new ProductCatalog(CacheConfig.defaults());
+
+  @Test
+  public void shouldStoreProductLoadedWhileOtherProductAndSKUWereInvalidated() throws IOException {
+    // given
+    long stamp = catalog.stamp();
+    catalog.invalidateProduct("other-product");
+    catalog.invalidateSKU("other-product", "other-sku");
+
+    // when
+    catalog.putProduct(product("{\"id\":\"product\",\"skus\":{\"data\":[{\"id\":\"sku\"}]}}"), stamp);
+
+    // then
+    assertThat(catalog.getProduct("product")).isNotNull();
+    assertThat(catalog.getSKU("product", "sku")).isNotNull();
+  }
+
+  @Test
+  public void shouldDropProductInvalidatedWhileLoading() throws IOException {
+    // given
+    long stamp = catalog.stamp();
+    catalog.invalidateProduct("product");
+
+    // when
+    catalog.putProduct(product("{\"id\":\"product\",\"skus\":{\"data\":[{\"id\":\"sku\"}]}}"), stamp);
+
+    // then
+    assertThat(catalog.getProduct("product")).isNull();
+    assertThat(catalog.getSKU("product", "sku")).isNull();
+  }
+
+  @Test
+  public void shouldDropOnlySKUInvalidatedWhileLoading() throws IOException {
+    // given
+    long stamp = catalog.stamp();
+    catalog.invalidateSKU("product", "sku");
+
+    // when
+    catalog.putSKU("product", sku("{\"id\":\"sku\"}"), stamp);
+    catalog.putSKU("product", sku("{\"id\":\"other-sku\"}"), stamp);
+
+    // then
+    assertThat(catalog.getSKU("product", "sku")).isNull();
+    assertThat(catalog.getSKU("product", "other-sku")).isNotNull();
+  }
+
+  private ProductResponse product(String json) throws IOException {
+    return mapper.readValue(json, ProductResponse.class);
+  }
+
+  private SKUResponse sku(String json) throws IOException {
+    return mapper.readValue(json, SKUResponse.class);
+  }
+}
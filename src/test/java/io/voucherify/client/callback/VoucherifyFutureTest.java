@@ -0,0 +1,174 @@
+package io.voucherify.client.callback;
+
+import io.voucherify.client.error.VoucherifyError;
+import org.junit.Test;
+import rx.functions.Func1;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class VoucherifyFutureTest {
+
+  @Test
+  public void shouldCallCallbackOnCompletingThread() {
+    // given
+    VoucherifyFuture<String> future = new VoucherifyFuture<String>();
+    final AtomicReference<Thread> callbackThread = new AtomicReference<Thread>();
+    future.addCallback(new VoucherifyCallback<String>() {
+      @Override
+      public void onSuccess(String result) {
+        callbackThread.set(Thread.currentThread());
+      }
+    });
+
+    // when
+    future.set("value");
+
+    // then
+    assertThat(callbackThread.get()).isSameAs(Thread.currentThread());
+  }
+
+  @Test
+  public void shouldCallCallbackOnRequestedExecutor() {
+    // given
+    final AtomicReference<String> result = new AtomicReference<String>();
+    final int[] executions = new int[]{0};
+    Executor executor = new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        executions[0]++;
+        command.run();
+      }
+    };
+
+    // when
+    VoucherifyFuture.completed("value").addCallback(new VoucherifyCallback<String>() {
+      @Override
+      public void onSuccess(String value) {
+        result.set(value);
+      }
+    }, executor);
+
+    // then
+    assertThat(executions[0]).isEqualTo(1);
+    assertThat(result.get()).isEqualTo("value");
+  }
+
+  @Test
+  public void shouldComposeFutures() throws Exception {
+    // given
+    VoucherifyFuture<Integer> first = new VoucherifyFuture<Integer>();
+    VoucherifyFuture<Integer> second = new VoucherifyFuture<Integer>();
+
+    // when
+    VoucherifyFuture<List<Integer>> all = VoucherifyFuture.allOf(Arrays.asList(first, second));
+    VoucherifyFuture<Integer> sum = all.map(new Func1<List<Integer>, Integer>() {
+      @Override
+      public Integer call(List<Integer> values) {
+        return values.get(0) + values.get(1);
+      }
+    });
+    second.set(2);
+    first.set(1);
+
+    // then
+    assertThat(all.get()).containsExactly(1, 2);
+    assertThat(sum.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldPropagateError() throws Exception {
+    // given
+    VoucherifyFuture<Integer> future = new VoucherifyFuture<Integer>();
+    VoucherifyFuture<String> mapped = future.flatMap(new Func1<Integer, VoucherifyFuture<String>>() {
+      @Override
+      public VoucherifyFuture<String> call(Integer value) {
+        return VoucherifyFuture.completed(String.valueOf(value));
+      }
+    });
+    VoucherifyError error = VoucherifyError.from("not found");
+
+    // when
+    future.setError(error);
+
+    // then
+    try {
+      mapped.get();
+      fail("Should throw exception");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isSameAs(error);
+    }
+  }
+
+  @Test(expected = CancellationException.class)
+  public void shouldCancel() throws Exception {
+    // given
+    VoucherifyFuture<String> future = new VoucherifyFuture<String>();
+
+    // when
+    future.cancel(true);
+    future.set("value");
+
+    // then
+    assertThat(future.isCancelled()).isTrue();
+    future.get();
+  }
+
+  @Test
+  public void shouldCompleteOtherCallbacksWhenCallbackThrows() throws Exception {
+    // given
+    VoucherifyFuture<String> future = new VoucherifyFuture<String>();
+    final RuntimeException failure = new IllegalStateException("callback failed");
+    final AtomicReference<Throwable> uncaught = new AtomicReference<Throwable>();
+    final AtomicReference<String> delivered = new AtomicReference<String>();
+    future.addCallback(new VoucherifyCallback<String>() {
+      @Override
+      public void onSuccess(String result) {
+        throw failure;
+      }
+    });
+    future.addCallback(new VoucherifyCallback<String>() {
+      @Override
+      public void onSuccess(String result) {
+        delivered.set(result);
+      }
+    });
+    VoucherifyFuture<Integer> mapped = future.map(new Func1<String, Integer>() {
+      @Override
+      public Integer call(String value) {
+        return value.length();
+      }
+    });
+    VoucherifyFuture<List<String>> combined = VoucherifyFuture.allOf(Arrays.asList(future));
+
+    Thread thread = Thread.currentThread();
+    Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+    thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+      @Override
+      public void uncaughtException(Thread t, Throwable e) {
+        uncaught.set(e);
+      }
+    });
+
+    // when
+    try {
+      future.set("value");
+    } finally {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+
+    // then
+    assertThat(uncaught.get()).isSameAs(failure);
+    assertThat(delivered.get()).isEqualTo("value");
+    assertThat(mapped.get(1, TimeUnit.SECONDS)).isEqualTo(5);
+    assertThat(combined.get(1, TimeUnit.SECONDS)).containsExactly("value");
+  }
+}
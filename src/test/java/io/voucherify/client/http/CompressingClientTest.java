@@ -0,0 +1,108 @@
+package io.voucherify.client.http;
+
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.voucherify.client.VoucherifyClient;
+import io.voucherify.client.model.voucher.ImportVouchers;
+import io.voucherify.client.model.voucher.Voucher;
+import io.voucherify.client.model.voucher.response.VoucherResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressingClientTest {
+
+  private MockWebServer server;
+
+  @Before
+  public void setup() throws IOException {
+    server = new MockWebServer();
+    server.play();
+  }
+
+  @After
+  public void teardown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  public void shouldDecodeGzippedResponse() throws Exception {
+    // given
+    VoucherifyClient client = clientWith(CompressionConfig.defaults());
+    byte[] body = gzip("{\"code\":\"some-code\",\"category\":\"some-category\"}");
+    server.enqueue(new MockResponse().setBody(body).addHeader("Content-Encoding", "gzip"));
+
+    // when
+    VoucherResponse voucher = client.vouchers().get("some-code");
+
+    // then
+    assertThat(voucher.getCode()).isEqualTo("some-code");
+    assertThat(voucher.getCategory()).isEqualTo("some-category");
+    assertThat(server.takeRequest().getHeader("Accept-Encoding")).isEqualTo("gzip");
+
+    CompressionStats stats = client.getCompressionStats();
+    assertThat(stats.getResponseBytesReceived()).isEqualTo(body.length);
+    assertThat(stats.getResponseBytesDecoded()).isEqualTo(47);
+  }
+
+  @Test
+  public void shouldCompressLargeRequestBody() throws Exception {
+    // given
+    VoucherifyClient client = clientWith(CompressionConfig.builder().compressRequests(0).build());
+    server.enqueue(new MockResponse().setResponseCode(204));
+    ImportVouchers importVouchers = ImportVouchers.builder()
+            .voucher(Voucher.builder().code("first").build())
+            .voucher(Voucher.builder().code("second").build())
+            .build();
+
+    // when
+    client.vouchers().importVouchers(importVouchers);
+
+    // then
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+    assertThat(gunzip(request.getBody())).contains("\"code\":\"first\"").contains("\"code\":\"second\"");
+
+    CompressionStats stats = client.getCompressionStats();
+    assertThat(stats.getRequestBytesSent()).isEqualTo(request.getBody().length);
+    assertThat(stats.getRequestBytesEncoded()).isEqualTo(gunzip(request.getBody()).length());
+  }
+
+  private VoucherifyClient clientWith(CompressionConfig compressionConfig) {
+    return new VoucherifyClient.Builder()
+            .setClientSecretKey("some token")
+            .setAppId("some app id")
+            .withoutSSL()
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
+            .setCompression(compressionConfig)
+            .build();
+  }
+
+  private static byte[] gzip(String value) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+    gzip.write(value.getBytes("UTF-8"));
+    gzip.close();
+    return bytes.toByteArray();
+  }
+
+  private static String gunzip(byte[] value) throws IOException {
+    InputStream in = new GZIPInputStream(new ByteArrayInputStream(value));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+      bytes.write(buffer, 0, read);
+    }
+    return bytes.toString("UTF-8");
+  }
+}
@@ -0,0 +1,119 @@
+package io.voucherify.client.http;
+
+import org.junit.After;
+import org.junit.Test;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitingClientTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(12);
+
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  private final AtomicInteger maxRunningOnFirstHost = new AtomicInteger();
+
+  private final AtomicInteger runningOnFirstHost = new AtomicInteger();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldNotRunMoreRequestsThanAllowed() throws Exception {
+    // given
+    ConcurrencyLimitingClient client = new ConcurrencyLimitingClient(slowClient(), 3, 3);
+
+    // when
+    executeAll(client, 12, "http://first.example.com/vouchers");
+
+    // then
+    assertThat(maxRunning.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotRunMoreRequestsToOneHostThanAllowed() throws Exception {
+    // given
+    ConcurrencyLimitingClient client = new ConcurrencyLimitingClient(slowClient(), 4, 2);
+
+    // when
+    executeAll(client, 12, "http://first.example.com/vouchers", "http://second.example.com/vouchers");
+
+    // then
+    assertThat(maxRunningOnFirstHost.get()).isEqualTo(2);
+    assertThat(maxRunning.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldTellHostsApart() {
+    // then
+    assertThat(ConcurrencyLimitingClient.host("https://api.voucherify.io/v1/vouchers"))
+            .isEqualTo("https://api.voucherify.io");
+    assertThat(ConcurrencyLimitingClient.host("http://localhost:8080")).isEqualTo("http://localhost:8080");
+  }
+
+  private void executeAll(final Client client, int count, final String... urls) throws Exception {
+    List<Future<Response>> responses = new ArrayList<Future<Response>>();
+    for (int i = 0; i < count; i++) {
+      final String url = urls[i % urls.length];
+      responses.add(executor.submit(new Callable<Response>() {
+        @Override
+        public Response call() throws Exception {
+          return client.execute(new Request("GET", url, Collections.<Header>emptyList(), null));
+        }
+      }));
+    }
+
+    for (Future<Response> response : responses) {
+      assertThat(response.get().getStatus()).isEqualTo(200);
+    }
+  }
+
+  private Client slowClient() {
+    return new Client() {
+      @Override
+      public Response execute(Request request) {
+        boolean firstHost = request.getUrl().contains("first");
+        updateMax(maxRunning, running.incrementAndGet());
+        if (firstHost) {
+          updateMax(maxRunningOnFirstHost, runningOnFirstHost.incrementAndGet());
+        }
+
+        try {
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+
+        if (firstHost) {
+          runningOnFirstHost.decrementAndGet();
+        }
+        running.decrementAndGet();
+        return new Response(request.getUrl(), 200, "OK", Collections.<Header>emptyList(), null);
+      }
+    };
+  }
+
+  private static void updateMax(AtomicInteger max, int value) {
+    int current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package io.voucherify.client.http;
+
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import io.voucherify.client.VoucherifyClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransportConfigTest {
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private MockWebServer server;
+
+  @Before
+  public void setup() throws IOException {
+    server = new MockWebServer();
+    server.play();
+  }
+
+  @After
+  public void teardown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  public void shouldCreateHttpClientWithConfiguredSettings() {
+    // given
+    TransportConfig config = TransportConfig.builder()
+            .maxRequests(32)
+            .maxRequestsPerHost(8)
+            .connectTimeout(1, TimeUnit.SECONDS)
+            .readTimeout(2, TimeUnit.SECONDS)
+            .writeTimeout(3, TimeUnit.SECONDS)
+            .build();
+
+    // when
+    OkHttpClient httpClient = config.createHttpClient();
+
+    // then
+    assertThat(httpClient.getConnectionPool()).isSameAs(config.getConnectionPool());
+    assertThat(httpClient.getConnectTimeout()).isEqualTo(1000);
+    assertThat(httpClient.getReadTimeout()).isEqualTo(2000);
+    assertThat(httpClient.getWriteTimeout()).isEqualTo(3000);
+  }
+
+  @Test
+  public void shouldReuseConnectionBetweenRequests() throws Exception {
+    // given
+    VoucherifyClient client = new VoucherifyClient.Builder()
+            .setClientSecretKey("some token")
+            .setAppId("some app id")
+            .withoutSSL()
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
+            .setTransportConfig(TransportConfig.defaults())
+            .build();
+    server.enqueue(new MockResponse().setBody("{\"code\":\"first\"}"));
+    server.enqueue(new MockResponse().setBody("{\"code\":\"second\"}"));
+
+    // when
+    client.vouchers().get("first");
+    client.vouchers().get("second");
+
+    // then
+    assertThat(server.takeRequest().getSequenceNumber()).isEqualTo(0);
+    assertThat(server.takeRequest().getSequenceNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotAllowMorePerHostRequestsThanTotal() {
+    // then
+    expectedException.expect(IllegalArgumentException.class);
+
+    // when
+    TransportConfig.builder().maxRequests(4).maxRequestsPerHost(8).build();
+  }
+}
@@ -0,0 +1,80 @@
+package io.voucherify.client.json.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.voucherify.client.api.VoucherifyApi;
+import io.voucherify.client.model.voucher.ImportVouchers;
+import io.voucherify.client.model.voucher.Voucher;
+import io.voucherify.client.model.voucher.response.VoucherResponse;
+import org.junit.Test;
+import retrofit.mime.TypedByteArray;
+import retrofit.mime.TypedOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonConverterTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final JsonConverter converter = new JsonConverter(mapper, ImportVouchers.class);
+
+  @Test
+  public void shouldStreamConfiguredTypes() throws IOException {
+    // given
+    ImportVouchers importVouchers = ImportVouchers.builder()
+            .voucher(Voucher.builder().code("first").build())
+            .voucher(Voucher.builder().code("second").build())
+            .build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    TypedOutput body = converter.toBody(importVouchers);
+    body.writeTo(out);
+
+    // then
+    assertThat(body).isInstanceOf(JsonTypedOutput.class);
+    assertThat(body.length()).isEqualTo(-1);
+    assertThat(body.mimeType()).isEqualTo("application/json; charset=UTF-8");
+    assertThat(out.toString("UTF-8")).isEqualTo(mapper.writeValueAsString(importVouchers));
+  }
+
+  @Test
+  public void shouldBufferOtherTypesWithKnownLength() throws IOException {
+    // given
+    Voucher voucher = Voucher.builder().code("some-code").build();
+
+    // when
+    TypedOutput body = converter.toBody(voucher);
+
+    // then
+    assertThat(body).isInstanceOf(TypedByteArray.class);
+    assertThat(body.length()).isEqualTo(mapper.writeValueAsBytes(voucher).length);
+  }
+
+  @Test
+  public void shouldReadBody() throws Exception {
+    // given
+    TypedByteArray body = new TypedByteArray("application/json", "{\"code\":\"some-code\"}".getBytes("UTF-8"));
+
+    // when
+    Object result = converter.fromBody(body, VoucherResponse.class);
+
+    // then
+    assertThat(((VoucherResponse) result).getCode()).isEqualTo("some-code");
+  }
+
+  @Test
+  public void shouldReadBodyAfterWarmUp() throws Exception {
+    // given
+    converter.warmUp(VoucherifyApi.class);
+    TypedByteArray body = new TypedByteArray("application/json", "{\"code\":\"some-code\"}".getBytes("UTF-8"));
+
+    // when
+    Object result = converter.fromBody(body, VoucherResponse.class);
+
+    // then
+    assertThat(((VoucherResponse) result).getCode()).isEqualTo("some-code");
+  }
+}
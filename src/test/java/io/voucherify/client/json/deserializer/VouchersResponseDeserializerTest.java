@@ -0,0 +1,57 @@
+package io.voucherify.client.json.deserializer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.voucherify.client.ApiVersion;
+import io.voucherify.client.model.voucher.response.VouchersResponse;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VouchersResponseDeserializerTest {
+
+  @Test
+  public void shouldDeserializeListObject() throws IOException {
+    // given
+    ObjectMapper mapper = createMapper(ApiVersion.V_2017_04_20);
+    String json = "{\"object\":\"list\",\"total\":2,\"data_ref\":\"vouchers\",\"metadata\":{\"nested\":[1,2]},"
+            + "\"vouchers\":[{\"code\":\"first\",\"metadata\":{\"key\":\"value\"}},{\"code\":\"second\"}]}";
+
+    // when
+    VouchersResponse response = mapper.readValue(json, VouchersResponse.class);
+
+    // then
+    assertThat(response.getObject()).isEqualTo("list");
+    assertThat(response.getTotal()).isEqualTo(2);
+    assertThat(response.getDataRef()).isEqualTo("vouchers");
+    assertThat(response.getVouchers()).hasSize(2);
+    assertThat(response.getVouchers().get(0).getCode()).isEqualTo("first");
+    assertThat(response.getVouchers().get(1).getCode()).isEqualTo("second");
+  }
+
+  @Test
+  public void shouldDeserializeArrayWithoutApiVersion() throws IOException {
+    // given
+    ObjectMapper mapper = createMapper(null);
+
+    // when
+    VouchersResponse response = mapper.readValue("[{\"code\":\"first\"}]", VouchersResponse.class);
+
+    // then
+    assertThat(response.getTotal()).isNull();
+    assertThat(response.getVouchers()).hasSize(1);
+    assertThat(response.getVouchers().get(0).getCode()).isEqualTo("first");
+  }
+
+  private ObjectMapper createMapper(ApiVersion apiVersion) {
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    SimpleModule module = new SimpleModule();
+    module.addDeserializer(VouchersResponse.class, new VouchersResponseDeserializer(apiVersion));
+    mapper.registerModule(module);
+    return mapper;
+  }
+}
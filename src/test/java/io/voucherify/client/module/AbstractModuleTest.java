@@ -2,8 +2,10 @@ package io.voucherify.client.module;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
 import com.squareup.okhttp.mockwebserver.MockResponse;
 import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.QueueDispatcher;
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
 import io.voucherify.client.VoucherifyClient;
 import io.voucherify.client.callback.VoucherifyCallback;
@@ -26,13 +28,16 @@ public class AbstractModuleTest {
   public static void onSetup() throws IOException {
     server = new MockWebServer();
     server.play();
-    client = new VoucherifyClient.Builder()
+    client = clientBuilder().build();
+  }
+
+  protected static VoucherifyClient.Builder clientBuilder() {
+    return new VoucherifyClient.Builder()
             .setClientSecretKey("some token")
             .setAppId("some app id")
             .setLogLevel(RestAdapter.LogLevel.FULL)
             .withoutSSL()
-            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""))
-            .build();
+            .setEndpoint(server.getUrl("/").toString().replaceFirst("http://", ""));
   }
 
   protected void enqueueResponse(Object body) {
@@ -45,10 +50,25 @@ public class AbstractModuleTest {
     server.enqueue(new MockResponse().setBody(body).setResponseCode(200));
   }
 
+  void enqueue(MockResponse response) {
+    server.enqueue(response);
+  }
+
+  void enqueueErrorResponse(int responseCode, String body) {
+    server.enqueue(new MockResponse().setBody(body).setResponseCode(responseCode));
+  }
+
   void enqueueEmptyResponse() {
     server.enqueue(new MockResponse().setResponseCode(204));
   }
 
+  /**
+   * Replaces the queue of enqueued responses until the end of the test.
+   */
+  void setDispatcher(Dispatcher dispatcher) {
+    server.setDispatcher(dispatcher);
+  }
+
   RecordedRequest getRequest() {
     try {
       return server.takeRequest();
@@ -78,6 +98,7 @@ public class AbstractModuleTest {
   @After
   public void afterEach() {
     callbackFired[0] = false;
+    server.setDispatcher(new QueueDispatcher());
   }
 
   @AfterClass
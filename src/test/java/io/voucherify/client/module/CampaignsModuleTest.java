@@ -1,7 +1,15 @@
 package io.voucherify.client.module;
 
+import com.squareup.okhttp.mockwebserver.MockResponse;
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.voucherify.client.VoucherifyClient;
+import io.voucherify.client.bulk.BulkImportConfig;
+import io.voucherify.client.bulk.BulkImportReport;
+import io.voucherify.client.bulk.CampaignImportSource;
+import io.voucherify.client.cache.CacheConfig;
+import io.voucherify.client.cache.NegativeCacheConfig;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.error.VoucherifyError;
 import io.voucherify.client.model.campaign.AddVoucherToCampaign;
 import io.voucherify.client.model.campaign.CampaignImportVoucher;
 import io.voucherify.client.model.campaign.CampaignImportVouchers;
@@ -12,6 +20,11 @@ import io.voucherify.client.model.campaign.response.CampaignResponse;
 import org.junit.Test;
 import rx.Observable;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -82,6 +95,51 @@ public class CampaignsModuleTest extends AbstractModuleTest {
     assertThat(request.getMethod()).isEqualTo("POST");
   }
 
+  @Test
+  public void shouldForgetUnknownCodesAddedOrImportedToCampaign() {
+    // given
+    VoucherifyClient negativeCachingClient = clientBuilder().setNegativeCache(NegativeCacheConfig.defaults()).build();
+    String notFound = "{\"code\":404,\"message\":\"Resource not found\",\"key\":\"not_found\"}";
+    enqueueErrorResponse(404, notFound);
+    enqueueResponse("{\"campaign\": \"campaign-name\", \"code\": \"added-code\"}");
+    enqueueResponse("{\"code\":\"added-code\"}");
+    enqueueErrorResponse(404, notFound);
+    enqueueEmptyResponse();
+    enqueueResponse("{\"code\":\"imported-code\"}");
+
+    // when
+    assertNotFound(negativeCachingClient, "added-code");
+    assertNotFound(negativeCachingClient, "added-code");
+    negativeCachingClient.campaigns().addVoucherWithCode("campaign-name", "added-code",
+            AddVoucherToCampaign.builder().build());
+    negativeCachingClient.vouchers().get("added-code");
+
+    assertNotFound(negativeCachingClient, "imported-code");
+    negativeCachingClient.campaigns().importVouchers("campaign-name", CampaignImportVouchers.builder()
+            .voucher(CampaignImportVoucher.builder().code("imported-code").build())
+            .build());
+    negativeCachingClient.vouchers().get("imported-code");
+
+    // then
+    assertThat(negativeCachingClient.vouchers().getNegativeCacheAbsorbedCount()).isEqualTo(1);
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/added-code");
+    assertThat(getRequest().getPath()).isEqualTo("/campaigns/campaign-name/vouchers/added-code");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/added-code");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/imported-code");
+    assertThat(getRequest().getPath()).isEqualTo("/campaigns/campaign-name/import");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/imported-code");
+  }
+
+  private static void assertNotFound(VoucherifyClient client, String code) {
+    try {
+      client.vouchers().get(code);
+    } catch (VoucherifyError e) {
+      assertThat(e.getCode()).isEqualTo(404);
+      return;
+    }
+    throw new AssertionError("Expected the lookup to fail.");
+  }
+
   @Test
   public void shouldDeleteCampaign() {
     // given
@@ -309,4 +367,56 @@ public class CampaignsModuleTest extends AbstractModuleTest {
     assertThat(request.getPath()).isEqualTo("/campaigns/campaign-name/import");
     assertThat(request.getMethod()).isEqualTo("POST");
   }
+
+  @Test
+  public void shouldRevalidateCampaignWithConditionalRequest() {
+    // given
+    VoucherifyClient revalidatingClient = clientBuilder().setConditionalRequestCache(CacheConfig.defaults()).build();
+    enqueue(new MockResponse().setBody("{\"name\":\"some-campaign\"}").addHeader("ETag", "\"v1\""));
+    enqueue(new MockResponse().setResponseCode(304).addHeader("ETag", "\"v1\""));
+    enqueue(new MockResponse().setBody("{\"name\":\"some-campaign\",\"description\":\"changed\"}")
+            .addHeader("ETag", "\"v2\""));
+
+    // when
+    CampaignResponse first = revalidatingClient.campaigns().get("some-campaign");
+    CampaignResponse second = revalidatingClient.campaigns().get("some-campaign");
+    CampaignResponse third = revalidatingClient.campaigns().get("some-campaign");
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(third).isNotSameAs(first);
+    assertThat(revalidatingClient.getNotModifiedResponseCount()).isEqualTo(1);
+
+    RecordedRequest request = getRequest();
+    assertThat(request.getPath()).isEqualTo("/campaigns/some-campaign");
+    assertThat(request.getHeader("If-None-Match")).isNull();
+    assertThat(getRequest().getHeader("If-None-Match")).isEqualTo("\"v1\"");
+    assertThat(getRequest().getHeader("If-None-Match")).isEqualTo("\"v1\"");
+  }
+
+  @Test
+  public void shouldImportVouchersFromCsvFileInChunks() throws Exception {
+    // given
+    File file = File.createTempFile("campaign-import", ".csv");
+    file.deleteOnExit();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write("code,category\nfirst,a\nsecond,b\nthird,c\n");
+    } finally {
+      writer.close();
+    }
+    enqueueEmptyResponse();
+    enqueueEmptyResponse();
+
+    // when
+    BulkImportReport report = client.campaigns().importVouchers("campaign-name", CampaignImportSource.csv(file),
+            BulkImportConfig.builder().chunkSize(2).parallelism(1).build());
+
+    // then
+    assertThat(report.getImportedCount()).isEqualTo(3);
+    RecordedRequest request = getRequest();
+    assertThat(request.getPath()).isEqualTo("/campaigns/campaign-name/import");
+    assertThat(request.getUtf8Body()).contains("first").contains("second").doesNotContain("third");
+    assertThat(getRequest().getUtf8Body()).contains("third");
+  }
 }
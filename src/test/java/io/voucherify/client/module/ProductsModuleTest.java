@@ -1,6 +1,10 @@
 package io.voucherify.client.module;
 
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.voucherify.client.VoucherifyClient;
+import io.voucherify.client.cache.CacheConfig;
+import io.voucherify.client.cache.CatalogRefreshStatus;
+import io.voucherify.client.error.VoucherifyError;
 import io.voucherify.client.model.product.Product;
 import io.voucherify.client.model.product.ProductsFilter;
 import io.voucherify.client.model.product.SKU;
@@ -14,6 +18,10 @@ import io.voucherify.client.model.product.DeleteSKUParams;
 import io.voucherify.client.model.product.response.SKUResponse;
 import rx.Observable;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -88,6 +96,69 @@ public class ProductsModuleTest extends AbstractModuleTest {
     assertThat(request.getMethod()).isEqualTo("GET");
   }
 
+  @Test
+  public void shouldServeProductsFromWarmedUpCatalog() {
+    // given
+    VoucherifyClient cachingClient = clientBuilder().setProductCatalogCache(CacheConfig.defaults()).build();
+    enqueueResponse("{\"object\": \"list\", \"total\": 2, \"products\": ["
+            + "{\"id\": \"prod-1\", \"skus\": {\"object\": \"list\", \"total\": 1, \"data\": [{\"id\": \"sku-1\", \"sku\": \"first\"}]}},"
+            + "{\"id\": \"prod-2\"}]}");
+    enqueueResponse("{\"id\": \"sku-1\", \"sku\": \"changed\"}");
+    enqueueResponse("{\"id\": \"sku-1\", \"sku\": \"changed\"}");
+
+    // when
+    int loaded = cachingClient.products().warmUpCatalog();
+    ProductResponse product = cachingClient.products().get("prod-2");
+    SKUResponse cachedSku = cachingClient.products().getSKU("prod-1", "sku-1");
+    cachingClient.products().updateSKU("prod-1", SKU.builder().id("sku-1").sku("changed").build());
+    SKUResponse reloadedSku = cachingClient.products().getSKU("prod-1", "sku-1");
+
+    // then
+    assertThat(loaded).isEqualTo(2);
+    assertThat(product.getId()).isEqualTo("prod-2");
+    assertThat(cachedSku.getSku()).isEqualTo("first");
+    assertThat(reloadedSku.getSku()).isEqualTo("changed");
+    assertThat(getRequest().getPath()).isEqualTo("/products?limit=100&page=1");
+    assertThat(getRequest().getMethod()).isEqualTo("PUT");
+    assertThat(getRequest().getPath()).isEqualTo("/products/prod-1/skus/sku-1");
+  }
+
+  @Test
+  public void shouldRecordFailedCatalogRefresh() throws Exception {
+    // given
+    final VoucherifyClient cachingClient = clientBuilder().setProductCatalogCache(CacheConfig.defaults()).build();
+    final AtomicReference<VoucherifyError> reported = new AtomicReference<VoucherifyError>();
+    enqueueErrorResponse(401, "{\"code\":401,\"message\":\"Unauthorized\",\"key\":\"unauthorized\"}");
+
+    // when
+    cachingClient.products().scheduleCatalogRefresh(10, TimeUnit.MILLISECONDS, new VoucherifyCallback<Integer>() {
+      @Override
+      public void onSuccess(Integer result) {}
+
+      @Override
+      public void onFailure(VoucherifyError error) {
+        cachingClient.products().stopCatalogRefresh();
+        reported.set(error);
+      }
+    });
+    await().atMost(5, SECONDS).until(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return reported.get() != null;
+      }
+    });
+
+    // then
+    CatalogRefreshStatus status = cachingClient.products().getCatalogRefreshStatus();
+    assertThat(status.getFailureCount()).isEqualTo(1);
+    assertThat(status.getConsecutiveFailures()).isEqualTo(1);
+    assertThat(status.getLastFailureMillis()).isGreaterThan(0);
+    assertThat(status.getLastSuccessMillis()).isEqualTo(0);
+    assertThat(status.getLastFailure().getCode()).isEqualTo(401);
+    assertThat(reported.get().getCode()).isEqualTo(401);
+    assertThat(getRequest().getPath()).isEqualTo("/products?limit=100&page=1");
+  }
+
   @Test
   public void shouldDeleteProduct() {
     // given
@@ -1,10 +1,18 @@
 package io.voucherify.client.module;
 
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.voucherify.client.VoucherifyClient;
+import io.voucherify.client.bulk.BatchReport;
+import io.voucherify.client.cache.CacheConfig;
+import io.voucherify.client.callback.PageScanCallback;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
 import io.voucherify.client.model.customer.Customer;
 import io.voucherify.client.model.order.Order;
 import io.voucherify.client.model.order.OrderItem;
+import io.voucherify.client.model.redemption.BatchRedemption;
 import io.voucherify.client.model.redemption.RedeemVoucher;
 import io.voucherify.client.model.redemption.RedemptionStatus;
 import io.voucherify.client.model.redemption.RedemptionsFilter;
@@ -14,9 +22,15 @@ import io.voucherify.client.model.redemption.response.RedemptionEntryResponse;
 import io.voucherify.client.model.redemption.response.RedemptionsResponse;
 import io.voucherify.client.model.redemption.response.RollbackRedemptionResponse;
 import io.voucherify.client.model.redemption.response.VoucherRedemptionsResponse;
+import io.voucherify.client.model.voucher.response.VoucherResponse;
 import org.junit.Test;
 import rx.Observable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -54,6 +68,47 @@ public class RedemptionsModuleTest extends AbstractModuleTest {
     assertThat(request.getMethod()).isEqualTo("POST");
   }
 
+  @Test
+  public void shouldRedeemAllCodesOfBatch() {
+    // given
+    RedeemVoucher redeemVoucher = RedeemVoucher.builder().build();
+    List<BatchRedemption> redemptions = Arrays.asList(
+            BatchRedemption.of("gift", redeemVoucher),
+            BatchRedemption.of("gift", redeemVoucher));
+
+    enqueueResponse("{\"id\": \"r-1\"}");
+    enqueueErrorResponse(400, "{\"code\": 400, \"message\": \"Gift card balance exceeded\"}");
+
+    // when
+    BatchReport<RedeemVoucherResponse> report = client.redemptions().redeemAll(redemptions, 4);
+
+    // then
+    assertThat(report.getSucceededCount()).isEqualTo(1);
+    assertThat(report.getItems().get(0).getResult().getId()).isEqualTo("r-1");
+    assertThat(report.getItems().get(1).getError().getCode()).isEqualTo(400);
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/gift/redemption");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/gift/redemption");
+  }
+
+  @Test
+  public void shouldCacheVoucherLoadedWhileOtherCodeIsRedeemed() throws Exception {
+    // given
+    VoucherifyClient cachingClient = clientBuilder().setVoucherCache(CacheConfig.defaults()).build();
+    enqueue(new MockResponse().setBody("{\"code\":\"B\"}").setBodyDelayTimeMs(500));
+    enqueueResponse("{\"id\": \"r-1\"}");
+
+    // when
+    VoucherifyFuture<VoucherResponse> loading = cachingClient.vouchers().futures().get("B");
+    RecordedRequest load = getRequest();
+    cachingClient.redemptions().redeem("A", RedeemVoucher.builder().build());
+    loading.get();
+
+    // then
+    assertThat(load.getPath()).isEqualTo("/vouchers/B");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/A/redemption");
+    assertThat(cachingClient.vouchers().getCacheStats().getSize()).isEqualTo(1);
+  }
+
   @Test
   public void shouldGetRedemption() {
     // given
@@ -69,6 +124,84 @@ public class RedemptionsModuleTest extends AbstractModuleTest {
     assertThat(request.getMethod()).isEqualTo("GET");
   }
 
+  @Test
+  public void shouldScanAllPagesOfRedemptionsInPageOrder() {
+    // given
+    setDispatcher(new PagesCompletingOutOfOrder());
+
+    RedemptionsFilter redemptionsFilter = RedemptionsFilter.builder()
+            .limit(2)
+            .campaign("campaign")
+            .build();
+
+    // when
+    List<RedemptionEntryResponse> redemptions = client.redemptions().scan(redemptionsFilter, 2);
+
+    // then
+    List<String> ids = new ArrayList<String>();
+    for (RedemptionEntryResponse redemption : redemptions) {
+      ids.add(redemption.getId());
+    }
+    assertThat(ids).containsExactly("r1", "r2", "r3", "r4", "r5");
+    assertThat(getRequest().getPath()).isEqualTo("/redemptions?limit=2&campaign=campaign&page=1");
+    assertThat(Arrays.asList(getRequest().getPath(), getRequest().getPath())).containsOnly(
+            "/redemptions?limit=2&campaign=campaign&page=2",
+            "/redemptions?limit=2&campaign=campaign&page=3");
+  }
+
+  @Test
+  public void shouldHoldBackPageWhichArrivedBeforeEarlierPageAndReportProgress() {
+    // given
+    setDispatcher(new PagesCompletingOutOfOrder());
+
+    RedemptionsFilter redemptionsFilter = RedemptionsFilter.builder()
+            .limit(2)
+            .campaign("campaign")
+            .build();
+    final List<String> events = new ArrayList<String>();
+
+    // when
+    client.redemptions().scan(redemptionsFilter, 2, true, new PageScanCallback<RedemptionEntryResponse>() {
+      @Override
+      public void onPage(int page, List<RedemptionEntryResponse> items) {
+        events.add("page " + page + " of " + items.size());
+      }
+
+      @Override
+      public void onProgress(int completedPages, int totalPages) {
+        events.add(completedPages + "/" + totalPages);
+      }
+    });
+
+    // then
+    getRequest();
+    getRequest();
+    getRequest();
+    assertThat(events).containsExactly("page 1 of 2", "1/3", "2/3", "page 2 of 2", "page 3 of 1", "3/3");
+  }
+
+  /**
+   * Answers the second page only after the third one was answered.
+   */
+  private static class PagesCompletingOutOfOrder extends Dispatcher {
+
+    private final CountDownLatch lastPageSent = new CountDownLatch(1);
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+      if (request.getPath().endsWith("page=1")) {
+        return new MockResponse().setBody("{\"total\":5,\"redemptions\":[{\"id\":\"r1\"},{\"id\":\"r2\"}]}");
+      }
+      if (request.getPath().endsWith("page=2")) {
+        lastPageSent.await(5, SECONDS);
+        Thread.sleep(200);
+        return new MockResponse().setBody("{\"total\":5,\"redemptions\":[{\"id\":\"r3\"},{\"id\":\"r4\"}]}");
+      }
+      lastPageSent.countDown();
+      return new MockResponse().setBody("{\"total\":5,\"redemptions\":[{\"id\":\"r5\"}]}");
+    }
+  }
+
   @Test
   public void shouldListRedemptions() {
     RedemptionsFilter redemptionsFilter = RedemptionsFilter.builder()
@@ -1,6 +1,9 @@
 package io.voucherify.client.module;
 
+import com.squareup.okhttp.mockwebserver.MockResponse;
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.voucherify.client.VoucherifyClient;
+import io.voucherify.client.cache.CacheConfig;
 import io.voucherify.client.callback.VoucherifyCallback;
 import io.voucherify.client.model.validationRules.IdPair;
 import io.voucherify.client.model.validationRules.Junction;
@@ -9,6 +12,7 @@ import io.voucherify.client.model.validationRules.OrderValidationRules;
 import io.voucherify.client.model.validationRules.ProductValidationRules;
 import io.voucherify.client.model.validationRules.ValidationRules;
 import io.voucherify.client.model.validationRules.response.ValidationRulesResponse;
+import io.voucherify.client.validation.CompiledValidationRules;
 import org.junit.Test;
 import rx.Observable;
 
@@ -68,6 +72,127 @@ public class ValidationRulesModuleTest extends AbstractModuleTest {
     assertThat(request.getMethod()).isEqualTo("GET");
   }
 
+  @Test
+  public void shouldRevalidateValidationRulesByUpdatedAtWithoutValidators() {
+    // given
+    VoucherifyClient revalidatingClient = clientBuilder().setConditionalRequestCache(CacheConfig.defaults()).build();
+    enqueueResponse("{\"id\":\"some-id\",\"updated_at\":\"2016-12-01T10:00:00Z\"}");
+    enqueue(new MockResponse().setResponseCode(304));
+
+    // when
+    ValidationRulesResponse first = revalidatingClient.validationRules().get("some-id");
+    ValidationRulesResponse second = revalidatingClient.validationRules().get("some-id");
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(revalidatingClient.getNotModifiedResponseCount()).isEqualTo(1);
+    assertThat(revalidatingClient.getConditionalRequestStats().getHitCount()).isEqualTo(1);
+    assertThat(getRequest().getHeader("If-Modified-Since")).isNull();
+    RecordedRequest request = getRequest();
+    assertThat(request.getHeader("If-Modified-Since")).isEqualTo("Thu, 01 Dec 2016 10:00:00 GMT");
+    assertThat(request.getHeader("If-None-Match")).isNull();
+  }
+
+  @Test
+  public void shouldReadValidationRulesInFullAfterUpdatingThem() {
+    // given
+    VoucherifyClient revalidatingClient = clientBuilder().setConditionalRequestCache(CacheConfig.defaults()).build();
+    enqueue(new MockResponse().setBody("{\"id\":\"some-id\"}").addHeader("ETag", "\"v1\""));
+    enqueueResponse(RULES);
+    enqueue(new MockResponse().setBody("{\"id\":\"some-id\"}").addHeader("ETag", "\"v2\""));
+
+    // when
+    revalidatingClient.validationRules().get("some-id");
+    revalidatingClient.validationRules().update(RULES);
+    revalidatingClient.validationRules().get("some-id");
+
+    // then
+    assertThat(getRequest().getHeader("If-None-Match")).isNull();
+    assertThat(getRequest().getMethod()).isEqualTo("PUT");
+    assertThat(getRequest().getHeader("If-None-Match")).isNull();
+  }
+
+  @Test
+  public void shouldCacheCompiledValidationRulesUntilUpdated() {
+    // given
+    VoucherifyClient cachingClient = clientBuilder().setValidationRulesCache(CacheConfig.defaults()).build();
+    enqueueResponse(RULES);
+    enqueueResponse(RULES);
+    enqueueResponse(RULES);
+
+    // when
+    CompiledValidationRules first = cachingClient.validationRules().getCompiled("some-id");
+    CompiledValidationRules second = cachingClient.validationRules().getCompiled("some-id");
+    CompiledValidationRules forVoucher = cachingClient.validationRules().peekCompiledForVoucher("code");
+    cachingClient.validationRules().update(RULES);
+    CompiledValidationRules afterUpdate = cachingClient.validationRules().peekCompiledForVoucher("code");
+    CompiledValidationRules reloaded = cachingClient.validationRules().getCompiled("some-id");
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(forVoucher).isSameAs(first);
+    assertThat(afterUpdate).isNull();
+    assertThat(reloaded).isNotSameAs(first);
+    assertThat(first.getGroups()).hasSize(2);
+    assertThat(getRequest().getMethod()).isEqualTo("GET");
+    assertThat(getRequest().getMethod()).isEqualTo("PUT");
+    assertThat(getRequest().getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void shouldCompileRulesEmbeddedInCampaignAndKeepThemUnderCampaignName() {
+    // given
+    VoucherifyClient cachingClient = clientBuilder().setValidationRulesCache(CacheConfig.defaults()).build();
+    enqueueResponse("{\"name\":\"campaign\",\"validation_rules\":{\"id\":\"some-id\"}}");
+
+    // when
+    CompiledValidationRules first = cachingClient.validationRules().getCompiledForCampaign("campaign");
+    CompiledValidationRules second = cachingClient.validationRules().getCompiledForCampaign("campaign");
+    CompiledValidationRules byId = cachingClient.validationRules().getCompiled("some-id");
+
+    // then
+    assertThat(first.getId()).isEqualTo("some-id");
+    assertThat(second).isSameAs(first);
+    assertThat(byId).isSameAs(first);
+    assertThat(getRequest().getPath()).isEqualTo("/campaigns/campaign");
+  }
+
+  @Test
+  public void shouldKeepCampaignWithoutRules() {
+    // given
+    VoucherifyClient cachingClient = clientBuilder().setValidationRulesCache(CacheConfig.defaults()).build();
+    enqueueResponse("{\"name\":\"campaign\"}");
+    enqueueResponse("{\"id\":\"some-id\",\"campaign_name\":\"campaign\"}");
+    enqueueResponse("{\"name\":\"campaign\",\"validation_rules\":{\"id\":\"some-id\"}}");
+
+    // when
+    CompiledValidationRules first = cachingClient.validationRules().getCompiledForCampaign("campaign");
+    CompiledValidationRules second = cachingClient.validationRules().getCompiledForCampaign("campaign");
+    cachingClient.validationRules().create(ValidationRules.builder().campaignName("campaign").build());
+    CompiledValidationRules afterCreate = cachingClient.validationRules().getCompiledForCampaign("campaign");
+
+    // then
+    assertThat(first).isNull();
+    assertThat(second).isNull();
+    assertThat(afterCreate.getId()).isEqualTo("some-id");
+    assertThat(getRequest().getPath()).isEqualTo("/campaigns/campaign");
+    assertThat(getRequest().getMethod()).isEqualTo("POST");
+    assertThat(getRequest().getPath()).isEqualTo("/campaigns/campaign");
+  }
+
+  @Test
+  public void shouldReturnNoRulesForCampaignWithoutRules() {
+    // given
+    enqueueResponse("{\"name\":\"campaign\"}");
+
+    // when
+    CompiledValidationRules rules = client.validationRules().getCompiledForCampaign("campaign");
+
+    // then
+    assertThat(rules).isNull();
+    assertThat(getRequest().getPath()).isEqualTo("/campaigns/campaign");
+  }
+
   @Test
   public void shouldUpdateValidationRules() {
     // given
@@ -2,6 +2,9 @@ package io.voucherify.client.module;
 
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
 import org.junit.Test;
+import io.voucherify.client.bulk.BatchItemResult;
+import io.voucherify.client.bulk.BatchReport;
+import io.voucherify.client.callback.BatchCallback;
 import io.voucherify.client.callback.VoucherifyCallback;
 import io.voucherify.client.model.customer.Customer;
 import io.voucherify.client.model.order.Order;
@@ -10,6 +13,10 @@ import io.voucherify.client.model.validation.VoucherValidation;
 import io.voucherify.client.model.validation.VoucherValidationResponse;
 import rx.Observable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -46,6 +53,34 @@ public class ValidationsModuleTest extends AbstractModuleTest {
     assertThat(request.getMethod()).isEqualTo("POST");
   }
 
+  @Test
+  public void shouldValidateAllCodesAgainstSameCart() {
+    // given
+    enqueueResponse("{\"code\" : \"first\", \"valid\": true }");
+    enqueueResponse("{\"code\" : \"second\", \"valid\": false }");
+    final List<String> delivered = new ArrayList<String>();
+
+    // when
+    BatchReport<VoucherValidationResponse> report = client.validations().validateAll(Arrays.asList("first", "second"),
+            VOUCHER_VALIDATION, 1, new BatchCallback<VoucherValidationResponse>() {
+              @Override
+              public void onResult(BatchItemResult<VoucherValidationResponse> result) {
+                delivered.add(result.getResult().getCode());
+              }
+            });
+
+    // then
+    assertThat(delivered).containsExactly("first", "second");
+    assertThat(report.getItems().get(0).getResult().isValid()).isTrue();
+    assertThat(report.getItems().get(1).getResult().isValid()).isFalse();
+
+    RecordedRequest first = getRequest();
+    RecordedRequest second = getRequest();
+    assertThat(first.getPath()).isEqualTo("/vouchers/first/validate");
+    assertThat(second.getPath()).isEqualTo("/vouchers/second/validate");
+    assertThat(second.getUtf8Body()).isEqualTo(first.getUtf8Body()).contains("some-email");
+  }
+
   @Test
   public void shouldValidateVoucherAsync() throws Exception {
     // given
@@ -1,11 +1,22 @@
 package io.voucherify.client.module;
 
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
+import io.voucherify.client.VoucherifyClient;
+import io.voucherify.client.bulk.BulkImportConfig;
+import io.voucherify.client.bulk.BulkImportReport;
+import io.voucherify.client.cache.CacheConfig;
+import io.voucherify.client.cache.CacheStats;
+import io.voucherify.client.cache.NegativeCacheConfig;
 import io.voucherify.client.callback.VoucherifyCallback;
+import io.voucherify.client.callback.VoucherifyFuture;
+import io.voucherify.client.error.VoucherifyError;
+import io.voucherify.client.model.validation.VoucherValidation;
+import io.voucherify.client.model.validation.VoucherValidationResponse;
 import io.voucherify.client.model.voucher.AddBalance;
 import io.voucherify.client.model.voucher.CreateVoucher;
 import io.voucherify.client.model.voucher.Discount;
 import io.voucherify.client.model.voucher.ImportVouchers;
+import io.voucherify.client.model.voucher.StreamedImportVouchers;
 import io.voucherify.client.model.voucher.Voucher;
 import io.voucherify.client.model.voucher.VoucherType;
 import io.voucherify.client.model.voucher.response.AddBalanceResponse;
@@ -16,7 +27,10 @@ import io.voucherify.client.model.voucher.VouchersFilter;
 import io.voucherify.client.model.voucher.response.VoucherResponse;
 import rx.Observable;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -210,6 +224,42 @@ public class VoucherModuleTest extends AbstractModuleTest {
     assertThat(request.getMethod()).isEqualTo("POST");
   }
 
+  @Test
+  public void shouldImportVouchersStreamedFromIterator() {
+    // given
+    final int count = 1000;
+    Iterator<Voucher> vouchers = new Iterator<Voucher>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < count;
+      }
+
+      @Override
+      public Voucher next() {
+        return Voucher.builder().code("code-" + next++).build();
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+
+    enqueueEmptyResponse();
+
+    // when
+    client.vouchers().importVouchers(StreamedImportVouchers.of(vouchers));
+
+    // then
+    RecordedRequest request = getRequest();
+    assertThat(request.getPath()).isEqualTo("/vouchers/import");
+    assertThat(request.getUtf8Body()).startsWith("[{").endsWith("}]")
+            .contains("\"code\":\"code-0\"").contains("\"code\":\"code-999\"");
+    assertThat(vouchers.hasNext()).isFalse();
+  }
+
   @Test
   public void shouldCreateVoucherAsync() {
     // given
@@ -600,4 +650,204 @@ public class VoucherModuleTest extends AbstractModuleTest {
     assertThat(request.getPath()).isEqualTo("/vouchers/import");
     assertThat(request.getMethod()).isEqualTo("POST");
   }
+
+  @Test
+  public void shouldGetVoucherFuture() throws Exception {
+    // given
+    Voucher voucher = Voucher.builder()
+            .code("some-code")
+            .active(true).category("category")
+            .campaign("my-campaign").isReferralCode(false)
+            .discount(Discount.unitOff(10.0))
+            .build();
+
+    enqueueResponse(voucher);
+
+    // when
+    VoucherifyFuture<VoucherResponse> future = client.vouchers().futures().get("some-code");
+
+    // then
+    VoucherResponse result = future.get(5, SECONDS);
+    assertThat(result).isNotNull();
+    assertThat(result.getCode()).isEqualTo(voucher.getCode());
+    RecordedRequest request = getRequest();
+    assertThat(request.getPath()).isEqualTo("/vouchers/some-code");
+    assertThat(request.getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  public void shouldIterateOverAllPages() {
+    // given
+    enqueueResponse("[{\"code\":\"first\"},{\"code\":\"second\"}]");
+    enqueueResponse("[{\"code\":\"third\"}]");
+
+    VouchersFilter filter = VouchersFilter.builder()
+            .limit(2)
+            .campaign("some-campaign")
+            .build();
+
+    // when
+    Iterator<VoucherResponse> iterator = client.vouchers().iterate(filter);
+    List<String> codes = new ArrayList<String>();
+    while (iterator.hasNext()) {
+      codes.add(iterator.next().getCode());
+    }
+
+    // then
+    assertThat(codes).containsExactly("first", "second", "third");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers?limit=2&campaign=some-campaign&page=1");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers?limit=2&campaign=some-campaign&page=2");
+  }
+
+  @Test
+  public void shouldStreamVouchersOfAllPages() {
+    // given
+    enqueueResponse("[{\"code\":\"first\"},{\"code\":\"second\"}]");
+    enqueueResponse("[{\"code\":\"third\"}]");
+
+    VouchersFilter filter = VouchersFilter.builder()
+            .limit(2)
+            .build();
+
+    // when
+    List<VoucherResponse> vouchers = client.vouchers().rx().stream(filter).toList().toBlocking().single();
+
+    // then
+    assertThat(vouchers).extracting("code").containsExactly("first", "second", "third");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers?limit=2&page=1");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers?limit=2&page=2");
+  }
+
+  @Test
+  public void shouldServeCachedVoucherUntilItIsChanged() {
+    // given
+    VoucherifyClient cachingClient = clientBuilder().setVoucherCache(CacheConfig.defaults()).build();
+    enqueueResponse("{\"code\":\"some-code\",\"active\":true}");
+    enqueueResponse("{\"code\":\"some-code\",\"active\":false}");
+    enqueueResponse("{\"code\":\"some-code\",\"active\":false}");
+
+    // when
+    VoucherResponse first = cachingClient.vouchers().get("some-code");
+    VoucherResponse second = cachingClient.vouchers().get("some-code");
+    cachingClient.vouchers().disable("some-code");
+    VoucherResponse third = cachingClient.vouchers().get("some-code");
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(third.getActive()).isFalse();
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/some-code");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/some-code/disable");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/some-code");
+
+    CacheStats stats = cachingClient.vouchers().getCacheStats();
+    assertThat(stats.getHitCount()).isEqualTo(1);
+    assertThat(stats.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldAnswerRepeatedLookupOfUnknownCodeLocally() {
+    // given
+    VoucherifyClient negativeCachingClient = clientBuilder().setNegativeCache(NegativeCacheConfig.defaults()).build();
+    enqueueErrorResponse(404, "{\"code\":404,\"message\":\"Resource not found\",\"key\":\"not_found\"}");
+    enqueueEmptyResponse();
+    enqueueResponse("{\"code\":\"unknown-code\",\"active\":true}");
+
+    // when
+    VoucherifyError first = getFailure(negativeCachingClient, "unknown-code");
+    VoucherifyError second = getFailure(negativeCachingClient, "unknown-code");
+
+    // then
+    assertThat(first.getCode()).isEqualTo(404);
+    assertThat(second.getCode()).isEqualTo(404);
+    assertThat(second.getKey()).isEqualTo("not_found");
+    assertThat(negativeCachingClient.vouchers().getNegativeCacheAbsorbedCount()).isEqualTo(1);
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/unknown-code");
+
+    // when
+    negativeCachingClient.vouchers().importVouchers(ImportVouchers.builder().build());
+    VoucherResponse voucher = negativeCachingClient.vouchers().get("unknown-code");
+
+    // then
+    assertThat(voucher.getCode()).isEqualTo("unknown-code");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/import");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/unknown-code");
+  }
+
+  @Test
+  public void shouldForgetRejectedCodeAfterEnablingIt() {
+    // given
+    VoucherifyClient negativeCachingClient = clientBuilder().setNegativeCache(NegativeCacheConfig.defaults()).build();
+    VoucherValidation validation = VoucherValidation.builder().build();
+    enqueueResponse("{\"code\":\"disabled-code\",\"valid\":false,\"reason\":\"voucher is disabled\"}");
+    enqueueResponse("{\"code\":\"disabled-code\",\"active\":true}");
+    enqueueResponse("{\"code\":\"disabled-code\",\"valid\":true}");
+
+    // when
+    negativeCachingClient.validations().validate("disabled-code", validation);
+    VoucherValidationResponse cached = negativeCachingClient.validations().validate("disabled-code", validation);
+    negativeCachingClient.vouchers().enable("disabled-code");
+    VoucherValidationResponse revalidated = negativeCachingClient.validations().validate("disabled-code", validation);
+
+    // then
+    assertThat(cached.isValid()).isFalse();
+    assertThat(revalidated.isValid()).isTrue();
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/disabled-code/validate");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/disabled-code/enable");
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/disabled-code/validate");
+  }
+
+  @Test
+  public void shouldLookUpNegativeCacheOncePerValidation() {
+    // given
+    VoucherifyClient negativeCachingClient = clientBuilder().setNegativeCache(NegativeCacheConfig.defaults()).build();
+    VoucherValidation validation = VoucherValidation.builder().build();
+    enqueueResponse("{\"code\":\"disabled-code\",\"valid\":false,\"reason\":\"voucher is disabled\"}");
+
+    // when
+    negativeCachingClient.validations().validate("disabled-code", validation);
+    negativeCachingClient.validations().validate("disabled-code", validation);
+
+    // then
+    assertThat(negativeCachingClient.vouchers().getNegativeCacheStats().getMissCount()).isEqualTo(1);
+    assertThat(negativeCachingClient.vouchers().getNegativeCacheStats().getHitCount()).isEqualTo(1);
+    assertThat(getRequest().getPath()).isEqualTo("/vouchers/disabled-code/validate");
+  }
+
+  private VoucherifyError getFailure(VoucherifyClient client, String code) {
+    try {
+      client.vouchers().futures().get(code).get();
+    } catch (ExecutionException e) {
+      return VoucherifyError.from(e.getCause());
+    } catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+    throw new AssertionError("Expected the lookup to fail.");
+  }
+
+  @Test
+  public void shouldImportVouchersInChunks() {
+    // given
+    List<Voucher> vouchers = new ArrayList<Voucher>();
+    for (int i = 0; i < 5; i++) {
+      vouchers.add(Voucher.builder().code("code-" + i).build());
+    }
+    enqueueEmptyResponse();
+    enqueueEmptyResponse();
+    enqueueEmptyResponse();
+
+    // when
+    BulkImportReport report = client.vouchers().importVouchers(vouchers.iterator(),
+            BulkImportConfig.builder().chunkSize(2).parallelism(1).build());
+
+    // then
+    assertThat(report.isSuccessful()).isTrue();
+    assertThat(report.getImportedCount()).isEqualTo(5);
+    assertThat(report.getChunks()).hasSize(3);
+
+    RecordedRequest request = getRequest();
+    assertThat(request.getPath()).isEqualTo("/vouchers/import");
+    assertThat(request.getUtf8Body()).contains("code-0").contains("code-1").doesNotContain("code-2");
+    assertThat(getRequest().getUtf8Body()).contains("code-2").contains("code-3");
+    assertThat(getRequest().getUtf8Body()).contains("code-4");
+  }
 }
@@ -0,0 +1,44 @@
+package io.voucherify.client.utils;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTest {
+
+  @Test
+  public void shouldContainAllAddedValues() {
+    // given
+    BloomFilter filter = new BloomFilter(1000, 0.01);
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      filter.add("code-" + i);
+    }
+
+    // then
+    for (int i = 0; i < 1000; i++) {
+      assertThat(filter.mightContain("code-" + i)).isTrue();
+    }
+  }
+
+  @Test
+  public void shouldKeepFalsePositivesNearConfiguredRate() {
+    // given
+    BloomFilter filter = new BloomFilter(10000, 0.01);
+    for (int i = 0; i < 10000; i++) {
+      filter.add("code-" + i);
+    }
+
+    // when
+    int falsePositives = 0;
+    for (int i = 0; i < 10000; i++) {
+      if (filter.mightContain("other-" + i)) {
+        falsePositives++;
+      }
+    }
+
+    // then
+    assertThat(falsePositives).isLessThan(300);
+  }
+}
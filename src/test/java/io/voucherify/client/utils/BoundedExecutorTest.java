@@ -0,0 +1,76 @@
+package io.voucherify.client.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedExecutorTest {
+
+  private final List<Runnable> submitted = new ArrayList<Runnable>();
+
+  private final Executor manualExecutor = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      submitted.add(command);
+    }
+  };
+
+  private final Runnable noop = new Runnable() {
+    @Override
+    public void run() {
+    }
+  };
+
+  @Test
+  public void shouldQueueTasksOverLimit() {
+    // given
+    BoundedExecutor executor = new BoundedExecutor(manualExecutor, 2, OverflowPolicy.QUEUE);
+
+    // when
+    executor.execute(noop);
+    executor.execute(noop);
+    executor.execute(noop);
+
+    // then
+    assertThat(submitted).hasSize(2);
+    assertThat(executor.getInFlight()).isEqualTo(2);
+    assertThat(executor.getQueued()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSubmitQueuedTaskWhenRunningOneFinishes() {
+    // given
+    BoundedExecutor executor = new BoundedExecutor(manualExecutor, 1, OverflowPolicy.QUEUE);
+    executor.execute(noop);
+    executor.execute(noop);
+
+    // when
+    submitted.get(0).run();
+
+    // then
+    assertThat(submitted).hasSize(2);
+    assertThat(executor.getInFlight()).isEqualTo(1);
+    assertThat(executor.getQueued()).isEqualTo(0);
+
+    // when
+    submitted.get(1).run();
+
+    // then
+    assertThat(executor.getInFlight()).isEqualTo(0);
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void shouldRejectTasksOverLimit() {
+    // given
+    BoundedExecutor executor = new BoundedExecutor(manualExecutor, 1, OverflowPolicy.REJECT);
+    executor.execute(noop);
+
+    // when
+    executor.execute(noop);
+  }
+}
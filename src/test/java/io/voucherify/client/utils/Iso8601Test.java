@@ -0,0 +1,81 @@
+package io.voucherify.client.utils;
+
+import io.voucherify.client.Constants;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Iso8601Test {
+
+  private static final String[] TIME_ZONES = {"UTC", "Europe/Warsaw", "America/New_York", "Asia/Kolkata", "Pacific/Chatham"};
+
+  @Test
+  public void shouldParseDatesLikeSimpleDateFormat() throws ParseException {
+    // given
+    SimpleDateFormat secondsFormat = new SimpleDateFormat(Constants.ENDPOINT_DATE_FORMAT);
+    SimpleDateFormat millisFormat = new SimpleDateFormat(Constants.ENDPOINT_SECONDARY_DATE_FORMAT);
+    String[] dates = {
+            "2017-01-01T00:00:00Z",
+            "2017-01-01T00:00:00-00:00",
+            "2016-02-29T23:59:59+01:00",
+            "1999-12-31T12:30:15-05:30"
+    };
+
+    for (String date : dates) {
+      // when
+      Date result = Iso8601.parse(date, false);
+
+      // then
+      assertThat(result).isEqualTo(secondsFormat.parse(date));
+    }
+
+    // when
+    Date withMillis = Iso8601.parse("2017-04-20T10:11:12.345+02:00", true);
+
+    // then
+    assertThat(withMillis).isEqualTo(millisFormat.parse("2017-04-20T10:11:12.345+02:00"));
+  }
+
+  @Test
+  public void shouldReturnNullForUnsupportedShapes() {
+    assertThat(Iso8601.parse("invalid date", false)).isNull();
+    assertThat(Iso8601.parse("2017-04-20T10:11:12.345+02:00", false)).isNull();
+    assertThat(Iso8601.parse("2017-04-20T10:11:12+02:00", true)).isNull();
+    assertThat(Iso8601.parse("2017-02-30T10:11:12+02:00", false)).isNull();
+    assertThat(Iso8601.parse("2017-04-20 10:11:12+02:00", false)).isNull();
+    assertThat(Iso8601.parse("2017-04-20T10:11:12+0200", false)).isNull();
+  }
+
+  @Test
+  public void shouldFormatDatesLikeSimpleDateFormat() {
+    Random random = new Random(42);
+
+    for (String zone : TIME_ZONES) {
+      // given
+      TimeZone timeZone = TimeZone.getTimeZone(zone);
+      SimpleDateFormat secondsFormat = new SimpleDateFormat(Constants.ENDPOINT_DATE_FORMAT);
+      secondsFormat.setTimeZone(timeZone);
+      SimpleDateFormat millisFormat = new SimpleDateFormat(Constants.ENDPOINT_SECONDARY_DATE_FORMAT);
+      millisFormat.setTimeZone(timeZone);
+
+      for (int i = 0; i < 1000; i++) {
+        Date date = new Date((long) (random.nextDouble() * 4102444800000L));
+
+        // when
+        String seconds = Iso8601.format(date, timeZone, false);
+        String millis = Iso8601.format(date, timeZone, true);
+
+        // then
+        assertThat(seconds).isEqualTo(secondsFormat.format(date));
+        assertThat(millis).isEqualTo(millisFormat.format(date));
+        assertThat(Iso8601.parse(millis, true)).isEqualTo(date);
+      }
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package io.voucherify.client.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OneShotIterableTest {
+
+  @Test
+  public void shouldIterateOverIterator() {
+    // given
+    Iterator<String> iterator = Arrays.asList("a", "b").iterator();
+
+    // when
+    List<String> values = new ArrayList<String>();
+    for (String value : new OneShotIterable<String>(iterator)) {
+      values.add(value);
+    }
+
+    // then
+    assertThat(values).containsExactly("a", "b");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectSecondIteration() {
+    // given
+    OneShotIterable<String> iterable = new OneShotIterable<String>(Arrays.asList("a").iterator());
+    iterable.iterator();
+
+    // when
+    iterable.iterator();
+  }
+}
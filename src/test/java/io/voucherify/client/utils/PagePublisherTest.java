@@ -0,0 +1,128 @@
+package io.voucherify.client.utils;
+
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PagePublisherTest {
+
+  private final List<Integer> fetchedPages = new ArrayList<Integer>();
+
+  private final PagePublisher<String> publisher = new PagePublisher<String>(null, 2) {
+    @Override
+    protected Observable<List<String>> fetchPage(int page) {
+      fetchedPages.add(page);
+      switch (page) {
+        case 1:
+          return Observable.just(Arrays.asList("a", "b"));
+        case 2:
+          return Observable.just(Arrays.asList("c", "d"));
+        case 3:
+          return Observable.just(Collections.singletonList("e"));
+        default:
+          return Observable.error(new IllegalStateException("Page " + page + " should not be fetched"));
+      }
+    }
+  };
+
+  @Test
+  public void shouldFetchPagesOnlyWhenItemsAreRequested() {
+    // given
+    ManualSubscriber subscriber = new ManualSubscriber();
+    Observable.create(publisher).subscribe(subscriber);
+
+    // when
+    subscriber.requestMore(1);
+
+    // then
+    assertThat(subscriber.items).containsExactly("a");
+    assertThat(fetchedPages).containsExactly(1);
+
+    // when
+    subscriber.requestMore(1);
+
+    // then
+    assertThat(subscriber.items).containsExactly("a", "b");
+    assertThat(fetchedPages).containsExactly(1);
+
+    // when
+    subscriber.requestMore(2);
+
+    // then
+    assertThat(subscriber.items).containsExactly("a", "b", "c", "d");
+    assertThat(fetchedPages).containsExactly(1, 2);
+    assertThat(subscriber.completed).isFalse();
+  }
+
+  @Test
+  public void shouldCompleteAfterShortPage() {
+    // given
+    ManualSubscriber subscriber = new ManualSubscriber();
+    Observable.create(publisher).subscribe(subscriber);
+
+    // when
+    subscriber.requestMore(Long.MAX_VALUE);
+
+    // then
+    assertThat(subscriber.items).containsExactly("a", "b", "c", "d", "e");
+    assertThat(fetchedPages).containsExactly(1, 2, 3);
+    assertThat(subscriber.completed).isTrue();
+    assertThat(subscriber.error).isNull();
+  }
+
+  @Test
+  public void shouldStopFetchingWhenUnsubscribed() {
+    // given
+    ManualSubscriber subscriber = new ManualSubscriber();
+    Observable.create(publisher).subscribe(subscriber);
+    subscriber.requestMore(2);
+
+    // when
+    subscriber.unsubscribe();
+    subscriber.requestMore(2);
+
+    // then
+    assertThat(subscriber.items).containsExactly("a", "b");
+    assertThat(fetchedPages).containsExactly(1);
+  }
+
+  private static class ManualSubscriber extends Subscriber<String> {
+
+    private final List<String> items = new ArrayList<String>();
+
+    private boolean completed;
+
+    private Throwable error;
+
+    @Override
+    public void onStart() {
+      request(0);
+    }
+
+    void requestMore(long n) {
+      request(n);
+    }
+
+    @Override
+    public void onNext(String item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onCompleted() {
+      completed = true;
+    }
+
+    @Override
+    public void onError(Throwable e) {
+      error = e;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package io.voucherify.client.utils;
+
+import io.voucherify.client.error.VoucherifyError;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class SingleFlightTest {
+
+  private final SingleFlight singleFlight = new SingleFlight();
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @Test
+  public void shouldShareResultOfCallInFlight() throws Exception {
+    // given
+    Future<String> leader = executor.submit(read(false));
+    awaitCall();
+    Future<String> follower = executor.submit(read(false));
+    awaitCollapsed();
+
+    // when
+    release.countDown();
+
+    // then
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+    assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(singleFlight.getCollapsedCount()).isEqualTo(1);
+    executor.shutdown();
+  }
+
+  @Test
+  public void shouldShareErrorOfCallInFlight() throws Exception {
+    // given
+    Future<String> leader = executor.submit(read(true));
+    awaitCall();
+    Future<String> follower = executor.submit(read(true));
+    awaitCollapsed();
+
+    // when
+    release.countDown();
+
+    // then
+    assertFailed(leader);
+    assertFailed(follower);
+    assertThat(calls.get()).isEqualTo(1);
+    executor.shutdown();
+  }
+
+  @Test
+  public void shouldCallAgainAfterPreviousCallFinished() {
+    // given
+    release.countDown();
+
+    // when
+    singleFlight.execute("key", loader(false));
+    singleFlight.execute("key", loader(false));
+
+    // then
+    assertThat(calls.get()).isEqualTo(2);
+    assertThat(singleFlight.getCollapsedCount()).isEqualTo(0);
+  }
+
+  private Callable<String> read(final boolean fail) {
+    return new Callable<String>() {
+      @Override
+      public String call() {
+        return singleFlight.execute("key", loader(fail));
+      }
+    };
+  }
+
+  private SingleFlight.Loader<String> loader(final boolean fail) {
+    return new SingleFlight.Loader<String>() {
+      @Override
+      public String load() {
+        calls.incrementAndGet();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+
+        if (fail) {
+          throw VoucherifyError.from("failed");
+        }
+        return "value";
+      }
+    };
+  }
+
+  private void awaitCall() throws InterruptedException {
+    while (calls.get() == 0) {
+      Thread.sleep(1);
+    }
+  }
+
+  private void awaitCollapsed() throws InterruptedException {
+    while (singleFlight.getCollapsedCount() == 0) {
+      Thread.sleep(1);
+    }
+  }
+
+  private void assertFailed(Future<String> future) throws Exception {
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail("Expected failure");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isInstanceOf(VoucherifyError.class).hasMessageContaining("failed");
+    }
+  }
+}
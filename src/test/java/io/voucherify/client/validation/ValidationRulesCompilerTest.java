@@ -0,0 +1,57 @@
+package io.voucherify.client.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.voucherify.client.model.Operator;
+import io.voucherify.client.model.validationRules.Junction;
+import io.voucherify.client.model.validationRules.response.ValidationRulesResponse;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationRulesCompilerTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  public void shouldFlattenRulesIntoConditionGroups() throws IOException {
+    // given
+    ValidationRulesResponse rules = mapper.readValue("{"
+            + "\"id\": \"val_1\", \"voucher_code\": \"CODE\", \"junction\": \"OR\","
+            + "\"segments\": {\"junction\": \"AND\", \"conditions\": {\"$is\": [\"seg_1\", \"seg_2\"]}},"
+            + "\"products\": {\"junction\": \"OR\", \"conditions\": {\"$in\": [{\"id\": \"prod_1\"}, {\"source_id\": \"src_1\"}]}},"
+            + "\"orders\": {\"junction\": \"AND\", \"total_amount\": {\"$more_than\": [1000]}},"
+            + "\"redemptions\": {\"junction\": \"AND\", \"metadata\": {\"channel\": {\"conditions\": {\"$is\": [\"web\"]}}}}"
+            + "}", ValidationRulesResponse.class);
+
+    // when
+    CompiledValidationRules compiled = ValidationRulesCompiler.compile(rules);
+
+    // then
+    assertThat(compiled.getId()).isEqualTo("val_1");
+    assertThat(compiled.getVoucherCode()).isEqualTo("CODE");
+    assertThat(compiled.getJunction()).isEqualTo(Junction.OR);
+    assertThat(compiled.getGroups()).hasSize(4);
+
+    CompiledCondition segments = compiled.getGroups().get(0).getConditions().get(0);
+    assertThat(segments.getField()).isEqualTo(RuleField.SEGMENT);
+    assertThat(segments.getOperator()).isEqualTo(Operator.$is);
+    assertThat(segments.getIds()).containsOnly("seg_1", "seg_2");
+
+    CompiledCondition products = compiled.getGroups().get(1).getConditions().get(0);
+    assertThat(compiled.getGroups().get(1).getJunction()).isEqualTo(Junction.OR);
+    assertThat(products.getIds()).containsOnly("prod_1");
+    assertThat(products.getSourceIds()).containsOnly("src_1");
+
+    CompiledCondition totalAmount = compiled.getGroups().get(2).getConditions().get(0);
+    assertThat(totalAmount.getField()).isEqualTo(RuleField.ORDER_TOTAL_AMOUNT);
+    assertThat(totalAmount.getNumbers()).containsExactly(1000L);
+
+    CompiledCondition metadata = compiled.getGroups().get(3).getConditions().get(0);
+    assertThat(metadata.getField()).isEqualTo(RuleField.REDEMPTION_METADATA);
+    assertThat(metadata.getKey()).isEqualTo("channel");
+    assertThat(metadata.getOperator()).isEqualTo(Operator.$is);
+    assertThat(metadata.getValues()).containsExactly("web");
+  }
+}
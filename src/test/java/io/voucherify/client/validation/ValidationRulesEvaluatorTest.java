@@ -0,0 +1,133 @@
+package io.voucherify.client.validation;
+
+import io.voucherify.client.model.Operator;
+import io.voucherify.client.model.order.Order;
+import io.voucherify.client.model.order.OrderItem;
+import io.voucherify.client.model.validation.VoucherValidation;
+import io.voucherify.client.model.validationRules.IdPair;
+import io.voucherify.client.model.validationRules.Junction;
+import io.voucherify.client.model.validationRules.OrderValidationRules;
+import io.voucherify.client.model.validationRules.SegmentValidationRules;
+import io.voucherify.client.model.validationRules.SkuValidationRules;
+import io.voucherify.client.model.validationRules.ValidationRules;
+import io.voucherify.client.validation.ValidationRulesEvaluator.Verdict;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationRulesEvaluatorTest {
+
+  private static final OrderValidationRules MIN_AMOUNT = OrderValidationRules.builder()
+          .junction(Junction.AND)
+          .totalAmountCondition(Operator.$more_than_or_equal, Collections.singletonList(5000))
+          .build();
+
+  private static final SkuValidationRules SKU_IN = SkuValidationRules.builder()
+          .junction(Junction.AND)
+          .condition(Operator.$in, Arrays.asList(IdPair.builder().id("sku_1").sourceId("sku-src-1").build(),
+                  IdPair.builder().id("sku_2").sourceId("sku-src-2").build()))
+          .build();
+
+  private static final SegmentValidationRules SEGMENT = SegmentValidationRules.builder()
+          .junction(Junction.AND)
+          .condition(Operator.$is, Collections.singletonList("seg_1"))
+          .build();
+
+  @Test
+  public void shouldFailWhenOrderAmountIsBelowMinimum() {
+    // given
+    ValidationRules rules = ValidationRules.builder().junction(Junction.AND).orderRules(MIN_AMOUNT).skuRules(SKU_IN).build();
+
+    // when
+    Verdict verdict = ValidationRulesEvaluator.evaluate(rules, validation(1000, "sku_1"));
+
+    // then
+    assertThat(verdict).isEqualTo(Verdict.FAIL);
+  }
+
+  @Test
+  public void shouldPassWhenAllLocalConditionsPass() {
+    // given
+    ValidationRules rules = ValidationRules.builder().junction(Junction.AND).orderRules(MIN_AMOUNT).skuRules(SKU_IN).build();
+
+    // when
+    Verdict verdict = ValidationRulesEvaluator.evaluate(rules, validation(6000, "sku-src-2"));
+
+    // then
+    assertThat(verdict).isEqualTo(Verdict.PASS);
+  }
+
+  @Test
+  public void shouldNotDecideConditionsWhichNeedServerData() {
+    // given
+    ValidationRules rules = ValidationRules.builder().junction(Junction.AND).orderRules(MIN_AMOUNT).segmentRules(SEGMENT).build();
+
+    // when
+    Verdict verdict = ValidationRulesEvaluator.evaluate(rules, validation(6000, "sku_1"));
+
+    // then
+    assertThat(verdict).isEqualTo(Verdict.UNKNOWN);
+  }
+
+  @Test
+  public void shouldFailOrJunctionOnlyWhenAllPartsFail() {
+    // given
+    ValidationRules anyFails = ValidationRules.builder().junction(Junction.OR).orderRules(MIN_AMOUNT).skuRules(SKU_IN).build();
+    ValidationRules oneUnknown = ValidationRules.builder().junction(Junction.OR).orderRules(MIN_AMOUNT).segmentRules(SEGMENT).build();
+
+    // when
+    Verdict bothFail = ValidationRulesEvaluator.evaluate(anyFails, validation(1000, "sku_9"));
+    Verdict onePasses = ValidationRulesEvaluator.evaluate(anyFails, validation(1000, "sku_1"));
+    Verdict unknown = ValidationRulesEvaluator.evaluate(oneUnknown, validation(1000, "sku_1"));
+
+    // then
+    assertThat(bothFail).isEqualTo(Verdict.FAIL);
+    assertThat(onePasses).isEqualTo(Verdict.PASS);
+    assertThat(unknown).isEqualTo(Verdict.UNKNOWN);
+  }
+
+  @Test
+  public void shouldNotFailItemWhichMayBeSourceIdOfRuleGivenOnlyById() {
+    // given
+    SkuValidationRules idOnly = SkuValidationRules.builder()
+            .junction(Junction.AND)
+            .condition(Operator.$in, Collections.singletonList(IdPair.builder().id("sku_1").build()))
+            .build();
+    ValidationRules rules = ValidationRules.builder().junction(Junction.AND).skuRules(idOnly).build();
+
+    // when
+    Verdict bySourceId = ValidationRulesEvaluator.evaluate(rules, validation(1000, "sku-src-1"));
+    Verdict byId = ValidationRulesEvaluator.evaluate(rules, validation(1000, "sku_1"));
+
+    // then
+    assertThat(bySourceId).isEqualTo(Verdict.UNKNOWN);
+    assertThat(byId).isEqualTo(Verdict.PASS);
+  }
+
+  @Test
+  public void shouldListFailedConditions() {
+    // given
+    CompiledValidationRules rules = ValidationRulesCompiler.compile(
+            ValidationRules.builder().junction(Junction.OR).orderRules(MIN_AMOUNT).skuRules(SKU_IN).build());
+
+    // when
+    List<CompiledCondition> failed = ValidationRulesEvaluator.failedConditions(rules, validation(1000, "sku_1"));
+
+    // then
+    assertThat(failed).hasSize(1);
+    assertThat(failed.get(0).getField()).isEqualTo(RuleField.ORDER_TOTAL_AMOUNT);
+  }
+
+  private static VoucherValidation validation(int amount, String skuId) {
+    return VoucherValidation.builder()
+            .order(Order.builder()
+                    .amount(amount)
+                    .item(OrderItem.builder().productId("prod_1").skuId(skuId).quantity(1).build())
+                    .build())
+            .build();
+  }
+}